@@ -6,6 +6,7 @@ plugins {
     jacoco
     id("org.springframework.boot") version "3.3.1"
     id("io.spring.dependency-management") version "1.1.5"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.ventionteams"
@@ -28,6 +29,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-mail")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
 
     // JWT
@@ -47,7 +49,7 @@ dependencies {
     // DB
     implementation("org.liquibase:liquibase-core:4.28.0")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.postgresql:postgresql")
 
     // Testing
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -59,6 +61,10 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
     testAnnotationProcessor("org.projectlombok:lombok")
+
+    // Benchmarks
+    jmh("com.icegreen:greenmail:2.0.1")
+    jmh("org.testcontainers:postgresql:1.20.1")
 }
 
 configurations.all {
@@ -72,6 +78,15 @@ tasks.withType<Checkstyle> {
     configFile = rootProject.file("config/checkstyle/checkstyle.xml")
 }
 
+jmh {
+    warmupIterations = 2
+    iterations = 5
+    fork = 1
+    benchmarkMode = listOf("avgt")
+    timeUnit = "us"
+    profilers = listOf("gc")
+}
+
 tasks.withType<BootRun> {
     dependsOn(tasks.withType(Checkstyle::class))
 }
@@ -0,0 +1,160 @@
+package com.ventionteams.medfast.benchmark;
+
+import com.ventionteams.medfast.dto.response.AppointmentResponse;
+import com.ventionteams.medfast.entity.ConsultationAppointment;
+import com.ventionteams.medfast.mapper.AppointmentsToResponse;
+import com.ventionteams.medfast.repository.AppointmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import liquibase.integration.spring.SpringLiquibase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Compares the time to read a listing of 10k consultations before and after the listing
+ * projections: the entities loaded with their fetch plan in a read-write transaction against the
+ * records read in a read-only transaction and mapped to the responses the listing returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AppointmentListingBenchmark {
+
+  private static final int APPOINTMENTS = 10_000;
+  private static final int DOCTORS = 100;
+  private static final Sort SOONEST_FIRST = Sort.by(Sort.Direction.ASC, "dateFrom", "id");
+
+  private PostgreSQLContainer<?> container;
+  private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+  private EntityManager entityManager;
+  private AppointmentRepository appointmentRepository;
+  private AppointmentsToResponse appointmentsToResponse;
+  private TransactionTemplate readWrite;
+  private TransactionTemplate readOnly;
+  private List<Long> ids;
+
+  /**
+   * Starts a database with the application schema, seeds one patient with 10k upcoming
+   * consultations and reads their ids once, so only the listing itself is measured.
+   */
+  @Setup
+  public void setUp() throws Exception {
+    container = new PostgreSQLContainer<>("postgres:16");
+    container.start();
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(container.getJdbcUrl(),
+        container.getUsername(), container.getPassword());
+
+    SpringLiquibase liquibase = new SpringLiquibase();
+    liquibase.setDataSource(dataSource);
+    liquibase.setChangeLog("classpath:db/changelog/changelog-root.yaml");
+    liquibase.setResourceLoader(new DefaultResourceLoader());
+    liquibase.afterPropertiesSet();
+
+    Long patientId = seed(new JdbcTemplate(dataSource));
+
+    entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+    entityManagerFactoryBean.setDataSource(dataSource);
+    entityManagerFactoryBean.setPackagesToScan("com.ventionteams.medfast.entity");
+    entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+    entityManagerFactoryBean.setJpaPropertyMap(Map.of(
+        "hibernate.physical_naming_strategy",
+        "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+        "hibernate.implicit_naming_strategy",
+        "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy"));
+    entityManagerFactoryBean.afterPropertiesSet();
+    EntityManagerFactory entityManagerFactory = entityManagerFactoryBean.getObject();
+
+    entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+    appointmentRepository = new JpaRepositoryFactory(entityManager)
+        .getRepository(AppointmentRepository.class);
+    appointmentsToResponse = new AppointmentsToResponse();
+
+    JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+    readWrite = new TransactionTemplate(transactionManager);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+
+    ids = readOnly.execute(status -> appointmentRepository.findPageIdsAfter(patientId,
+        LocalDateTime.now(), Long.MAX_VALUE, APPOINTMENTS));
+  }
+
+  /**
+   * Mirrors the previous flow, the entities are loaded with the fetch plan in a read-write
+   * transaction. The entity graph is no longer mapped, so it understates the previous flow.
+   */
+  @Benchmark
+  public List<ConsultationAppointment> entityFetchPlan() {
+    return readWrite.execute(status -> entityManager
+        .createQuery("SELECT c FROM ConsultationAppointment c "
+            + "JOIN FETCH c.doctor d LEFT JOIN FETCH d.user LEFT JOIN FETCH d.specializations "
+            + "LEFT JOIN FETCH c.location "
+            + "WHERE c.id IN :ids ORDER BY c.dateFrom, c.id", ConsultationAppointment.class)
+        .setParameter("ids", ids)
+        .getResultList());
+  }
+
+  @Benchmark
+  public List<AppointmentResponse> listingProjection() {
+    return readOnly.execute(status -> appointmentsToResponse.fromViews(
+        appointmentRepository.findListingByIdIn(ids, SOONEST_FIRST)));
+  }
+
+  /**
+   * Closes the persistence unit and stops the database.
+   */
+  @TearDown
+  public void tearDown() {
+    entityManagerFactoryBean.destroy();
+    container.stop();
+  }
+
+  private static Long seed(JdbcTemplate jdbcTemplate) {
+    Long patientId = jdbcTemplate.queryForObject("INSERT INTO persons "
+        + "(name, surname, birth_date) VALUES ('Jane', 'Doe', DATE '1990-01-01') "
+        + "RETURNING id", Long.class);
+    jdbcTemplate.update("INSERT INTO patients (id, checkbox_terms_and_conditions) "
+        + "VALUES (?, TRUE)", patientId);
+    Long locationId = jdbcTemplate.queryForObject("INSERT INTO locations "
+        + "(hospital_name, street_address, house) VALUES ('Medfast', 'Main St', '1') "
+        + "RETURNING id", Long.class);
+    Long specializationId = jdbcTemplate.queryForObject("INSERT INTO specializations "
+        + "(specialization) VALUES ('Therapist') RETURNING id", Long.class);
+    for (int doctor = 0; doctor < DOCTORS; doctor++) {
+      Long doctorId = jdbcTemplate.queryForObject("INSERT INTO persons "
+          + "(name, surname, birth_date) VALUES ('John', 'Doe', DATE '1980-01-01') "
+          + "RETURNING id", Long.class);
+      jdbcTemplate.update("INSERT INTO doctors (id, license_number, location_id) "
+          + "VALUES (?, ?, ?)", doctorId, "LN-" + doctorId, locationId);
+      jdbcTemplate.update("INSERT INTO doctors_specializations_bridge "
+          + "(doctor_id, specializations_id) VALUES (?, ?)", doctorId, specializationId);
+      jdbcTemplate.update("INSERT INTO consultation_appointments (doctor_id, patient_id, "
+          + "service_id, date_from, date_to, location_id, type, appointment_status) "
+          + "SELECT ?, ?, 1, LOCALTIMESTAMP + make_interval(hours => slot), "
+          + "LOCALTIMESTAMP + make_interval(hours => slot + 1), ?, 'ONLINE', 'SCHEDULED' "
+          + "FROM generate_series(1, ?) slot",
+          doctorId, patientId, locationId, APPOINTMENTS / DOCTORS);
+    }
+    return patientId;
+  }
+}
@@ -0,0 +1,97 @@
+package com.ventionteams.medfast.benchmark;
+
+import com.ventionteams.medfast.service.EmailRenderer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Compares the verification emails rendered and serialized per second before and after the
+ * rendering stage: inline images read from the classpath and encoded for every message against
+ * the images read and encoded once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EmailRenderingBenchmark {
+
+  private SpringTemplateEngine templateEngine;
+  private EmailRenderer emailRenderer;
+  private Session session;
+
+  /**
+   * Builds the template engine the way the application configures it and warms up the renderer.
+   */
+  @Setup
+  public void setUp() {
+    ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+    templateResolver.setSuffix(".html");
+    templateResolver.setTemplateMode(TemplateMode.HTML);
+    templateResolver.setCacheable(true);
+    templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(templateResolver);
+
+    emailRenderer = new EmailRenderer(templateEngine);
+    emailRenderer.init();
+    session = Session.getInstance(new Properties());
+  }
+
+  /**
+   * Mirrors the previous flow, the images are added through class path resources.
+   */
+  @Benchmark
+  public MimeMessage classPathImages() throws MessagingException, IOException {
+    MimeMessage message = new MimeMessage(session);
+    MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+    helper.setSubject("Medfast: Complete Your Registration");
+    helper.setFrom("support@medfast.local");
+    helper.setTo("patient@medfast.local");
+    helper.setText(templateEngine.process("verification", context()), true);
+    helper.addInline("logo", new ClassPathResource("templates/logos/logo.png"));
+    helper.addInline("watermark", new ClassPathResource("templates/logos/watermark.png"));
+    return serialize(message);
+  }
+
+  @Benchmark
+  public MimeMessage cachedImages() throws MessagingException, IOException {
+    MimeMessage message = new MimeMessage(session);
+    emailRenderer.compose(message, "support@medfast.local", "patient@medfast.local",
+        "Medfast: Complete Your Registration", emailRenderer.render("verification", context()));
+    return serialize(message);
+  }
+
+  private static Context context() {
+    Context context = new Context();
+    context.setVariable("userName", "John Doe");
+    context.setVariable("verificationLink",
+        "https://medfast.local/verify?email=patient@medfast.local&code=1234");
+    context.setVariable("supportMailbox", "support@medfast.local");
+    return context;
+  }
+
+  private static MimeMessage serialize(MimeMessage message) throws MessagingException,
+      IOException {
+    message.saveChanges();
+    message.writeTo(OutputStream.nullOutputStream());
+    return message;
+  }
+}
@@ -0,0 +1,97 @@
+package com.ventionteams.medfast.benchmark;
+
+import com.ventionteams.medfast.config.cache.CacheConfig;
+import com.ventionteams.medfast.config.properties.TokenConfig;
+import com.ventionteams.medfast.config.properties.TokenConfig.Principal;
+import com.ventionteams.medfast.config.properties.TokenConfig.RevocationFilter;
+import com.ventionteams.medfast.config.properties.TokenConfig.Sessions;
+import com.ventionteams.medfast.config.properties.TokenConfig.Signing;
+import com.ventionteams.medfast.config.properties.TokenConfig.Timeout;
+import com.ventionteams.medfast.config.properties.TokenConfig.VerifiedCache;
+import com.ventionteams.medfast.entity.User;
+import com.ventionteams.medfast.enums.Role;
+import com.ventionteams.medfast.service.auth.JwtService;
+import com.ventionteams.medfast.service.auth.VerifiedClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.util.Date;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * Compares the per request cost of the token verification done by the jwt authentication filter
+ * before and after the single-parse pipeline, with and without the verified tokens cache.
+ */
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+  private static final String SIGNING_KEY =
+      "1270b9e6a02e8930e397242c952ab49e531b9d3c680750e65825eb9bd2a05141";
+
+  private JwtService jwtService;
+  private JwtService cachingJwtService;
+  private User user;
+  private String token;
+
+  /**
+   * Issues the token that is verified by every benchmark invocation.
+   */
+  @Setup
+  public void setUp() {
+    TokenConfig tokenConfig = new TokenConfig(
+        new Timeout(3600, 3600, 3600),
+        new Signing(SIGNING_KEY),
+        new Principal(true, 300, 10000),
+        new VerifiedCache(true, 10_000),
+        new RevocationFilter(100_000, 0.001),
+        new Sessions(5)
+    );
+    jwtService = new JwtService(tokenConfig, new CaffeineCacheManager("revokedTokens"), null);
+    jwtService.init();
+    cachingJwtService = new JwtService(tokenConfig, new CacheConfig(tokenConfig).cacheManager(),
+        null);
+    cachingJwtService.init();
+
+    user = User.builder().id(1L).email("benchmark@example.com").role(Role.PATIENT).build();
+    token = jwtService.generateToken(user);
+  }
+
+  /**
+   * Mirrors the previous filter flow: the key is decoded and a parser is built for each of the
+   * three parses (subject, subject again and expiration).
+   */
+  @Benchmark
+  public boolean legacyVerification() {
+    String userName = legacyParse(token).getSubject();
+    boolean valid = legacyParse(token).getSubject().equals(user.getUsername())
+        && !legacyParse(token).getExpiration().before(new Date());
+    return userName != null && valid;
+  }
+
+  @Benchmark
+  public boolean singleParseVerification() {
+    VerifiedClaims claims = jwtService.verifyToken(token);
+    return claims.subject() != null && jwtService.isTokenValid(claims, user);
+  }
+
+  @Benchmark
+  public boolean cachedVerification() {
+    VerifiedClaims claims = cachingJwtService.verifyToken(token);
+    return claims.subject() != null && cachingJwtService.isTokenValid(claims, user);
+  }
+
+  private static Claims legacyParse(String token) {
+    SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SIGNING_KEY));
+    return Jwts.parser()
+        .verifyWith(key)
+        .build()
+        .parseSignedClaims(token)
+        .getPayload();
+  }
+}
@@ -0,0 +1,68 @@
+package com.ventionteams.medfast.benchmark;
+
+import com.ventionteams.medfast.pdf.base.BasePdfService;
+import com.ventionteams.medfast.pdf.base.BasePdfService.DocumentBuilder;
+import java.util.concurrent.TimeUnit;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the test result PDFs composed per second before and after the document builder: the
+ * document saved after every section and parsed back for the next one against all the sections
+ * drawn into one open document saved once. The gc profiler reports the allocation of both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PdfCompositionBenchmark {
+
+  private static final String[] INFO = {
+      "Test Type: BLOOD",
+      "Test Name: Vitamin D",
+      "Patient Name: Jane Doe",
+      "Date of Birth: 1990-01-01",
+      "Test Date: 2024-08-12",
+      "Doctor name: John Doe"
+  };
+  private static final String[] HEADERS = {"Test", "Result", "Units", "Reference Range"};
+  private static final String[][] CONTENT = {
+      {"Hemoglobin", "14.2", "g/dL", "13.0 - 17.0"},
+      {"WBC", "7,200", "cells/mcL", "4,500 - 11,000"},
+      {"Platelets", "250,000", "/mcL", "150,000 - 450,000"},
+      {"Blood Glucose", "85.0", "mg/dL", "70 - 99"},
+      {"RBC", "5.1", "mil/mcL", "4.2 - 6.0"},
+      {"Cholesterol", "180.0", "mg/dL", "< 200"},
+      {"Triglycerides", "120.0", "mg/dL", "< 150"},
+      {"LDL", "95.0", "mg/dL", "< 100"},
+      {"HDL", "55.0", "mg/dL", "40 - 60"},
+      {"Uric Acid", "5.2", "mg/dL", "3.0 - 7.5"}
+  };
+
+  private final BasePdfService pdfService = new BasePdfService();
+
+  /**
+   * Mirrors the previous flow, the document is saved and parsed back between the sections.
+   */
+  @Benchmark
+  public byte[] saveAndReload() {
+    byte[] pdf = pdfService.generatePdf(INFO, "Medical Test Result", PDRectangle.A4);
+    pdf = pdfService.addTableToPdf(HEADERS, CONTENT, 500, pdf);
+    return pdfService.addDoctorSignatureToPdf(pdf, 200);
+  }
+
+  @Benchmark
+  public byte[] singlePass() {
+    try (DocumentBuilder document = pdfService.document(PDRectangle.A4)) {
+      return document.header("Medical Test Result")
+          .info(INFO)
+          .table(HEADERS, CONTENT, 500)
+          .signature(200)
+          .toByteArray();
+    }
+  }
+}
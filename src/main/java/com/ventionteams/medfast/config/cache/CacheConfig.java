@@ -2,6 +2,7 @@ package com.ventionteams.medfast.config.cache;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.ventionteams.medfast.config.properties.TokenConfig;
+import com.ventionteams.medfast.service.UserService;
 import java.time.Duration;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.CacheManager;
@@ -22,12 +23,27 @@ public class CacheConfig {
    */
   @Bean
   public CacheManager cacheManager() {
-    CaffeineCacheManager cacheManager = new CaffeineCacheManager("blacklistedTokens");
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager("revokedTokens");
 
     cacheManager.setCaffeine(Caffeine
         .newBuilder()
         .expireAfterWrite(Duration.ofSeconds(tokenConfig.timeout().access()))
     );
+    cacheManager.registerCustomCache(UserService.SECURITY_VERSIONS_CACHE, Caffeine
+        .newBuilder()
+        .maximumSize(tokenConfig.principal().versionCacheMaximumSize())
+        .expireAfterWrite(Duration.ofSeconds(tokenConfig.principal().versionCacheTtl()))
+        .build()
+    );
+    if (tokenConfig.verifiedCache().enabled()) {
+      cacheManager.registerCustomCache("verifiedTokens", Caffeine
+          .newBuilder()
+          .maximumSize(tokenConfig.verifiedCache().maximumSize())
+          .expireAfter(new VerifiedClaimsExpiry())
+          .recordStats()
+          .build()
+      );
+    }
 
     return cacheManager;
   }
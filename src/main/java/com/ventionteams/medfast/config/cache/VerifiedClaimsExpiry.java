@@ -0,0 +1,32 @@
+package com.ventionteams.medfast.config.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ventionteams.medfast.service.auth.VerifiedClaims;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Expires each cached entry of verified claims at the expiration of the token it was parsed from.
+ */
+public class VerifiedClaimsExpiry implements Expiry<Object, Object> {
+
+  @Override
+  public long expireAfterCreate(Object key, Object value, long currentTime) {
+    if (value instanceof VerifiedClaims claims && claims.expiration() != null) {
+      return Math.max(0, Duration.between(Instant.now(), claims.expiration()).toNanos());
+    }
+    return 0;
+  }
+
+  @Override
+  public long expireAfterUpdate(Object key, Object value, long currentTime,
+      long currentDuration) {
+    return expireAfterCreate(key, value, currentTime);
+  }
+
+  @Override
+  public long expireAfterRead(Object key, Object value, long currentTime,
+      long currentDuration) {
+    return currentDuration;
+  }
+}
@@ -0,0 +1,47 @@
+package com.ventionteams.medfast.config.mail;
+
+import com.ventionteams.medfast.config.properties.MailTransportConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Properties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Mail configuration. Replaces the auto-configured mail sender with the pooled one, configured
+ * from the same spring.mail properties.
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+  private final MailProperties mailProperties;
+  private final MailTransportConfig mailTransportConfig;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Configures and provides the pooled mail sender bean.
+   */
+  @Bean
+  public PooledJavaMailSender javaMailSender() {
+    PooledJavaMailSender sender =
+        new PooledJavaMailSender(mailTransportConfig.pool(), meterRegistry);
+    sender.setHost(mailProperties.getHost());
+    if (mailProperties.getPort() != null) {
+      sender.setPort(mailProperties.getPort());
+    }
+    sender.setUsername(mailProperties.getUsername());
+    sender.setPassword(mailProperties.getPassword());
+    sender.setProtocol(mailProperties.getProtocol());
+    if (mailProperties.getDefaultEncoding() != null) {
+      sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+    }
+    Properties javaMailProperties = new Properties();
+    javaMailProperties.putAll(mailProperties.getProperties());
+    sender.setJavaMailProperties(javaMailProperties);
+    return sender;
+  }
+}
@@ -0,0 +1,110 @@
+package com.ventionteams.medfast.config.mail;
+
+import com.ventionteams.medfast.config.mail.SmtpTransportPool.PooledTransport;
+import com.ventionteams.medfast.config.properties.MailTransportConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Mail sender that keeps authenticated SMTP connections open between sends. The default sender
+ * connects, negotiates STARTTLS and authenticates for every call, this one borrows a connection
+ * from a bounded pool and sends all messages of a call over it.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+  private final SmtpTransportPool pool;
+
+  /**
+   * Creates the sender with an empty connection pool.
+   */
+  public PooledJavaMailSender(MailTransportConfig.Pool config, MeterRegistry meterRegistry) {
+    this.pool = new SmtpTransportPool(this::connectTransport, config, System::nanoTime,
+        meterRegistry);
+  }
+
+  @Override
+  protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) {
+    Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+    PooledTransport transport = null;
+    try {
+      for (int i = 0; i < mimeMessages.length; i++) {
+        Object original = originalMessages != null ? originalMessages[i] : mimeMessages[i];
+        if (transport == null) {
+          try {
+            transport = pool.borrow();
+          } catch (AuthenticationFailedException e) {
+            throw new MailAuthenticationException(e);
+          } catch (MessagingException e) {
+            for (int j = i; j < mimeMessages.length; j++) {
+              failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j],
+                  e);
+            }
+            break;
+          }
+        }
+
+        try {
+          MimeMessage mimeMessage = mimeMessages[i];
+          prepare(mimeMessage);
+          Address[] addresses = mimeMessage.getAllRecipients();
+          transport.send(mimeMessage, addresses != null ? addresses : new Address[0]);
+        } catch (MessagingException e) {
+          failedMessages.put(original, e);
+          // DEVNOTE: A rejected recipient leaves the connection usable, any other error may not
+          if (!(e instanceof SendFailedException)) {
+            pool.discard(transport);
+            transport = null;
+          }
+        }
+      }
+    } finally {
+      if (transport != null) {
+        pool.release(transport);
+      }
+    }
+
+    if (!failedMessages.isEmpty()) {
+      throw new MailSendException(failedMessages);
+    }
+  }
+
+  /**
+   * Closes the connections that stayed idle longer than the idle timeout, also while no emails
+   * are sent.
+   */
+  @Scheduled(fixedDelayString = "${mail-transport.pool.idle-timeout}",
+      initialDelayString = "${mail-transport.pool.idle-timeout}")
+  public void evictIdleConnections() {
+    pool.evictIdle();
+  }
+
+  @Override
+  public void destroy() {
+    pool.close();
+  }
+
+  private static void prepare(MimeMessage mimeMessage) throws MessagingException {
+    if (mimeMessage.getSentDate() == null) {
+      mimeMessage.setSentDate(new Date());
+    }
+    String messageId = mimeMessage.getMessageID();
+    mimeMessage.saveChanges();
+    if (messageId != null) {
+      // DEVNOTE: Keeps the message id, saveChanges regenerates it
+      mimeMessage.setHeader("Message-ID", messageId);
+    }
+  }
+}
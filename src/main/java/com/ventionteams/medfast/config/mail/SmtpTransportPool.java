@@ -0,0 +1,208 @@
+package com.ventionteams.medfast.config.mail;
+
+import com.ventionteams.medfast.config.properties.MailTransportConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Bounded pool of connected SMTP transports. A borrowed transport is exclusive to its sender
+ * until it is released. Idle transports are reused most recently used first, so the least used
+ * ones go idle and get closed. The pool keeps track of the borrowed transports too, so closing it
+ * closes every connection it opened.
+ */
+@Log4j2
+final class SmtpTransportPool {
+
+  /**
+   * Opens a new connected transport.
+   */
+  @FunctionalInterface
+  interface Connector {
+
+    Transport connect() throws MessagingException;
+  }
+
+  private final Connector connector;
+  private final MailTransportConfig.Pool config;
+  private final LongSupplier nanoTime;
+  private final Semaphore permits;
+  private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+  private final Set<PooledTransport> borrowed = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger open = new AtomicInteger();
+  private final Counter opened;
+  private volatile boolean closed;
+
+  SmtpTransportPool(Connector connector, MailTransportConfig.Pool config, LongSupplier nanoTime,
+      MeterRegistry meterRegistry) {
+    this.connector = connector;
+    this.config = config;
+    this.nanoTime = nanoTime;
+    this.permits = new Semaphore(config.maxConnections(), true);
+    this.opened = Counter.builder("mail.transport.opened")
+        .description("SMTP connections opened by the transport pool")
+        .register(meterRegistry);
+    Gauge.builder("mail.transport.open", open, AtomicInteger::get)
+        .description("SMTP connections currently open")
+        .register(meterRegistry);
+    Gauge.builder("mail.transport.idle", idle, Deque::size)
+        .description("Open SMTP connections waiting for a sender")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Takes an idle transport that is still usable or connects a new one, waiting for a free slot
+   * up to the borrow timeout.
+   */
+  PooledTransport borrow() throws MessagingException {
+    try {
+      if (!permits.tryAcquire(config.borrowTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+        throw new MessagingException(String.format(
+            "No SMTP connection became available within %d ms",
+            config.borrowTimeout().toMillis()));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+    }
+
+    try {
+      if (closed) {
+        throw new MessagingException("The SMTP connection pool is closed");
+      }
+      PooledTransport transport;
+      while ((transport = idle.pollFirst()) != null) {
+        if (isReusable(transport)) {
+          borrowed.add(transport);
+          return transport;
+        }
+        close(transport);
+      }
+      Transport connected = connector.connect();
+      open.incrementAndGet();
+      opened.increment();
+      transport = new PooledTransport(connected);
+      borrowed.add(transport);
+      return transport;
+    } catch (MessagingException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns a healthy transport to the pool, a transport that used up its messages is closed.
+   */
+  void release(PooledTransport transport) {
+    // DEVNOTE: A transport no longer borrowed was already closed along with the pool
+    if (borrowed.remove(transport)) {
+      transport.lastUsed = nanoTime.getAsLong();
+      if (closed || transport.messages >= config.maxMessages()) {
+        close(transport);
+      } else {
+        idle.offerFirst(transport);
+        if (closed) {
+          closeIdle();
+        }
+      }
+    }
+    permits.release();
+    evictIdle();
+  }
+
+  /**
+   * Closes a transport that failed, its slot is freed for a new connection.
+   */
+  void discard(PooledTransport transport) {
+    if (borrowed.remove(transport)) {
+      close(transport);
+    }
+    permits.release();
+  }
+
+  /**
+   * Closes the transports that stayed idle longer than the idle timeout.
+   */
+  void evictIdle() {
+    Iterator<PooledTransport> oldestFirst = idle.descendingIterator();
+    while (oldestFirst.hasNext()) {
+      PooledTransport transport = oldestFirst.next();
+      // DEVNOTE: Removal wins over a concurrent borrow of the same transport only once
+      if (isIdleTooLong(transport) && idle.remove(transport)) {
+        close(transport);
+      }
+    }
+  }
+
+  /**
+   * Closes all transports, idle and borrowed ones. A sender still using a borrowed transport
+   * fails and no transport is lent afterwards.
+   */
+  void close() {
+    closed = true;
+    closeIdle();
+    for (PooledTransport transport : borrowed) {
+      if (borrowed.remove(transport)) {
+        close(transport);
+      }
+    }
+  }
+
+  private void closeIdle() {
+    PooledTransport transport;
+    while ((transport = idle.pollFirst()) != null) {
+      close(transport);
+    }
+  }
+
+  private boolean isReusable(PooledTransport transport) {
+    return !isIdleTooLong(transport) && transport.transport.isConnected();
+  }
+
+  private boolean isIdleTooLong(PooledTransport transport) {
+    return nanoTime.getAsLong() - transport.lastUsed > config.idleTimeout().toNanos();
+  }
+
+  private void close(PooledTransport transport) {
+    open.decrementAndGet();
+    try {
+      transport.transport.close();
+    } catch (MessagingException e) {
+      log.debug("Failed to close SMTP connection cleanly", e);
+    }
+  }
+
+  /**
+   * Connected transport with its usage bookkeeping.
+   */
+  final class PooledTransport {
+
+    private final Transport transport;
+    private long lastUsed;
+    private int messages;
+
+    private PooledTransport(Transport transport) {
+      this.transport = transport;
+      this.lastUsed = nanoTime.getAsLong();
+    }
+
+    void send(MimeMessage message, Address[] recipients) throws MessagingException {
+      messages++;
+      transport.sendMessage(message, recipients);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.ventionteams.medfast.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Application configuration properties from the email-outbox descendants of application.yml.
+ * Every poll claims at most batch-size due emails, never more than the idle workers can take
+ * nor than max-per-second allows for a poll interval, and leases them for the lease duration.
+ */
+@Validated
+@ConfigurationProperties(prefix = "email-outbox")
+public record EmailOutboxConfig(
+    @NotNull(message = "email-outbox.poll-interval must not be null")
+    Duration pollInterval,
+    @Positive(message = "email-outbox.batch-size must be greater than 0")
+    int batchSize,
+    @Positive(message = "email-outbox.workers must be greater than 0")
+    int workers,
+    @Positive(message = "email-outbox.max-per-second must be greater than 0")
+    int maxPerSecond,
+    @NotNull(message = "email-outbox.lease must not be null")
+    Duration lease,
+    @NotNull(message = "email-outbox.retry must not be null")
+    Retry retry,
+    @NotNull(message = "email-outbox.dead-letters must not be null")
+    DeadLetters deadLetters
+) {
+
+  /**
+   * Configuration properties for the retry descendants. A failed delivery is retried after a
+   * backoff that starts at initial-backoff and doubles up to max-backoff, the email is dead
+   * lettered after max-attempts attempts.
+   */
+  public record Retry(
+      @Positive(message = "email-outbox.retry.max-attempts must be greater than 0")
+      int maxAttempts,
+      @NotNull(message = "email-outbox.retry.initial-backoff must not be null")
+      Duration initialBackoff,
+      @NotNull(message = "email-outbox.retry.max-backoff must not be null")
+      Duration maxBackoff
+  ) {
+
+  }
+
+  /**
+   * Configuration properties for the dead-letters descendants. Dead letters are kept for the
+   * retention to be looked into, a purge every purge-interval deletes the older ones.
+   */
+  public record DeadLetters(
+      @NotNull(message = "email-outbox.dead-letters.retention must not be null")
+      Duration retention,
+      @NotNull(message = "email-outbox.dead-letters.purge-interval must not be null")
+      Duration purgeInterval
+  ) {
+
+  }
+}
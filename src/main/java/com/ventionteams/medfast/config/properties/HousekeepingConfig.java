@@ -0,0 +1,36 @@
+package com.ventionteams.medfast.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Application configuration properties from the housekeeping descendants of application.yml.
+ */
+@Validated
+@ConfigurationProperties(prefix = "housekeeping")
+public record HousekeepingConfig(
+    @NotNull(message = "housekeeping.token-purge must not be null")
+    TokenPurge tokenPurge
+) {
+
+  /**
+   * Configuration properties for the token-purge descendants. Expired rows are deleted in
+   * batches of batch-size rows, each in a transaction of its own, with a pause between the
+   * batches. A single run stops after max-batches batches and leaves the rest to the next run.
+   */
+  public record TokenPurge(
+      @NotNull(message = "housekeeping.token-purge.interval must not be null")
+      Duration interval,
+      @Positive(message = "housekeeping.token-purge.batch-size must be greater than 0")
+      int batchSize,
+      @Positive(message = "housekeeping.token-purge.max-batches must be greater than 0")
+      int maxBatches,
+      @NotNull(message = "housekeeping.token-purge.pause must not be null")
+      Duration pause
+  ) {
+
+  }
+}
@@ -0,0 +1,37 @@
+package com.ventionteams.medfast.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Application configuration properties from the mail-transport descendants of application.yml.
+ */
+@Validated
+@ConfigurationProperties(prefix = "mail-transport")
+public record MailTransportConfig(
+    @NotNull(message = "mail-transport.pool must not be null")
+    Pool pool
+) {
+
+  /**
+   * Configuration properties for the pool descendants. At most max-connections authenticated
+   * SMTP connections are open at once. An idle connection is closed after idle-timeout, and a
+   * connection is recycled once it has sent max-messages emails. A sender waits up to
+   * borrow-timeout for a free connection.
+   */
+  public record Pool(
+      @Positive(message = "mail-transport.pool.max-connections must be greater than 0")
+      int maxConnections,
+      @NotNull(message = "mail-transport.pool.idle-timeout must not be null")
+      Duration idleTimeout,
+      @Positive(message = "mail-transport.pool.max-messages must be greater than 0")
+      int maxMessages,
+      @NotNull(message = "mail-transport.pool.borrow-timeout must not be null")
+      Duration borrowTimeout
+  ) {
+
+  }
+}
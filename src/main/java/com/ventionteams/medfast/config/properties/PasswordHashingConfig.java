@@ -0,0 +1,59 @@
+package com.ventionteams.medfast.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Application configuration properties from the password-hashing descendants of
+ * application.yml.
+ */
+@Validated
+@ConfigurationProperties(prefix = "password-hashing")
+public record PasswordHashingConfig(
+    @NotNull(message = "password-hashing.executor must not be null")
+    Executor executor,
+    @NotNull(message = "password-hashing.cost must not be null")
+    Cost cost
+) {
+
+  /**
+   * Configuration properties for the executor descendants.
+   */
+  public record Executor(
+      @Positive(message = "password-hashing.executor.pool-size must be greater than 0")
+      int poolSize,
+      @PositiveOrZero(
+          message = "password-hashing.executor.queue-capacity must be greater or equal to 0")
+      int queueCapacity,
+      @PositiveOrZero(
+          message = "password-hashing.executor.retry-after must be greater or equal to 0")
+      long retryAfter
+  ) {
+
+  }
+
+  /**
+   * Configuration properties for the cost descendants. The BCrypt cost is calibrated at startup
+   * to the highest value within [min, max] whose median hash time fits the latency budget.
+   */
+  public record Cost(
+      @NotNull(message = "password-hashing.cost.latency-budget must not be null")
+      Duration latencyBudget,
+      @Min(value = 4, message = "password-hashing.cost.min must be greater or equal to 4")
+      @Max(value = 31, message = "password-hashing.cost.min must be less or equal to 31")
+      int min,
+      @Min(value = 4, message = "password-hashing.cost.max must be greater or equal to 4")
+      @Max(value = 31, message = "password-hashing.cost.max must be less or equal to 31")
+      int max,
+      @Positive(message = "password-hashing.cost.samples must be greater than 0")
+      int samples
+  ) {
+
+  }
+}
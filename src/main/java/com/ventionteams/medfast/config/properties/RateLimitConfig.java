@@ -0,0 +1,49 @@
+package com.ventionteams.medfast.config.properties;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Application configuration properties from the rate-limit descendants of application.yml.
+ */
+@Validated
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitConfig(
+    boolean enabled,
+    @Positive(message = "rate-limit.max-buckets must be greater than 0")
+    long maxBuckets,
+    @NotNull(message = "rate-limit.endpoints must not be null")
+    List<Endpoint> endpoints
+) {
+
+  /**
+   * Configuration properties for the endpoints descendants. The per-email limit is optional.
+   */
+  public record Endpoint(
+      @NotBlank(message = "rate-limit.endpoints.path must not be blank")
+      String path,
+      @NotNull(message = "rate-limit.endpoints.per-ip must not be null")
+      Limit perIp,
+      Limit perEmail
+  ) {
+
+  }
+
+  /**
+   * Configuration properties for the limit descendants. A client may send capacity requests at
+   * once, after that the bucket refills evenly over the period.
+   */
+  public record Limit(
+      @Positive(message = "rate-limit limit capacity must be greater than 0")
+      long capacity,
+      @NotNull(message = "rate-limit limit period must not be null")
+      Duration period
+  ) {
+
+  }
+}
@@ -0,0 +1,32 @@
+package com.ventionteams.medfast.config.properties;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Period;
+import java.time.ZoneId;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Application configuration properties from the reminders descendants of application.yml. The
+ * reminders run on the cron in the zone, read the appointments in chunks of chunk-size and render
+ * them on render-threads threads. Test results are announced when they were recorded within the
+ * results-lookback, whenever the test was taken.
+ */
+@Validated
+@ConfigurationProperties(prefix = "reminders")
+public record ReminderConfig(
+    @NotBlank(message = "reminders.cron must not be blank")
+    String cron,
+    @NotNull(message = "reminders.zone must not be null")
+    ZoneId zone,
+    @Positive(message = "reminders.chunk-size must be greater than 0")
+    int chunkSize,
+    @Positive(message = "reminders.render-threads must be greater than 0")
+    int renderThreads,
+    @NotNull(message = "reminders.results-lookback must not be null")
+    Period resultsLookback
+) {
+
+}
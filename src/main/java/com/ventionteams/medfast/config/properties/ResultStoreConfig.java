@@ -0,0 +1,33 @@
+package com.ventionteams.medfast.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Application configuration properties from the result-store descendants of application.yml. The
+ * test result blobs are stored under the root directory.
+ */
+@Validated
+@ConfigurationProperties(prefix = "result-store")
+public record ResultStoreConfig(
+    @NotNull(message = "result-store.root must not be null")
+    Path root,
+    @NotNull(message = "result-store.migration must not be null")
+    Migration migration
+) {
+
+  /**
+   * Configuration properties for the migration descendants. When enabled, the results still
+   * stored in the database are moved to the store on startup, batch-size results at a time.
+   */
+  public record Migration(
+      boolean enabled,
+      @Positive(message = "result-store.migration.batch-size must be greater than 0")
+      int batchSize
+  ) {
+
+  }
+}
@@ -1,7 +1,9 @@
 package com.ventionteams.medfast.config.properties;
 
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -16,7 +18,15 @@ public record TokenConfig(
     @NotNull(message = "token.timeout must not be null")
     Timeout timeout,
     @NotNull(message = "token.signing must not be null")
-    Signing signing
+    Signing signing,
+    @NotNull(message = "token.principal must not be null")
+    Principal principal,
+    @NotNull(message = "token.verified-cache must not be null")
+    VerifiedCache verifiedCache,
+    @NotNull(message = "token.revocation-filter must not be null")
+    RevocationFilter revocationFilter,
+    @NotNull(message = "token.sessions must not be null")
+    Sessions sessions
 ) {
 
   /**
@@ -46,5 +56,54 @@ public record TokenConfig(
   ) {
 
   }
-}
 
+  /**
+   * Configuration properties for the principal descendants. The security versions of at most
+   * version-cache-maximum-size users are cached at once.
+   */
+  public record Principal(
+      boolean claimsBacked,
+      @Positive(message = "token.principal.version-cache-ttl must be greater than 0")
+      long versionCacheTtl,
+      @Positive(message = "token.principal.version-cache-maximum-size must be greater than 0")
+      long versionCacheMaximumSize
+  ) {
+
+  }
+
+  /**
+   * Configuration properties for the verified-cache descendants.
+   */
+  public record VerifiedCache(
+      boolean enabled,
+      @Positive(message = "token.verified-cache.maximum-size must be greater than 0")
+      long maximumSize
+  ) {
+
+  }
+
+  /**
+   * Configuration properties for the revocation-filter descendants.
+   */
+  public record RevocationFilter(
+      @Positive(message = "token.revocation-filter.expected-insertions must be greater than 0")
+      long expectedInsertions,
+      @Positive(message = "token.revocation-filter.false-positive-rate must be greater than 0")
+      @DecimalMax(value = "1.0", inclusive = false,
+          message = "token.revocation-filter.false-positive-rate must be less than 1")
+      double falsePositiveRate
+  ) {
+
+  }
+
+  /**
+   * Configuration properties for the sessions descendants. Signing in beyond max-concurrent
+   * sessions ends the oldest sessions of the user.
+   */
+  public record Sessions(
+      @Positive(message = "token.sessions.max-concurrent must be greater than 0")
+      int maxConcurrent
+  ) {
+
+  }
+}
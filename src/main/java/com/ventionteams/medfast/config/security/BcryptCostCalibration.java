@@ -0,0 +1,57 @@
+package com.ventionteams.medfast.config.security;
+
+import com.ventionteams.medfast.config.properties.PasswordHashingConfig;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the BCrypt cost for the hardware the node runs on. Every cost step doubles the hashing
+ * time, so the calibration walks up from the minimum cost and stops at the first cost whose
+ * median hash time exceeds the latency budget.
+ */
+@Log4j2
+public final class BcryptCostCalibration {
+
+  private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+  private BcryptCostCalibration() {
+  }
+
+  /**
+   * Measures the hash time on this node and returns the calibrated cost.
+   */
+  public static int calibrate(PasswordHashingConfig.Cost config) {
+    // DEVNOTE: Warms up the hashing code, so the first measured cost is not skewed by the JIT
+    BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(config.min()));
+    return calibrate(config, cost -> medianHashTime(cost, config.samples()));
+  }
+
+  static int calibrate(PasswordHashingConfig.Cost config, IntFunction<Duration> hashTime) {
+    int calibrated = config.min();
+    for (int cost = config.min(); cost <= config.max(); cost++) {
+      Duration median = hashTime.apply(cost);
+      log.debug("BCrypt cost {} takes {} ms", cost, median.toMillis());
+      if (cost > config.min() && median.compareTo(config.latencyBudget()) > 0) {
+        break;
+      }
+      calibrated = cost;
+    }
+    log.info("Calibrated BCrypt cost to {} for the latency budget of {} ms", calibrated,
+        config.latencyBudget().toMillis());
+    return calibrated;
+  }
+
+  private static Duration medianHashTime(int cost, int samples) {
+    long[] times = new long[samples];
+    for (int i = 0; i < samples; i++) {
+      long start = System.nanoTime();
+      BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(cost));
+      times[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(times);
+    return Duration.ofNanos(times[samples / 2]);
+  }
+}
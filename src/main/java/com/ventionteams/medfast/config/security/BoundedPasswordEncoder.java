@@ -0,0 +1,114 @@
+package com.ventionteams.medfast.config.security;
+
+import com.ventionteams.medfast.config.properties.PasswordHashingConfig;
+import com.ventionteams.medfast.exception.password.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder that runs the hashing of its delegate on a dedicated bounded pool, so a burst
+ * of sign in requests can not occupy the request threads and the CPU of every other endpoint.
+ * When both the pool and its queue are full the caller fails fast with
+ * {@link PasswordHashingUnavailableException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long retryAfter;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejections;
+
+  /**
+   * Creates the hashing pool and registers its metrics.
+   */
+  public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingConfig.Executor config,
+      MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.retryAfter = config.retryAfter();
+
+    BlockingQueue<Runnable> queue = config.queueCapacity() == 0
+        ? new SynchronousQueue<>()
+        : new ArrayBlockingQueue<>(config.queueCapacity());
+    this.executor = new ThreadPoolExecutor(config.poolSize(), config.poolSize(),
+        0L, TimeUnit.MILLISECONDS, queue, new CustomizableThreadFactory("password-hashing-"),
+        new ThreadPoolExecutor.AbortPolicy());
+
+    this.encodeTimer = Timer.builder("password.hash.duration")
+        .description("Time spent hashing passwords")
+        .tag("operation", "encode")
+        .register(meterRegistry);
+    this.matchesTimer = Timer.builder("password.hash.duration")
+        .description("Time spent hashing passwords")
+        .tag("operation", "matches")
+        .register(meterRegistry);
+    this.rejections = Counter.builder("password.hash.rejected")
+        .description("Password hashing requests rejected because the pool was saturated")
+        .register(meterRegistry);
+    Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+        .description("Password hashing requests waiting for a hashing thread")
+        .register(meterRegistry);
+    Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Password hashing threads currently hashing")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return hash(() -> delegate.encode(rawPassword), encodeTimer);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return hash(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /**
+   * Stops the hashing pool, called by the container on shutdown.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private <T> T hash(Callable<T> hashing, Timer timer) {
+    Future<T> future;
+    try {
+      future = executor.submit(() -> timer.recordCallable(hashing));
+    } catch (RejectedExecutionException e) {
+      rejections.increment();
+      throw new PasswordHashingUnavailableException(retryAfter);
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the password hashing", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+}
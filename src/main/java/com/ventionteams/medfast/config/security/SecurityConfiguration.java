@@ -2,12 +2,17 @@ package com.ventionteams.medfast.config.security;
 
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
+import com.ventionteams.medfast.config.properties.PasswordHashingConfig;
 import com.ventionteams.medfast.filter.CustomLogoutHandler;
 import com.ventionteams.medfast.filter.FilterChainExceptionHandler;
 import com.ventionteams.medfast.filter.JwtAuthenticationFilter;
+import com.ventionteams.medfast.filter.RateLimitFilter;
 import com.ventionteams.medfast.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -37,9 +42,12 @@ import org.springframework.web.cors.CorsConfiguration;
 public class SecurityConfiguration {
 
   private final JwtAuthenticationFilter jwtAuthenticationFilter;
+  private final RateLimitFilter rateLimitFilter;
   private final CustomLogoutHandler customLogoutHandler;
   private final UserService userService;
   private final FilterChainExceptionHandler filterChainExceptionHandler;
+  private final PasswordHashingConfig passwordHashingConfig;
+  private final MeterRegistry meterRegistry;
 
   /**
    * Configures the security filter chain for the application.
@@ -60,10 +68,15 @@ public class SecurityConfiguration {
             .requestMatchers("/auth/**", "/error/**").permitAll()
             .requestMatchers("/swagger-ui/**", "/swagger-resources/*", "/v3/api-docs/**")
             .permitAll()
+            // DEVNOTE: Health is left open for the probes, the other endpoints expose metrics of
+            //  the whole application and are for admins only
+            .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+            .requestMatchers(EndpointRequest.toAnyEndpoint()).hasAuthority("ADMIN")
             .anyRequest().authenticated())
         .sessionManagement(manager -> manager.sessionCreationPolicy(STATELESS))
         .authenticationProvider(authenticationProvider())
         .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
         .addFilterBefore(filterChainExceptionHandler, LogoutFilter.class)
         .logout(logout -> logout
             .logoutUrl("/auth/logout")
@@ -77,11 +90,14 @@ public class SecurityConfiguration {
   }
 
   /**
-   * Password encoder bean.
+   * Password encoder bean. BCrypt uses the cost calibrated for this node and runs on a bounded
+   * pool of its own, see {@link BcryptCostCalibration} and {@link BoundedPasswordEncoder}.
    */
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    int cost = BcryptCostCalibration.calibrate(passwordHashingConfig.cost());
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(cost),
+        passwordHashingConfig.executor(), meterRegistry);
   }
 
   /**
@@ -92,6 +108,8 @@ public class SecurityConfiguration {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userService.getUserDetailsService());
     authProvider.setPasswordEncoder(passwordEncoder());
+    // DEVNOTE: Rehashes the password on a successful sign in when its stored cost is outdated
+    authProvider.setUserDetailsPasswordService(userService.getUserDetailsPasswordService());
     return authProvider;
   }
 
@@ -1,10 +1,12 @@
 package com.ventionteams.medfast.controller;
 
 import com.ventionteams.medfast.dto.response.AppointmentResponse;
+import com.ventionteams.medfast.dto.response.CursorPage;
 import com.ventionteams.medfast.dto.response.StandardizedResponse;
 import com.ventionteams.medfast.entity.Person;
 import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.enums.AppointmentRequestType;
+import com.ventionteams.medfast.exception.appointment.InvalidCursorException;
 import com.ventionteams.medfast.exception.appointment.NegativeAppointmentsAmountException;
 import com.ventionteams.medfast.service.AppointmentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,28 +34,29 @@ public class AppointmentController {
   private final AppointmentService appointmentService;
 
   /**
-   * Provides the appointments for the logged in patient.
+   * Provides the page of appointments for the logged in patient after the given cursor.
    */
   @Operation(summary = "Request the list of patients' appointments")
   @GetMapping("/api/patient/appointments")
   public ResponseEntity<StandardizedResponse<List<AppointmentResponse>>> getAppointments(
       @AuthenticationPrincipal User user,
       @RequestParam(name = "amount", required = false) Optional<Integer> amount,
-      @RequestParam(name = "type") AppointmentRequestType type) {
+      @RequestParam(name = "type") AppointmentRequestType type,
+      @RequestParam(name = "cursor", required = false) Optional<String> cursor) {
 
     StandardizedResponse<List<AppointmentResponse>> response;
 
     try {
       Optional<Person> person = Optional.ofNullable(user.getPerson());
 
-      List<AppointmentResponse> appointments =
-          appointmentService.getAppointments(person, amount, type);
+      CursorPage<AppointmentResponse> appointments =
+          appointmentService.getAppointments(person, amount, type, cursor);
 
       response = StandardizedResponse.ok(
           appointments,
           HttpStatus.OK.value(),
           "Operation successful");
-    } catch (NegativeAppointmentsAmountException ex) {
+    } catch (NegativeAppointmentsAmountException | InvalidCursorException ex) {
       response = StandardizedResponse.error(
           HttpStatus.BAD_REQUEST.value(),
           "Invalid request",
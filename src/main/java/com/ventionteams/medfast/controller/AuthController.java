@@ -13,15 +13,12 @@ import com.ventionteams.medfast.service.auth.RefreshTokenService;
 import com.ventionteams.medfast.service.auth.VerificationTokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.mail.MessagingException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
-import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mail.MailAuthenticationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -63,14 +60,6 @@ public class AuthController {
           signupResponse,
           HttpStatus.OK.value(),
           "Sign up successful");
-    } catch (MessagingException | IOException
-             | MailAuthenticationException e) {
-      response = StandardizedResponse.error(
-          HttpStatus.INTERNAL_SERVER_ERROR.value(),
-          "Sign up failed. Please, try again later or contact our support team.",
-          e.getClass().getName(),
-          e.getMessage());
-      log.error("Failed to sign up user with email {}", request.getEmail(), e);
     } catch (UserAlreadyExistsException e) {
       response = StandardizedResponse.error(
           HttpStatus.BAD_REQUEST.value(),
@@ -128,8 +117,8 @@ public class AuthController {
           "Refreshing token failed",
           e.getClass().getName(),
           e.getMessage());
-      log.error("Failed to refresh token for user with email {}",
-          request.getRefreshToken(), e);
+      // DEVNOTE: The presented token is a credential and is never logged
+      log.error("Failed to refresh token", e);
     }
     return ResponseEntity.status(response.getStatus()).body(response);
   }
@@ -188,8 +177,7 @@ public class AuthController {
           "Another email has been sent to your email",
           HttpStatus.OK.value(),
           "Operation successful");
-    } catch (MessagingException | IOException | UsernameNotFoundException
-             | MailAuthenticationException | UserIsAlreadyVerifiedException e) {
+    } catch (UsernameNotFoundException | UserIsAlreadyVerifiedException e) {
       response = StandardizedResponse.error(
           HttpStatus.INTERNAL_SERVER_ERROR.value(),
           "We ran into an issue while sending another verification email, try again please",
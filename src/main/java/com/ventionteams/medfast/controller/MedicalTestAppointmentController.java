@@ -1,19 +1,23 @@
 package com.ventionteams.medfast.controller;
 
 import com.ventionteams.medfast.dto.request.CreateMedicalTestAppointmentRequest;
+import com.ventionteams.medfast.dto.response.CursorPage;
 import com.ventionteams.medfast.dto.response.MedicalTestAppointmentResponse;
 import com.ventionteams.medfast.dto.response.StandardizedResponse;
 import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.enums.AppointmentRequestType;
+import com.ventionteams.medfast.exception.appointment.InvalidCursorException;
 import com.ventionteams.medfast.exception.medicaltest.BadCredentialsForMedicalTest;
 import com.ventionteams.medfast.exception.medicaltest.InvalidMedicalTestDataException;
 import com.ventionteams.medfast.service.MedicalTestAppointmentService;
+import com.ventionteams.medfast.storage.BlobContent;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -67,23 +71,24 @@ public class MedicalTestAppointmentController {
   }
 
   /**
-   * Provides the tests for the logged-in user.
+   * Provides the page of tests for the logged-in user after the given cursor.
    */
   @Operation(summary = "Request the list of patient's tests")
   @GetMapping
   public ResponseEntity<StandardizedResponse<List<MedicalTestAppointmentResponse>>> getSortedTests(
       @AuthenticationPrincipal User user,
       @RequestParam(name = "amount", required = false) Optional<Integer> amount,
-      @RequestParam(name = "type") AppointmentRequestType type) {
+      @RequestParam(name = "type") AppointmentRequestType type,
+      @RequestParam(name = "cursor", required = false) Optional<String> cursor) {
     StandardizedResponse<List<MedicalTestAppointmentResponse>> response;
     try {
-      List<MedicalTestAppointmentResponse> medicalTestsAppointments =
-          medicalTestAppointmentService.getMedicalTests(user, amount, type);
+      CursorPage<MedicalTestAppointmentResponse> medicalTestsAppointments =
+          medicalTestAppointmentService.getMedicalTests(user, amount, type, cursor);
       response = StandardizedResponse.ok(
           medicalTestsAppointments,
           HttpStatus.OK.value(),
           "Operation successful");
-    } catch (InvalidMedicalTestDataException e) {
+    } catch (InvalidMedicalTestDataException | InvalidCursorException e) {
       response = StandardizedResponse.error(
           HttpStatus.BAD_REQUEST.value(),
           "Invalid request",
@@ -96,7 +101,8 @@ public class MedicalTestAppointmentController {
 
   /**
    * Provides PDF result of test and generates it if it doesn't exist.
-   * Accessible for the logged-in user.
+   * Accessible for the logged-in user. The PDF is streamed from the result store, a Range request
+   * gets the requested part and a request with the current ETag gets no content.
    */
   @Operation(summary = "get test result")
   @GetMapping("/result")
@@ -104,13 +110,16 @@ public class MedicalTestAppointmentController {
       @AuthenticationPrincipal User user,
       @RequestParam(name = "testId") Long testId) {
     try {
-      byte[] pdf = medicalTestAppointmentService.getTestResult(user, testId);
+      BlobContent pdf = medicalTestAppointmentService.getTestResult(user, testId);
       String pdfName = medicalTestAppointmentService.getPdfName(testId);
       HttpHeaders headers = new HttpHeaders();
       headers.setContentType(MediaType.APPLICATION_PDF);
       headers.setContentDispositionFormData("attachment", pdfName);
-      headers.setContentLength(pdf.length);
-      return new ResponseEntity<>(pdf, headers, HttpStatus.OK);
+      // DEVNOTE: The digest names the content, so it is a strong ETag. Spring MVC answers
+      //  If-None-Match with 304 and a Range with 206 over regions of the resource
+      headers.setETag("\"" + pdf.digest() + "\"");
+      headers.setCacheControl(CacheControl.noCache().cachePrivate());
+      return new ResponseEntity<>(pdf.resource(), headers, HttpStatus.OK);
     } catch (Exception e) {
       StandardizedResponse<String> response;
       if (e instanceof InvalidMedicalTestDataException) {
@@ -6,7 +6,6 @@ import com.ventionteams.medfast.exception.auth.TokenNotFoundException;
 import com.ventionteams.medfast.service.password.OneTimePasswordService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.mail.MessagingException;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
@@ -48,13 +47,6 @@ public class OneTimePasswordController {
           "Reset password email has been sent",
           HttpStatus.OK.value(),
           "Email sent successfully");
-    } catch (MessagingException e) {
-      response = StandardizedResponse.error(
-          HttpStatus.INTERNAL_SERVER_ERROR.value(),
-          "We ran into an issue while sending a verification email, try again please",
-          e.getClass().getName(),
-          e.getMessage());
-      log.error("Failed to send reset password email to {}", email, e);
     } catch (UsernameNotFoundException e) {
       response = StandardizedResponse.error(
           HttpStatus.BAD_REQUEST.value(),
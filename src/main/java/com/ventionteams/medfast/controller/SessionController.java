@@ -0,0 +1,42 @@
+package com.ventionteams.medfast.controller;
+
+import com.ventionteams.medfast.dto.response.SessionResponse;
+import com.ventionteams.medfast.dto.response.StandardizedResponse;
+import com.ventionteams.medfast.entity.User;
+import com.ventionteams.medfast.service.auth.RefreshTokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Session controller that lists the signed in sessions of the user.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Session Controller", description = "Operations related to user sessions")
+public class SessionController {
+
+  private final RefreshTokenService refreshTokenService;
+
+  /**
+   * Provides the active sessions of the logged in user.
+   */
+  @Operation(summary = "Request the list of the user's active sessions")
+  @GetMapping("/api/user/sessions")
+  public ResponseEntity<StandardizedResponse<List<SessionResponse>>> getSessions(
+      @AuthenticationPrincipal User user) {
+
+    StandardizedResponse<List<SessionResponse>> response = StandardizedResponse.ok(
+        refreshTokenService.getActiveSessions(user.getId()),
+        HttpStatus.OK.value(),
+        "Operation successful");
+
+    return ResponseEntity.status(response.getStatus()).body(response);
+  }
+}
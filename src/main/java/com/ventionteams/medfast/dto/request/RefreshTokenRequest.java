@@ -16,8 +16,9 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Refresh token request")
 public class RefreshTokenRequest {
 
-  @Schema(description = "Refresh token", example = "550e8400-e29b-41d4-a716-446655440000")
-  @Size(min = 36, max = 36, message = "Refresh token must contain UUID of 36 characters")
+  @Schema(description = "Refresh token",
+      example = "VQ6EAOKbQdSnFkRmVUQAAEwJ0SI4r5DjNtvrDYtPPpDkG7L3V2U-qC6sXbXkxH0A")
+  @Size(min = 36, max = 64, message = "Refresh token must contain 36 to 64 characters")
   @NotBlank(message = "Refresh token must not be blank")
   private String refreshToken;
 }
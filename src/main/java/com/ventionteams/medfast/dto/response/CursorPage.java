@@ -0,0 +1,87 @@
+package com.ventionteams.medfast.dto.response;
+
+import com.ventionteams.medfast.exception.appointment.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page of a keyset paginated listing with the opaque cursor of the next page. The cursor is null
+ * on the last page.
+ */
+public record CursorPage<T>(List<T> content, String next) {
+
+  /**
+   * Largest page a listing returns. The ids of a page are bound one parameter each when the page
+   * is read, so a page is never unbounded.
+   */
+  public static final int MAX_SIZE = 100;
+
+  /**
+   * Size of the page for the requested amount. Zero stands for the largest page, larger amounts
+   * are capped to it and the rest is reached through the cursor.
+   */
+  public static int pageSize(int amount) {
+    return amount > 0 ? Math.min(amount, MAX_SIZE) : MAX_SIZE;
+  }
+
+  /**
+   * Number of rows to fetch for a page of the given size. The extra row tells whether there is a
+   * next page.
+   */
+  public static int fetchSize(int size) {
+    return size + 1;
+  }
+
+  /**
+   * Cuts the rows fetched for a page of the given size down to the page, the cursor of the next
+   * page points after the last row of the page.
+   */
+  public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, Cursor> cursorOf,
+      Function<List<E>, List<T>> mapper) {
+    if (rows.size() <= size) {
+      return new CursorPage<>(mapper.apply(rows), null);
+    }
+    List<E> page = rows.subList(0, size);
+    return new CursorPage<>(mapper.apply(page), cursorOf.apply(page.get(size - 1)).encode());
+  }
+
+  /**
+   * Position after a row in the listing order: the sort key and the id of the row.
+   */
+  public record Cursor(String key, long id) {
+
+    private static final char SEPARATOR = '~';
+
+    public String encode() {
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the cursor returned with a previous page.
+     */
+    public static Cursor decode(String token) {
+      try {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = decoded.lastIndexOf(SEPARATOR);
+        return new Cursor(decoded.substring(0, separator),
+            Long.parseLong(decoded.substring(separator + 1)));
+      } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+        throw new InvalidCursorException(token);
+      }
+    }
+
+    /**
+     * Parses the sort key of the cursor.
+     */
+    public <K> K parseKey(Function<String, K> parser) {
+      try {
+        return parser.apply(key);
+      } catch (RuntimeException e) {
+        throw new InvalidCursorException(encode());
+      }
+    }
+  }
+}
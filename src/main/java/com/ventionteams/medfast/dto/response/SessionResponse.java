@@ -0,0 +1,29 @@
+package com.ventionteams.medfast.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response with an active session of the user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response with an active session of the user")
+public class SessionResponse {
+
+  @Schema(description = "Session id", example = "550e8400-e29b-41d4-a716-446655440000")
+  private String id;
+
+  @Schema(description = "Sign in date and time in 'yyyy-MM-ddTHH:mm:ss' format",
+      example = "2021-05-03T18:30:00")
+  private String createdDate;
+
+  @Schema(description = "Last refresh date and time in 'yyyy-MM-ddTHH:mm:ss' format",
+      example = "2021-05-03T19:15:00")
+  private String lastUsedDate;
+}
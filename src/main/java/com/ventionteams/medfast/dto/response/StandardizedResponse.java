@@ -3,6 +3,7 @@ package com.ventionteams.medfast.dto.response;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -43,6 +44,13 @@ public class StandardizedResponse<T> {
   @JsonInclude(JsonInclude.Include.NON_NULL)
   private String errorMessage;
 
+  @Schema(
+      description = "Opaque cursor of the next page, absent on the last page",
+      example = "MjAyNC0wNy0zMVQxNDowMH40Mg"
+  )
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String next;
+
   /**
    * Constructor for successful responses.
    */
@@ -81,6 +89,17 @@ public class StandardizedResponse<T> {
     return new StandardizedResponse<>(data, status, message);
   }
 
+  /**
+   * Successful response with a page of a keyset paginated listing.
+   */
+  public static <T> StandardizedResponse<List<T>> ok(CursorPage<T> page, int status,
+      String message) {
+    StandardizedResponse<List<T>> response =
+        new StandardizedResponse<>(page.content(), status, message);
+    response.setNext(page.next());
+    return response;
+  }
+
   public static <T> StandardizedResponse<T> error(int status, String message, String errorClass,
       String errorMessage) {
     return new StandardizedResponse<>(status, message, errorClass, errorMessage);
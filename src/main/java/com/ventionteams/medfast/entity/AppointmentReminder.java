@@ -0,0 +1,42 @@
+package com.ventionteams.medfast.entity;
+
+import com.ventionteams.medfast.enums.ReminderKind;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity that records a notification queued for an appointment. A notification of a kind is
+ * queued at most once per appointment, whatever the number of runs.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "appointment_reminders", schema = "public")
+public class AppointmentReminder {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "kind", nullable = false)
+  private ReminderKind kind;
+
+  @Column(name = "appointment_id", nullable = false)
+  private Long appointmentId;
+
+  @Column(name = "recipient", nullable = false)
+  private String recipient;
+
+  @Column(name = "created_date", insertable = false, updatable = false)
+  private LocalDateTime createdDate;
+}
@@ -3,6 +3,7 @@ package com.ventionteams.medfast.entity;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -15,6 +16,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 
 /**
  * Doctor entity class.
@@ -31,11 +33,12 @@ public class Doctor extends Person {
   @Column(name = "license_number", nullable = false)
   private String licenseNumber;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "location_id", nullable = false)
   private Location location;
 
   @ManyToMany
+  @BatchSize(size = 50)
   @JoinTable(
       name = "doctors_specializations_bridge",
       joinColumns = @JoinColumn(name = "doctor_id"),
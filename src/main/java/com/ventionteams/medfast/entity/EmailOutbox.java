@@ -0,0 +1,68 @@
+package com.ventionteams.medfast.entity;
+
+import com.ventionteams.medfast.entity.base.BaseEntity;
+import com.ventionteams.medfast.enums.EmailStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity that represents an email waiting for delivery. The row is written in the transaction
+ * that requested the email and deleted once the email is sent, an email that ran out of delivery
+ * attempts stays as a dead letter without its content until the housekeeping purges it.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Table(name = "email_outbox", schema = "public")
+public class EmailOutbox extends BaseEntity {
+
+  /**
+   * Priority of the emails a user waits for, such as verification links and one-time passwords.
+   */
+  public static final int PRIORITY_TRANSACTIONAL = 0;
+
+  /**
+   * Priority of the bulk notifications, delivered once no transactional email is due.
+   */
+  public static final int PRIORITY_BULK = 10;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "recipient", nullable = false)
+  private String recipient;
+
+  @Column(name = "subject", nullable = false)
+  private String subject;
+
+  @Column(name = "content", nullable = false)
+  private String content;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private EmailStatus status;
+
+  @Column(name = "priority", nullable = false)
+  private int priority;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(name = "last_error")
+  private String lastError;
+}
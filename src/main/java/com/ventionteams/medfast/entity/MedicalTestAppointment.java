@@ -55,7 +55,7 @@ public class MedicalTestAppointment extends BaseEntity {
   @Column(name = "date_of_test", nullable = false)
   private LocalDate dateOfTest;
 
-  @Column(name = "pdf_result")
-  private byte[] pdf;
+  @Column(name = "has_pdf_result", nullable = false)
+  private boolean hasPdfResult;
 
 }
@@ -1,26 +1,41 @@
 package com.ventionteams.medfast.entity;
 
-import com.ventionteams.medfast.entity.base.TokenEntity;
+import com.ventionteams.medfast.entity.base.BaseEntity;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import java.util.UUID;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 /**
- * Entity that represents a refresh token.
+ * Entity that represents a refresh token family. Every refresh rotates the token of the family,
+ * only the SHA-256 digest of the current token secret is stored.
  */
 @Entity
 @Data
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Table(name = "refresh_tokens", schema = "public")
-public class RefreshToken extends TokenEntity {
+public class RefreshToken extends BaseEntity {
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
+
+  @Column(name = "family_id", unique = true, nullable = false, updatable = false)
+  private UUID familyId;
+
+  @Column(name = "token_hash", nullable = false)
+  private byte[] tokenHash;
+
+  @ManyToOne
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
 }
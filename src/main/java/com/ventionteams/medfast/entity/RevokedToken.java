@@ -0,0 +1,30 @@
+package com.ventionteams.medfast.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity that represents a revoked access token, kept until the token expires.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "revoked_tokens", schema = "public")
+public class RevokedToken {
+
+  @Id
+  @Column(name = "token_id", nullable = false)
+  private String tokenId;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+}
@@ -0,0 +1,40 @@
+package com.ventionteams.medfast.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity that refers to the PDF result of a medical test in the result store by its digest. It
+ * lives apart from the test, so reading the tests never reads the result. Results stored before
+ * the result store hold the PDF inline until they are migrated.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "test_results", schema = "public")
+public class TestResult {
+
+  @Id
+  @Column(name = "test_appointment_id")
+  private Long testAppointmentId;
+
+  @Column(name = "digest")
+  private String digest;
+
+  @Column(name = "size")
+  private Long size;
+
+  @Column(name = "content_type")
+  private String contentType;
+
+  @Column(name = "pdf")
+  private byte[] pdf;
+
+  @Column(name = "created_date", insertable = false, updatable = false)
+  private LocalDateTime createdDate;
+}
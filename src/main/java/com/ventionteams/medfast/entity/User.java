@@ -52,6 +52,12 @@ public class User extends BaseEntity implements UserDetails {
   @Column(name = "role", nullable = false)
   private Role role;
 
+  @Column(name = "security_version", nullable = false)
+  private long securityVersion;
+
+  @Column(name = "tokens_not_before")
+  private Long tokensNotBefore;
+
   @OneToOne
   @JoinColumn(name = "person_id", nullable = false)
   private Person person;
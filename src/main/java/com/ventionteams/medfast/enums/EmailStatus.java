@@ -0,0 +1,9 @@
+package com.ventionteams.medfast.enums;
+
+/**
+ * Enum for the delivery status of an outgoing email.
+ */
+public enum EmailStatus {
+  PENDING,
+  DEAD
+}
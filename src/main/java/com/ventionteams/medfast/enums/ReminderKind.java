@@ -0,0 +1,9 @@
+package com.ventionteams.medfast.enums;
+
+/**
+ * Enum for the kind of notification sent about an appointment.
+ */
+public enum ReminderKind {
+  CONSULTATION_UPCOMING,
+  TEST_RESULT_READY
+}
@@ -2,17 +2,22 @@ package com.ventionteams.medfast.exception;
 
 import com.ventionteams.medfast.dto.response.StandardizedResponse;
 import com.ventionteams.medfast.exception.auth.InvalidTokenException;
+import com.ventionteams.medfast.exception.auth.RequestBodyTooLargeException;
+import com.ventionteams.medfast.exception.auth.TooManyRequestsException;
 import com.ventionteams.medfast.exception.auth.UserNotFoundException;
+import com.ventionteams.medfast.exception.password.PasswordHashingUnavailableException;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -55,6 +60,33 @@ public class MedfastExceptionHandler {
         ex.getClass().getName(), ex.getMessage());
   }
 
+  @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+  @ExceptionHandler({TooManyRequestsException.class})
+  protected StandardizedResponse<?> handleTooManyRequestsException(
+      TooManyRequestsException ex, HttpServletResponse httpResponse) {
+    httpResponse.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter()));
+
+    return StandardizedResponse.error(
+        HttpStatus.TOO_MANY_REQUESTS.value(),
+        "Too many requests",
+        ex.getClass().getName(),
+        ex.getMessage()
+    );
+  }
+
+  @ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+  @ExceptionHandler({RequestBodyTooLargeException.class})
+  protected StandardizedResponse<?> handleRequestBodyTooLargeException(
+      RequestBodyTooLargeException ex) {
+
+    return StandardizedResponse.error(
+        HttpStatus.CONTENT_TOO_LARGE.value(),
+        "Request body too large",
+        ex.getClass().getName(),
+        ex.getMessage()
+    );
+  }
+
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   @ExceptionHandler({InterruptedException.class})
   protected StandardizedResponse<Map<String, String>> handleAsyncExceptions(
@@ -131,6 +163,20 @@ public class MedfastExceptionHandler {
     return response;
   }
 
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  @ExceptionHandler({PasswordHashingUnavailableException.class})
+  protected StandardizedResponse<?> handlePasswordHashingUnavailableException(
+      PasswordHashingUnavailableException ex, HttpServletResponse httpResponse) {
+    httpResponse.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter()));
+
+    return StandardizedResponse.error(
+        HttpStatus.SERVICE_UNAVAILABLE.value(),
+        "Service unavailable",
+        ex.getClass().getName(),
+        ex.getMessage()
+    );
+  }
+
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   @ExceptionHandler({Exception.class})
   protected StandardizedResponse<?> handleInternalServerError(
@@ -0,0 +1,15 @@
+package com.ventionteams.medfast.exception.appointment;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the page cursor is malformed.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException(String cursor) {
+    super(String.format("Failed with: Invalid page cursor [%s]", cursor));
+  }
+}
@@ -0,0 +1,15 @@
+package com.ventionteams.medfast.exception.auth;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the body of a rate limited request exceeds the size the rate limit reads.
+ */
+@ResponseStatus(HttpStatus.CONTENT_TOO_LARGE)
+public class RequestBodyTooLargeException extends RuntimeException {
+
+  public RequestBodyTooLargeException(String endpoint, int maxBytes) {
+    super(String.format("Request body of [%s] exceeds %d bytes", endpoint, maxBytes));
+  }
+}
@@ -0,0 +1,15 @@
+package com.ventionteams.medfast.exception.auth;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a token that was already rotated is sent again.
+ */
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class TokenReusedException extends RuntimeException {
+
+  public TokenReusedException(String criteria, String message) {
+    super(String.format("The token sent has already been used [%s]: %s", criteria, message));
+  }
+}
@@ -0,0 +1,20 @@
+package com.ventionteams.medfast.exception.auth;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a client exceeds the request rate limit of an endpoint.
+ */
+@Getter
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+
+  private final long retryAfter;
+
+  public TooManyRequestsException(String endpoint, long retryAfter) {
+    super(String.format("Too many requests to [%s], retry in %d seconds", endpoint, retryAfter));
+    this.retryAfter = retryAfter;
+  }
+}
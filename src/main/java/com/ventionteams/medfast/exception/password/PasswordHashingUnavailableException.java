@@ -0,0 +1,21 @@
+package com.ventionteams.medfast.exception.password;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when the password hashing executor is saturated.
+ */
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+  private final long retryAfter;
+
+  public PasswordHashingUnavailableException(long retryAfter) {
+    super(String.format("Password hashing capacity is exhausted, retry in %d seconds",
+        retryAfter));
+    this.retryAfter = retryAfter;
+  }
+}
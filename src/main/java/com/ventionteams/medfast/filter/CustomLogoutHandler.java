@@ -1,11 +1,9 @@
 package com.ventionteams.medfast.filter;
 
-import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.exception.auth.InvalidTokenException;
-import com.ventionteams.medfast.exception.auth.UserNotFoundException;
-import com.ventionteams.medfast.repository.RefreshTokenRepository;
-import com.ventionteams.medfast.repository.UserRepository;
 import com.ventionteams.medfast.service.auth.JwtService;
+import com.ventionteams.medfast.service.auth.RefreshTokenService;
+import com.ventionteams.medfast.service.auth.VerifiedClaims;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -17,15 +15,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Custom logout handler for managing user logouts by invalidating JWT tokens
- * and removing associated refresh tokens.
+ * and removing associated refresh tokens. The user is identified by the id claim of the token,
+ * so a logout does not look the user up.
  */
 @Component
 @RequiredArgsConstructor
 public class CustomLogoutHandler implements LogoutHandler {
 
   private final JwtService jwtService;
-  private final RefreshTokenRepository refreshTokenRepository;
-  private final UserRepository userRepository;
+  private final RefreshTokenService refreshTokenService;
 
   @Override
   @Transactional
@@ -40,11 +38,12 @@ public class CustomLogoutHandler implements LogoutHandler {
     }
     String jwt = authHeader.substring(7);
 
-    String email = jwtService.extractUserName(jwt);
+    VerifiedClaims claims = jwtService.verifyToken(jwt);
+    if (claims.userId() == null) {
+      throw new InvalidTokenException("AuthHeader", "Authorization token has no user id.");
+    }
 
-    User currentUser = userRepository.findByEmail(email).orElseThrow(() ->
-        new UserNotFoundException());
     jwtService.blacklistToken(jwt);
-    refreshTokenRepository.deleteByUser(currentUser);
+    refreshTokenService.endSessions(claims.userId());
   }
 }
@@ -1,12 +1,15 @@
 package com.ventionteams.medfast.filter;
 
+import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.service.UserService;
 import com.ventionteams.medfast.service.auth.JwtService;
+import com.ventionteams.medfast.service.auth.VerifiedClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Objects;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -45,18 +48,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     String jwt = authHeader.substring(BEARER_PREFIX.length());
-    if (jwtService.isTokenBlacklisted(jwt)) {
+    VerifiedClaims claims = jwtService.verifyToken(jwt);
+    if (jwtService.isRevoked(claims)) {
       filterChain.doFilter(request, response);
       return;
     }
 
-    String username = jwtService.extractUserName(jwt);
+    String username = claims.subject();
 
-    if (StringUtils.isNotEmpty(username)
+    if (StringUtils.isNotEmpty(username) && !claims.isExpired()
         && SecurityContextHolder.getContext().getAuthentication() == null) {
-      UserDetails userDetails = userService.getUserDetailsService().loadUserByUsername(username);
+      UserDetails userDetails = jwtService.extractPrincipal(claims)
+          .filter(this::hasCurrentSecurityVersion)
+          .map(UserDetails.class::cast)
+          .orElseGet(() -> userService.getUserDetailsService().loadUserByUsername(username));
 
-      if (jwtService.isTokenValid(jwt, userDetails)) {
+      if (jwtService.isTokenValid(claims, userDetails) && userDetails.isEnabled()) {
         SecurityContext context = SecurityContextHolder.createEmptyContext();
 
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -72,4 +79,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
     filterChain.doFilter(request, response);
   }
+
+  private boolean hasCurrentSecurityVersion(User principal) {
+    return Objects.equals(principal.getSecurityVersion(),
+        userService.getSecurityVersion(principal.getId()));
+  }
 }
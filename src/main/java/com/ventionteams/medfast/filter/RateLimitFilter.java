@@ -0,0 +1,218 @@
+package com.ventionteams.medfast.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ventionteams.medfast.config.properties.RateLimitConfig;
+import com.ventionteams.medfast.config.properties.RateLimitConfig.Endpoint;
+import com.ventionteams.medfast.config.properties.RateLimitConfig.Limit;
+import com.ventionteams.medfast.exception.auth.RequestBodyTooLargeException;
+import com.ventionteams.medfast.exception.auth.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rate limiting filter of the public authentication endpoints. Every configured endpoint has a
+ * token bucket per client IP and optionally per email, the email is taken from the email
+ * parameter or the JSON body. A JSON body is read whatever length it declares, a body over
+ * MAX_BODY_BYTES is rejected, so a chunked body can not bypass the email limit. The buckets live
+ * in a size-bounded cache, a bucket idle for a whole period is full again, so evicting it loses
+ * nothing.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final int MAX_BODY_BYTES = 16 * 1024;
+
+  private final RateLimitConfig config;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+  private final LongSupplier nanoTime;
+  private final Map<String, Endpoint> endpoints;
+  private final Cache<String, TokenBucket> buckets;
+
+  /**
+   * Creates the filter for the configured endpoints.
+   */
+  @Autowired
+  public RateLimitFilter(RateLimitConfig config, ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this(config, objectMapper, meterRegistry, System::nanoTime);
+  }
+
+  RateLimitFilter(RateLimitConfig config, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+      LongSupplier nanoTime) {
+    this.config = config;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+    this.nanoTime = nanoTime;
+    this.endpoints = config.endpoints().stream()
+        .collect(Collectors.toUnmodifiableMap(Endpoint::path, Function.identity()));
+    Duration longestPeriod = config.endpoints().stream()
+        .flatMap(endpoint -> Stream.of(endpoint.perIp(), endpoint.perEmail()))
+        .filter(Objects::nonNull)
+        .map(Limit::period)
+        .max(Duration::compareTo)
+        .orElse(Duration.ofMinutes(1));
+    this.buckets = Caffeine.newBuilder()
+        .maximumSize(config.maxBuckets())
+        .expireAfterAccess(longestPeriod)
+        .build();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    return !config.enabled() || !endpoints.containsKey(request.getServletPath());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain
+  ) throws ServletException, IOException {
+
+    Endpoint endpoint = endpoints.get(request.getServletPath());
+    acquire(endpoint, "ip", request.getRemoteAddr(), endpoint.perIp());
+
+    HttpServletRequest limitedRequest = request;
+    if (endpoint.perEmail() != null) {
+      String email = request.getParameter("email");
+      if (email == null && isJson(request)) {
+        CachedBodyRequest cachedBodyRequest = new CachedBodyRequest(request, endpoint);
+        limitedRequest = cachedBodyRequest;
+        email = readEmail(cachedBodyRequest.body);
+      }
+      if (email != null) {
+        acquire(endpoint, "email", email.trim().toLowerCase(Locale.ROOT), endpoint.perEmail());
+      }
+    }
+
+    filterChain.doFilter(limitedRequest, response);
+  }
+
+  private void acquire(Endpoint endpoint, String keyType, String key, Limit limit) {
+    long now = nanoTime.getAsLong();
+    TokenBucket bucket = buckets.get(endpoint.path() + '|' + keyType + '|' + key,
+        ignored -> new TokenBucket(limit.capacity(), limit.period(), now));
+    long wait = bucket.tryAcquire(now);
+    if (wait > 0) {
+      Counter.builder("auth.rate.limit.rejected")
+          .description("Requests rejected by the authentication rate limit")
+          .tag("endpoint", endpoint.path())
+          .tag("key", keyType)
+          .register(meterRegistry)
+          .increment();
+      long retryAfter = Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1)
+          / TimeUnit.SECONDS.toNanos(1));
+      throw new TooManyRequestsException(endpoint.path(), retryAfter);
+    }
+  }
+
+  private boolean isJson(HttpServletRequest request) {
+    return request.getContentType() != null
+        && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(
+            request.getContentType()));
+  }
+
+  private String readEmail(byte[] body) {
+    try {
+      JsonNode email = objectMapper.readTree(body).get("email");
+      return email != null && email.isTextual() ? email.asText() : null;
+    } catch (IOException e) {
+      // DEVNOTE: A malformed body is rejected by the controller, it is limited per IP only
+      return null;
+    }
+  }
+
+  /**
+   * Request whose body was read upfront, so it can be read again by the controller. At most
+   * MAX_BODY_BYTES are read, whether the length is declared or the body is chunked.
+   */
+  private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    private CachedBodyRequest(HttpServletRequest request, Endpoint endpoint) throws IOException {
+      super(request);
+      if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+        throw new RequestBodyTooLargeException(endpoint.path(), MAX_BODY_BYTES);
+      }
+      this.body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+      if (body.length > MAX_BODY_BYTES) {
+        throw new RequestBodyTooLargeException(endpoint.path(), MAX_BODY_BYTES);
+      }
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream input = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return input.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        // DEVNOTE: The whole body is in memory, so it is available and read at once
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          try {
+            if (!isFinished()) {
+              readListener.onDataAvailable();
+            }
+            readListener.onAllDataRead();
+          } catch (IOException | RuntimeException e) {
+            readListener.onError(e);
+          }
+        }
+
+        @Override
+        public int read() {
+          return input.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+          return input.read(buffer, offset, length);
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.ventionteams.medfast.filter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single theoretical arrival time, the generic cell rate
+ * algorithm form of a bucket. A request takes one token, the tokens refill evenly over the
+ * period up to the capacity.
+ */
+final class TokenBucket {
+
+  private final long emissionInterval;
+  private final long burstWindow;
+  private final AtomicLong theoreticalArrival;
+
+  TokenBucket(long capacity, Duration period, long now) {
+    this.emissionInterval = Math.max(1, period.toNanos() / capacity);
+    this.burstWindow = emissionInterval * capacity;
+    this.theoreticalArrival = new AtomicLong(now);
+  }
+
+  /**
+   * Takes a token, returns 0 on success or the nanoseconds until the next token is available.
+   */
+  long tryAcquire(long now) {
+    while (true) {
+      long arrival = theoreticalArrival.get();
+      // DEVNOTE: Compares by difference, nanoTime values may overflow
+      long next = (arrival - now > 0 ? arrival : now) + emissionInterval;
+      long wait = next - now - burstWindow;
+      if (wait > 0) {
+        return wait;
+      }
+      if (theoreticalArrival.compareAndSet(arrival, next)) {
+        return 0;
+      }
+    }
+  }
+}
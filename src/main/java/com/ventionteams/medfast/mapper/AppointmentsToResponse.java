@@ -1,45 +1,39 @@
 package com.ventionteams.medfast.mapper;
 
 import com.ventionteams.medfast.dto.response.AppointmentResponse;
-import com.ventionteams.medfast.entity.ConsultationAppointment;
+import com.ventionteams.medfast.repository.projection.AppointmentListingView;
 import java.util.List;
-import java.util.Optional;
-import java.util.function.Function;
 import org.springframework.stereotype.Component;
 
 /**
- * Mapper that converts a list of consultation appointments to a list of appointment responses.
+ * Mapper that converts the listing projections of consultation appointments to appointment
+ * responses.
  */
 @Component
-public class AppointmentsToResponse implements Function<List<ConsultationAppointment>,
-    List<AppointmentResponse>> {
+public class AppointmentsToResponse {
 
-  @Override
-  public List<AppointmentResponse> apply(List<ConsultationAppointment> consultationAppointments) {
-    return consultationAppointments.stream()
-        .map(appointment -> {
-          String locationString = Optional.ofNullable(appointment.getLocation())
-              .map(location -> location.getHospitalName().concat(", ")
-                  .concat(location.getHouse())
-                  .concat(" ")
-                  .concat(location.getStreetAddress()))
-              .orElse("");
-
-          return AppointmentResponse.builder()
-              .id(appointment.getId())
-              .doctorsId(appointment.getDoctor().getId())
-              .doctorsSpecialization(appointment.getDoctor().getSpecializations()
-                  .get(0).getSpecialization())
-              .doctorsName(appointment.getDoctor().getName().concat(" ").concat(
-                  appointment.getDoctor().getSurname()
-              ))
-              .dateFrom(appointment.getDateFrom().toString())
-              .dateTo(appointment.getDateTo().toString())
-              .location(locationString)
-              .status(appointment.getStatus().toString())
-              .type(appointment.getType())
-              .build();
-        })
+  /**
+   * Converts the listing projections of consultation appointments to appointment responses.
+   */
+  public List<AppointmentResponse> fromViews(List<AppointmentListingView> views) {
+    return views.stream()
+        .map(view -> AppointmentResponse.builder()
+            .id(view.id())
+            .doctorsId(view.doctorId())
+            .doctorsSpecialization(view.specialization())
+            .doctorsName(view.doctorName().concat(" ").concat(view.doctorSurname()))
+            .dateFrom(view.dateFrom().toString())
+            .dateTo(view.dateTo().toString())
+            .location(view.hospitalName() != null
+                ? location(view.hospitalName(), view.house(), view.streetAddress())
+                : "")
+            .status(view.status().toString())
+            .type(view.type())
+            .build())
         .toList();
   }
+
+  private static String location(String hospitalName, String house, String streetAddress) {
+    return hospitalName.concat(", ").concat(house).concat(" ").concat(streetAddress);
+  }
 }
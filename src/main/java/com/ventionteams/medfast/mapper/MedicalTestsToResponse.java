@@ -2,26 +2,15 @@ package com.ventionteams.medfast.mapper;
 
 import com.ventionteams.medfast.dto.response.MedicalTestAppointmentResponse;
 import com.ventionteams.medfast.entity.MedicalTestAppointment;
+import com.ventionteams.medfast.repository.projection.MedicalTestListingView;
 import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 /**
- * Mapper that converts a list of medical tests to a list of medical test responses.
+ * Mapper that converts medical tests and their listing projections to medical test responses.
  */
 @Component
-public class MedicalTestsToResponse implements Function<List<MedicalTestAppointment>,
-    List<MedicalTestAppointmentResponse>> {
-
-  @Override
-  public List<MedicalTestAppointmentResponse> apply(
-      List<MedicalTestAppointment> medicalTestAppointments) {
-
-    return medicalTestAppointments.stream()
-      .map(this::testAppointmentToResponse)
-      .collect(Collectors.toList());
-  }
+public class MedicalTestsToResponse {
 
   /**
    * Converts a medical test to a medical test response.
@@ -35,7 +24,7 @@ public class MedicalTestsToResponse implements Function<List<MedicalTestAppointm
             .testName(medicalTestAppointment.getTestName())
             .dateOfTest(medicalTestAppointment.getDateOfTest())
             .testCategory(medicalTestAppointment.getTestCategory());
-    builder.hasPdfResult(medicalTestAppointment.getPdf() != null);
+    builder.hasPdfResult(medicalTestAppointment.isHasPdfResult());
 
     if (medicalTestAppointment.getDoctor() != null) {
       builder.doctorsId(medicalTestAppointment.getDoctor().getId())
@@ -44,4 +33,26 @@ public class MedicalTestsToResponse implements Function<List<MedicalTestAppointm
     }
     return builder.build();
   }
+
+  /**
+   * Converts the listing projections of medical tests to medical test responses.
+   */
+  public List<MedicalTestAppointmentResponse> fromViews(List<MedicalTestListingView> views) {
+    return views.stream()
+        .map(view -> {
+          MedicalTestAppointmentResponse.MedicalTestAppointmentResponseBuilder builder =
+              MedicalTestAppointmentResponse.builder()
+                  .id(view.id())
+                  .testName(view.testName())
+                  .dateOfTest(view.dateOfTest())
+                  .testCategory(view.testCategory())
+                  .hasPdfResult(view.hasPdfResult());
+          if (view.doctorId() != null) {
+            builder.doctorsId(view.doctorId())
+                .doctorsName(view.doctorName().concat(" ").concat(view.doctorSurname()));
+          }
+          return builder.build();
+        })
+        .toList();
+  }
 }
@@ -3,9 +3,12 @@ package com.ventionteams.medfast.pdf;
 import com.ventionteams.medfast.entity.MedicalTestAppointment;
 import com.ventionteams.medfast.pdf.base.BasePdfService;
 import com.ventionteams.medfast.repository.MedicalTestAppointmentRepository;
+import com.ventionteams.medfast.repository.TestResultRepository;
+import com.ventionteams.medfast.storage.ResultBlobStore;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
 /**
@@ -15,6 +18,8 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class TestAppointmentPdfGenerator extends BasePdfService {
   private final MedicalTestAppointmentRepository medicalTestAppointmentRepository;
+  private final TestResultRepository testResultRepository;
+  private final ResultBlobStore resultBlobStore;
 
   /**
    * Generates and saves a test result pdf for given test appointment.
@@ -49,11 +54,22 @@ public class TestAppointmentPdfGenerator extends BasePdfService {
         {"Uric Acid", getRandomValue(3.0, 7.5), "mg/dL", "3.0 - 7.5"}
     };
 
-    byte[] pdf = generatePdf(testInfo, "Medical Test Result", PDRectangle.A4);
-    pdf = addTableToPdf(headers, content, 500, pdf);
-    pdf = addDoctorSignatureToPdf(pdf, 200);
-    medicalTestAppointment.setPdf(pdf);
-    medicalTestAppointmentRepository.setPdfById(pdf, medicalTestAppointment.getId());
+    byte[] pdf;
+    try (DocumentBuilder document = document(PDRectangle.A4)) {
+      pdf = document.header("Medical Test Result")
+          .info(testInfo)
+          .table(headers, content, 500)
+          .signature(200)
+          .toByteArray();
+    }
+    // DEVNOTE: The result is recorded first and only the run that recorded it writes the blob,
+    //  a failed write rolls the record back, so a lost race never leaves a file behind
+    if (testResultRepository.insertIfAbsent(medicalTestAppointment.getId(),
+        ResultBlobStore.digest(pdf), pdf.length, MediaType.APPLICATION_PDF_VALUE) == 1) {
+      resultBlobStore.put(pdf, MediaType.APPLICATION_PDF_VALUE);
+      medicalTestAppointment.setHasPdfResult(true);
+      medicalTestAppointmentRepository.markPdfResultById(medicalTestAppointment.getId());
+    }
   }
 
 
@@ -2,7 +2,11 @@ package com.ventionteams.medfast.pdf.base;
 
 import com.ventionteams.medfast.exception.medicaltest.PdfGenerationException;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Objects;
 import java.util.Random;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -17,49 +21,23 @@ import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
  */
 public class BasePdfService implements PdfService {
 
+  private static final byte[] LOGO_IMAGE = readImage("/templates/logos/logo.png");
+  private static final byte[] SIGNATURE_IMAGE = readImage("/templates/logos/signature.png");
+
+  /**
+   * Starts a single page document of the given size. The sections are drawn into the one open
+   * document, which is saved once when it is written out.
+   */
+  public DocumentBuilder document(PDRectangle pageSize) {
+    return new DocumentBuilder(pageSize);
+  }
+
   /**
    * Generates basic pdf with information and logo.
    */
   public byte[] generatePdf(String[] pdfInfo, String title, PDRectangle pageSize) {
-
-    try (PDDocument document = new PDDocument()) {
-      PDPage page = new PDPage(pageSize);
-      document.addPage(page);
-      try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-        String logoImagePath = Objects.requireNonNull(
-            getClass().getResource("/templates/logos/logo.png")).getPath();
-        PDImageXObject logoImage = PDImageXObject.createFromFile(logoImagePath, document);
-        float logoWidth = 150;
-        float logoHeight = 50;
-        float marginTop = 50;
-        float marginRight = 100;
-        float logoX = page.getMediaBox().getWidth() - marginRight - logoWidth;
-        float logoY = page.getMediaBox().getHeight() - marginTop - logoHeight;
-        contentStream.drawImage(logoImage, logoX, logoY, logoWidth, logoHeight);
-
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 20);
-        float titleX = 100;
-        float titleY = logoY - logoHeight / 2;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(titleX, titleY);
-        contentStream.showText(title);
-        contentStream.endText();
-
-        int yaxisOffset = 700;
-        contentStream.setFont(PDType1Font.HELVETICA, 12);
-        for (String info : pdfInfo) {
-          drawText(contentStream, info, 100, yaxisOffset);
-          yaxisOffset -= 20;
-        }
-        contentStream.close();
-
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        document.save(byteArrayOutputStream);
-        return byteArrayOutputStream.toByteArray();
-      }
-
-    } catch (IOException e) {
-      throw new PdfGenerationException("Failed to write content to PDF");
+    try (DocumentBuilder document = document(pageSize)) {
+      return document.header(title).info(pdfInfo).toByteArray();
     }
   }
 
@@ -71,57 +49,12 @@ public class BasePdfService implements PdfService {
       PDPage page = document.getPage(0);
       try (PDPageContentStream contentStream =
           new PDPageContentStream(document, page, PDPageContentStream.AppendMode.APPEND, true)) {
-        float margin = 100;
-        float tableWidth = 110 * headers.length;
-        float yaxisPosition = yaxisStart;
-        float rowHeight = 20f;
-        float cellMargin = 10f;
-        float yaxisMargin = 5f;
-
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        for (int i = 0; i < headers.length; i++) {
-          drawText(contentStream, headers[i],
-              margin + i * (tableWidth / headers.length) + cellMargin,
-              yaxisPosition + yaxisMargin);
-        }
-        yaxisPosition -= rowHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 12);
-        for (String[] row : content) {
-          for (int i = 0; i < row.length; i++) {
-            drawText(contentStream, row[i],
-                margin + i * (tableWidth / headers.length) + cellMargin,
-                yaxisPosition + yaxisMargin);
-          }
-          yaxisPosition -= rowHeight;
-        }
-
-        contentStream.setLineWidth(1f);
-        yaxisPosition = yaxisStart;
-        for (int i = 0; i <= content.length; i++) {
-          contentStream.moveTo(margin, yaxisPosition);
-          contentStream.lineTo(margin + tableWidth, yaxisPosition);
-          contentStream.stroke();
-          yaxisPosition -= rowHeight;
-        }
-        float nextX = margin;
-        for (int i = 0; i <= headers.length; i++) {
-          contentStream.moveTo(nextX, yaxisStart);
-          contentStream.lineTo(nextX, yaxisPosition + rowHeight);
-          contentStream.stroke();
-          nextX += tableWidth / headers.length;
-        }
-        contentStream.close();
-
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        document.save(byteArrayOutputStream);
-        return byteArrayOutputStream.toByteArray();
+        drawTable(contentStream, headers, content, yaxisStart);
       }
-
+      return save(document);
     } catch (IOException e) {
       throw new PdfGenerationException("Failed to write content to PDF");
     }
-
   }
 
   /**
@@ -132,21 +65,12 @@ public class BasePdfService implements PdfService {
       PDPage page = document.getPage(0);
       try (PDPageContentStream contentStream = new PDPageContentStream(document, page,
           PDPageContentStream.AppendMode.APPEND, true)) {
-        String signatureImagePath = Objects.requireNonNull(
-            getClass().getResource("/templates/logos/signature.png")).getPath();
-        contentStream.setFont(PDType1Font.HELVETICA, 12);
-        drawText(contentStream, "Doctor's Signature:", 100, yaxisStart - 40);
-        PDImageXObject pdImage = PDImageXObject.createFromFile(signatureImagePath, document);
-        contentStream.drawImage(pdImage, 50, yaxisStart - 120, 200, 50);
-        contentStream.close();
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        document.save(byteArrayOutputStream);
-        return byteArrayOutputStream.toByteArray();
+        drawSignature(document, contentStream, yaxisStart);
       }
+      return save(document);
     } catch (IOException e) {
       throw new PdfGenerationException("Failed to write content to PDF");
     }
-
   }
 
   public String getRandomValue(double min, double max) {
@@ -169,4 +93,203 @@ public class BasePdfService implements PdfService {
     contentStream.showText(text);
     contentStream.endText();
   }
+
+  private void drawHeader(PDDocument document, PDPage page, PDPageContentStream contentStream,
+      String title) throws IOException {
+    PDImageXObject logoImage = PDImageXObject.createFromByteArray(document, LOGO_IMAGE, "logo");
+    float logoWidth = 150;
+    float logoHeight = 50;
+    float marginTop = 50;
+    float marginRight = 100;
+    float logoX = page.getMediaBox().getWidth() - marginRight - logoWidth;
+    float logoY = page.getMediaBox().getHeight() - marginTop - logoHeight;
+    contentStream.drawImage(logoImage, logoX, logoY, logoWidth, logoHeight);
+
+    contentStream.setFont(PDType1Font.HELVETICA_BOLD, 20);
+    drawText(contentStream, title, 100, logoY - logoHeight / 2);
+  }
+
+  private void drawInfo(PDPageContentStream contentStream, String[] pdfInfo) throws IOException {
+    int yaxisOffset = 700;
+    contentStream.setFont(PDType1Font.HELVETICA, 12);
+    for (String info : pdfInfo) {
+      drawText(contentStream, info, 100, yaxisOffset);
+      yaxisOffset -= 20;
+    }
+  }
+
+  private void drawTable(PDPageContentStream contentStream, String[] headers,
+      String[][] content, int yaxisStart) throws IOException {
+    float margin = 100;
+    float tableWidth = 110 * headers.length;
+    float yaxisPosition = yaxisStart;
+    float rowHeight = 20f;
+    float cellMargin = 10f;
+    float yaxisMargin = 5f;
+
+    contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
+    for (int i = 0; i < headers.length; i++) {
+      drawText(contentStream, headers[i],
+          margin + i * (tableWidth / headers.length) + cellMargin,
+          yaxisPosition + yaxisMargin);
+    }
+    yaxisPosition -= rowHeight;
+
+    contentStream.setFont(PDType1Font.HELVETICA, 12);
+    for (String[] row : content) {
+      for (int i = 0; i < row.length; i++) {
+        drawText(contentStream, row[i],
+            margin + i * (tableWidth / headers.length) + cellMargin,
+            yaxisPosition + yaxisMargin);
+      }
+      yaxisPosition -= rowHeight;
+    }
+
+    contentStream.setLineWidth(1f);
+    yaxisPosition = yaxisStart;
+    for (int i = 0; i <= content.length; i++) {
+      contentStream.moveTo(margin, yaxisPosition);
+      contentStream.lineTo(margin + tableWidth, yaxisPosition);
+      contentStream.stroke();
+      yaxisPosition -= rowHeight;
+    }
+    float nextX = margin;
+    for (int i = 0; i <= headers.length; i++) {
+      contentStream.moveTo(nextX, yaxisStart);
+      contentStream.lineTo(nextX, yaxisPosition + rowHeight);
+      contentStream.stroke();
+      nextX += tableWidth / headers.length;
+    }
+  }
+
+  private void drawSignature(PDDocument document, PDPageContentStream contentStream,
+      int yaxisStart) throws IOException {
+    contentStream.setFont(PDType1Font.HELVETICA, 12);
+    drawText(contentStream, "Doctor's Signature:", 100, yaxisStart - 40);
+    PDImageXObject signatureImage =
+        PDImageXObject.createFromByteArray(document, SIGNATURE_IMAGE, "signature");
+    contentStream.drawImage(signatureImage, 50, yaxisStart - 120, 200, 50);
+  }
+
+  private static byte[] save(PDDocument document) throws IOException {
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    document.save(byteArrayOutputStream);
+    return byteArrayOutputStream.toByteArray();
+  }
+
+  private static byte[] readImage(String path) {
+    try (InputStream image = Objects.requireNonNull(BasePdfService.class.getResourceAsStream(path),
+        () -> "Missing image " + path)) {
+      return image.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load image " + path, e);
+    }
+  }
+
+  /**
+   * Single page document the sections are drawn into through one content stream. The document
+   * is never parsed back and is saved once, when it is written out.
+   */
+  public final class DocumentBuilder implements Closeable {
+
+    private final PDDocument document;
+    private final PDPage page;
+    private final PDPageContentStream contentStream;
+    private boolean written;
+
+    private DocumentBuilder(PDRectangle pageSize) {
+      document = new PDDocument();
+      page = new PDPage(pageSize);
+      document.addPage(page);
+      try {
+        contentStream = new PDPageContentStream(document, page);
+      } catch (IOException e) {
+        close();
+        throw new PdfGenerationException("Failed to write content to PDF");
+      }
+    }
+
+    /**
+     * Draws the logo and the title.
+     */
+    public DocumentBuilder header(String title) {
+      return draw(() -> drawHeader(document, page, contentStream, title));
+    }
+
+    /**
+     * Draws the information lines below the header.
+     */
+    public DocumentBuilder info(String[] pdfInfo) {
+      return draw(() -> drawInfo(contentStream, pdfInfo));
+    }
+
+    /**
+     * Draws the table with the given headers and content starting at the given position.
+     */
+    public DocumentBuilder table(String[] headers, String[][] content, int yaxisStart) {
+      return draw(() -> drawTable(contentStream, headers, content, yaxisStart));
+    }
+
+    /**
+     * Draws the mock doctor's signature starting at the given position.
+     */
+    public DocumentBuilder signature(int yaxisStart) {
+      return draw(() -> drawSignature(document, contentStream, yaxisStart));
+    }
+
+    /**
+     * Saves the document to the given stream.
+     */
+    public void writeTo(OutputStream out) {
+      try {
+        written = true;
+        contentStream.close();
+        document.save(out);
+      } catch (IOException e) {
+        throw new PdfGenerationException("Failed to write content to PDF");
+      }
+    }
+
+    /**
+     * Saves the document to a byte array.
+     */
+    public byte[] toByteArray() {
+      ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+      writeTo(byteArrayOutputStream);
+      return byteArrayOutputStream.toByteArray();
+    }
+
+    @Override
+    public void close() {
+      try {
+        if (!written && contentStream != null) {
+          contentStream.close();
+        }
+        document.close();
+      } catch (IOException e) {
+        throw new PdfGenerationException("Failed to close PDF");
+      }
+    }
+
+    private DocumentBuilder draw(Section section) {
+      if (written) {
+        throw new IllegalStateException("The document is already written");
+      }
+      try {
+        section.draw();
+      } catch (IOException e) {
+        throw new PdfGenerationException("Failed to write content to PDF");
+      }
+      return this;
+    }
+  }
+
+  /**
+   * Section drawn into the open document.
+   */
+  @FunctionalInterface
+  private interface Section {
+
+    void draw() throws IOException;
+  }
 }
@@ -0,0 +1,25 @@
+package com.ventionteams.medfast.repository;
+
+import com.ventionteams.medfast.entity.AppointmentReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the appointment reminder entity.
+ */
+public interface AppointmentReminderRepository extends JpaRepository<AppointmentReminder, Long> {
+
+  /**
+   * Records the reminder unless it was already recorded, returns 1 when it was recorded now.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "INSERT INTO appointment_reminders (kind, appointment_id, recipient) "
+      + "VALUES (:kind, :appointmentId, :recipient) "
+      + "ON CONFLICT (kind, appointment_id) DO NOTHING", nativeQuery = true)
+  int insertIfAbsent(@Param("kind") String kind, @Param("appointmentId") Long appointmentId,
+      @Param("recipient") String recipient);
+}
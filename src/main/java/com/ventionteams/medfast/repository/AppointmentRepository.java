@@ -1,8 +1,15 @@
 package com.ventionteams.medfast.repository;
 
 import com.ventionteams.medfast.entity.ConsultationAppointment;
-import com.ventionteams.medfast.entity.Person;
+import com.ventionteams.medfast.enums.AppointmentStatus;
+import com.ventionteams.medfast.enums.ReminderKind;
+import com.ventionteams.medfast.repository.projection.AppointmentListingView;
+import com.ventionteams.medfast.repository.projection.ConsultationReminderView;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,9 +19,61 @@ import org.springframework.data.repository.query.Param;
  */
 public interface AppointmentRepository extends JpaRepository<ConsultationAppointment, Long> {
 
-  @Query("SELECT c FROM ConsultationAppointment c "
-      + "WHERE c.doctor = :person OR c.patient = :person "
-      + "ORDER BY c.dateFrom ASC")
-  List<ConsultationAppointment> findAllByPatientOrDoctorOrderByDateFromAsc(
-      @Param("person") Person person);
+  /**
+   * Finds the ids of the consultations of the person, as a doctor or a patient, after the given
+   * date and id in the ascending order. Each branch of the union is a range scan of its person
+   * index.
+   */
+  @Query(value = "SELECT id FROM ("
+      + "(SELECT id, date_from FROM consultation_appointments WHERE patient_id = :personId "
+      + "AND (date_from, id) > (:dateFrom, :id) ORDER BY date_from, id LIMIT :limit) "
+      + "UNION "
+      + "(SELECT id, date_from FROM consultation_appointments WHERE doctor_id = :personId "
+      + "AND (date_from, id) > (:dateFrom, :id) ORDER BY date_from, id LIMIT :limit)"
+      + ") page ORDER BY date_from, id LIMIT :limit", nativeQuery = true)
+  List<Long> findPageIdsAfter(@Param("personId") Long personId,
+      @Param("dateFrom") LocalDateTime dateFrom, @Param("id") Long id, @Param("limit") int limit);
+
+  /**
+   * Finds the ids of the consultations of the person, as a doctor or a patient, before the given
+   * date and id in the descending order. Each branch of the union is a range scan of its person
+   * index.
+   */
+  @Query(value = "SELECT id FROM ("
+      + "(SELECT id, date_from FROM consultation_appointments WHERE patient_id = :personId "
+      + "AND (date_from, id) < (:dateFrom, :id) ORDER BY date_from DESC, id DESC LIMIT :limit) "
+      + "UNION "
+      + "(SELECT id, date_from FROM consultation_appointments WHERE doctor_id = :personId "
+      + "AND (date_from, id) < (:dateFrom, :id) ORDER BY date_from DESC, id DESC LIMIT :limit)"
+      + ") page ORDER BY date_from DESC, id DESC LIMIT :limit", nativeQuery = true)
+  List<Long> findPageIdsBefore(@Param("personId") Long personId,
+      @Param("dateFrom") LocalDateTime dateFrom, @Param("id") Long id, @Param("limit") int limit);
+
+  /**
+   * Finds the consultations projected to the columns the appointment listing shows. The first
+   * specialization of the doctor is the one with the lowest id.
+   */
+  @Query("SELECT new com.ventionteams.medfast.repository.projection.AppointmentListingView("
+      + "c.id, d.id, d.name, d.surname, "
+      + "(SELECT s.specialization FROM Specialization s WHERE s.id = "
+      + "(SELECT MIN(ds.id) FROM Doctor sd JOIN sd.specializations ds WHERE sd.id = d.id)), "
+      + "c.dateFrom, c.dateTo, l.hospitalName, l.house, l.streetAddress, c.status, c.type) "
+      + "FROM ConsultationAppointment c JOIN c.doctor d LEFT JOIN c.location l "
+      + "WHERE c.id IN :ids")
+  List<AppointmentListingView> findListingByIdIn(@Param("ids") Collection<Long> ids, Sort sort);
+
+  /**
+   * Finds the next chunk of consultations starting in the given range that were not reminded of
+   * yet, ordered by id after the given id.
+   */
+  @Query("SELECT new com.ventionteams.medfast.repository.projection.ConsultationReminderView("
+      + "c.id, u.email, p.name, c.dateFrom, d.name, d.surname) "
+      + "FROM ConsultationAppointment c JOIN c.patient p JOIN p.user u JOIN c.doctor d "
+      + "WHERE c.dateFrom >= :from AND c.dateFrom < :to AND c.status IN :statuses "
+      + "AND c.id > :afterId AND NOT EXISTS (SELECT r.id FROM AppointmentReminder r "
+      + "WHERE r.kind = :kind AND r.appointmentId = c.id) "
+      + "ORDER BY c.id")
+  List<ConsultationReminderView> findConsultationsToRemind(@Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to, @Param("statuses") Collection<AppointmentStatus> statuses,
+      @Param("kind") ReminderKind kind, @Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,67 @@
+package com.ventionteams.medfast.repository;
+
+import com.ventionteams.medfast.entity.EmailOutbox;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the email outbox entity.
+ */
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+  /**
+   * Claims up to limit pending emails due at the given date, transactional emails first, by
+   * moving their next attempt to the end of the lease. Rows claimed by a concurrent worker are
+   * skipped, an email whose worker died is claimed again once its lease is over.
+   */
+  // DEVNOTE: Not @Modifying on purpose, the statement returns the claimed rows, which
+  //  @Modifying does not allow.
+  @Transactional
+  @Query(value = "UPDATE email_outbox SET next_attempt_at = :leaseUntil WHERE id IN "
+      + "(SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+      + "ORDER BY priority, next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING *",
+      nativeQuery = true)
+  List<EmailOutbox> claimDue(@Param("now") LocalDateTime now,
+      @Param("leaseUntil") LocalDateTime leaseUntil, @Param("limit") int limit);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE EmailOutbox e SET e.attempts = :attempts, "
+      + "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError WHERE e.id = :id")
+  void reschedule(@Param("id") Long id, @Param("attempts") int attempts,
+      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+
+  /**
+   * Moves the email to the dead letters. The content may hold one-time passwords and links, it
+   * is scrubbed and only the envelope and the error are kept.
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE EmailOutbox e "
+      + "SET e.status = com.ventionteams.medfast.enums.EmailStatus.DEAD, e.content = '', "
+      + "e.attempts = :attempts, e.lastError = :lastError, "
+      + "e.lastModifiedDate = LOCAL DATETIME WHERE e.id = :id")
+  void markDead(@Param("id") Long id, @Param("attempts") int attempts,
+      @Param("lastError") String lastError);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM EmailOutbox e WHERE e.id = :id")
+  void deleteDelivered(@Param("id") Long id);
+
+  /**
+   * Deletes up to limit dead letters that were dead lettered before the given date.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "DELETE FROM email_outbox WHERE id IN "
+      + "(SELECT id FROM email_outbox WHERE status = 'DEAD' AND last_modified_date < :before "
+      + "LIMIT :limit FOR UPDATE SKIP LOCKED)",
+      nativeQuery = true)
+  int deleteDeadBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
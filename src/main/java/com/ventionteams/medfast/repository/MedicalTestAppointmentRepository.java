@@ -1,9 +1,15 @@
 package com.ventionteams.medfast.repository;
 
 import com.ventionteams.medfast.entity.MedicalTestAppointment;
-import com.ventionteams.medfast.entity.User;
+import com.ventionteams.medfast.enums.ReminderKind;
+import com.ventionteams.medfast.repository.projection.MedicalTestListingView;
+import com.ventionteams.medfast.repository.projection.TestResultReminderView;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,12 +21,52 @@ import org.springframework.data.repository.query.Param;
 public interface MedicalTestAppointmentRepository
     extends JpaRepository<MedicalTestAppointment, Long> {
 
-  List<MedicalTestAppointment> findAllByPatientOrderByDateOfTestDesc(@Param("user") User user);
+  /**
+   * Finds the ids of the tests of the patient after the given date and id in the ascending order.
+   */
+  @Query("SELECT t.id FROM MedicalTestAppointment t WHERE t.patient.id = :patientId "
+      + "AND (t.dateOfTest, t.id) > (:dateOfTest, :id) ORDER BY t.dateOfTest, t.id")
+  List<Long> findPageIdsAfter(@Param("patientId") Long patientId,
+      @Param("dateOfTest") LocalDate dateOfTest, @Param("id") Long id, Pageable pageable);
+
+  /**
+   * Finds the ids of the tests of the patient before the given date and id in the descending
+   * order.
+   */
+  @Query("SELECT t.id FROM MedicalTestAppointment t WHERE t.patient.id = :patientId "
+      + "AND (t.dateOfTest, t.id) < (:dateOfTest, :id) ORDER BY t.dateOfTest DESC, t.id DESC")
+  List<Long> findPageIdsBefore(@Param("patientId") Long patientId,
+      @Param("dateOfTest") LocalDate dateOfTest, @Param("id") Long id, Pageable pageable);
+
+  /**
+   * Finds the tests projected to the columns the test listing shows.
+   */
+  @Query("SELECT new com.ventionteams.medfast.repository.projection.MedicalTestListingView("
+      + "t.id, t.testName, u.id, p.name, p.surname, t.testCategory, t.dateOfTest, "
+      + "t.hasPdfResult) "
+      + "FROM MedicalTestAppointment t LEFT JOIN t.doctor u LEFT JOIN u.person p "
+      + "WHERE t.id IN :ids")
+  List<MedicalTestListingView> findListingByIdIn(@Param("ids") Collection<Long> ids, Sort sort);
 
   @Modifying
-  @Query("UPDATE MedicalTestAppointment t SET t.pdf = :pdf WHERE t.id = :id")
-  void setPdfById(byte[] pdf, Long id);
+  @Query("UPDATE MedicalTestAppointment t SET t.hasPdfResult = true WHERE t.id = :id")
+  void markPdfResultById(@Param("id") Long id);
 
   @Query("SELECT t FROM MedicalTestAppointment t WHERE DATE(t.dateOfTest) = :date")
   List<MedicalTestAppointment> findTestAppointmentsByDate(@Param("date") LocalDate date);
+
+  /**
+   * Finds the next chunk of tests whose result was recorded since the given date and whose
+   * patient was not notified yet, ordered by id after the given id.
+   */
+  @Query("SELECT new com.ventionteams.medfast.repository.projection.TestResultReminderView("
+      + "t.id, u.email, p.name, t.testName, t.dateOfTest) "
+      + "FROM MedicalTestAppointment t JOIN TestResult tr ON tr.testAppointmentId = t.id "
+      + "JOIN t.patient u JOIN u.person p "
+      + "WHERE t.hasPdfResult = true AND tr.createdDate >= :since AND t.id > :afterId "
+      + "AND NOT EXISTS (SELECT r.id FROM AppointmentReminder r "
+      + "WHERE r.kind = :kind AND r.appointmentId = t.id) "
+      + "ORDER BY t.id")
+  List<TestResultReminderView> findTestResultsToNotify(@Param("since") LocalDateTime since,
+      @Param("kind") ReminderKind kind, @Param("afterId") Long afterId, Pageable pageable);
 }
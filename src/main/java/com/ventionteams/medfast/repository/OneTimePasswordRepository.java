@@ -1,8 +1,13 @@
 package com.ventionteams.medfast.repository;
 
 import com.ventionteams.medfast.entity.OneTimePassword;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository for the one-time password entity.
@@ -10,4 +15,16 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface OneTimePasswordRepository extends JpaRepository<OneTimePassword, Long> {
 
   Optional<OneTimePassword> findByUserEmailAndToken(String user, String otp);
+
+  /**
+   * Deletes up to limit rows created before the given date in a transaction of its own. Rows
+   * locked by a concurrent transaction are skipped.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "DELETE FROM one_time_passwords WHERE ctid IN "
+      + "(SELECT ctid FROM one_time_passwords WHERE created_date < :before "
+      + "LIMIT :limit FOR UPDATE SKIP LOCKED)",
+      nativeQuery = true)
+  int deleteCreatedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
 }
@@ -1,16 +1,75 @@
 package com.ventionteams.medfast.repository;
 
 import com.ventionteams.medfast.entity.RefreshToken;
-import com.ventionteams.medfast.entity.User;
+import com.ventionteams.medfast.repository.projection.SessionView;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository for the refresh token entity.
  */
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Integer> {
 
-  Optional<RefreshToken> findByToken(String token);
+  boolean existsByFamilyId(UUID familyId);
 
-  void deleteByUser(User user);
+  @Query("SELECT t.familyId FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+  Optional<UUID> findFamilyIdByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId")
+  int deleteByUserId(@Param("userId") Long userId);
+
+  @Query("SELECT new com.ventionteams.medfast.repository.projection.SessionView("
+      + "t.familyId, t.createdDate, t.lastModifiedDate) FROM RefreshToken t "
+      + "WHERE t.user.id = :userId AND t.createdDate > :since ORDER BY t.createdDate DESC")
+  List<SessionView> findSessions(@Param("userId") Long userId,
+      @Param("since") LocalDateTime since);
+
+  /**
+   * Deletes every session of the user except the newest ones.
+   */
+  @Modifying
+  @Query(value = "DELETE FROM refresh_tokens WHERE id IN (SELECT id FROM refresh_tokens "
+      + "WHERE user_id = :userId ORDER BY created_date DESC, id DESC OFFSET :keep)",
+      nativeQuery = true)
+  int deleteSessionsBeyond(@Param("userId") Long userId, @Param("keep") int keep);
+
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.familyId = :familyId")
+  void deleteByFamilyId(@Param("familyId") UUID familyId);
+
+  /**
+   * Replaces the token hash of the family with the rotated one, given the presented hash is the
+   * current one. The check and the rotation are a single statement, so a token is rotated at
+   * most once even under concurrent refreshes.
+   */
+  // DEVNOTE: Not @Modifying on purpose, the statement returns the rotated row, which
+  //  @Modifying does not allow. The update runs in the read-write transaction declared here
+  //  instead of the read-only one the repository methods default to.
+  @Transactional
+  @Query(value = "UPDATE refresh_tokens SET token_hash = :rotatedHash, "
+      + "last_modified_date = CURRENT_TIMESTAMP "
+      + "WHERE family_id = :familyId AND token_hash = :tokenHash RETURNING *",
+      nativeQuery = true)
+  Optional<RefreshToken> rotate(@Param("familyId") UUID familyId,
+      @Param("tokenHash") byte[] tokenHash, @Param("rotatedHash") byte[] rotatedHash);
+
+  /**
+   * Deletes up to limit rows created before the given date in a transaction of its own. Rows
+   * locked by a concurrent transaction are skipped.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "DELETE FROM refresh_tokens WHERE ctid IN "
+      + "(SELECT ctid FROM refresh_tokens WHERE created_date < :before "
+      + "LIMIT :limit FOR UPDATE SKIP LOCKED)",
+      nativeQuery = true)
+  int deleteCreatedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
 }
@@ -0,0 +1,37 @@
+package com.ventionteams.medfast.repository;
+
+import com.ventionteams.medfast.entity.RevokedToken;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for the revoked token entity.
+ */
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+  @Query("SELECT t.tokenId FROM RevokedToken t WHERE t.expiresAt > :now")
+  List<String> findActiveTokenIds(@Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query(value = "INSERT INTO revoked_tokens (token_id, expires_at) VALUES (:tokenId, :expiresAt) "
+      + "ON CONFLICT (token_id) DO NOTHING", nativeQuery = true)
+  void insertIfAbsent(@Param("tokenId") String tokenId,
+      @Param("expiresAt") LocalDateTime expiresAt);
+
+  /**
+   * Deletes up to limit rows that expired before the given date in a transaction of its own.
+   * Rows locked by a concurrent transaction are skipped.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "DELETE FROM revoked_tokens WHERE ctid IN "
+      + "(SELECT ctid FROM revoked_tokens WHERE expires_at < :before "
+      + "LIMIT :limit FOR UPDATE SKIP LOCKED)",
+      nativeQuery = true)
+  int deleteExpiredBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
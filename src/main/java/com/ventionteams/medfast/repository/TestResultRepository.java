@@ -0,0 +1,45 @@
+package com.ventionteams.medfast.repository;
+
+import com.ventionteams.medfast.entity.TestResult;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository for the test result entity.
+ */
+public interface TestResultRepository extends JpaRepository<TestResult, Long> {
+
+  /**
+   * Records the stored result unless the test already has one, returns 1 when it was recorded
+   * now.
+   */
+  @Modifying
+  @Query(value = "INSERT INTO test_results (test_appointment_id, digest, size, content_type) "
+      + "VALUES (:testAppointmentId, :digest, :size, :contentType) "
+      + "ON CONFLICT (test_appointment_id) DO NOTHING", nativeQuery = true)
+  int insertIfAbsent(@Param("testAppointmentId") Long testAppointmentId,
+      @Param("digest") String digest, @Param("size") long size,
+      @Param("contentType") String contentType);
+
+  /**
+   * Finds the next batch of ids of the results still stored inline, ordered after the given id.
+   */
+  @Query("SELECT r.testAppointmentId FROM TestResult r "
+      + "WHERE r.digest IS NULL AND r.testAppointmentId > :afterId "
+      + "ORDER BY r.testAppointmentId")
+  List<Long> findInlineIds(@Param("afterId") Long afterId, Pageable pageable);
+
+  /**
+   * Points the inline result to its blob in the result store and drops the inline copy.
+   */
+  @Modifying
+  @Query("UPDATE TestResult r SET r.digest = :digest, r.size = :size, "
+      + "r.contentType = :contentType, r.pdf = NULL "
+      + "WHERE r.testAppointmentId = :id AND r.digest IS NULL")
+  int moveToStore(@Param("id") Long id, @Param("digest") String digest, @Param("size") long size,
+      @Param("contentType") String contentType);
+}
@@ -1,8 +1,12 @@
 package com.ventionteams.medfast.repository;
 
 import com.ventionteams.medfast.entity.User;
+import com.ventionteams.medfast.repository.projection.TokenEpoch;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository for the User entity.
@@ -12,4 +16,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByEmail(String email);
 
   boolean existsByEmail(String email);
+
+  @Query("SELECT u.securityVersion FROM User u WHERE u.id = :id")
+  Optional<Long> findSecurityVersionById(@Param("id") Long id);
+
+  @Query("SELECT new com.ventionteams.medfast.repository.projection.TokenEpoch("
+      + "u.id, u.tokensNotBefore) FROM User u WHERE u.tokensNotBefore > :since")
+  List<TokenEpoch> findTokenEpochsAfter(@Param("since") Long since);
 }
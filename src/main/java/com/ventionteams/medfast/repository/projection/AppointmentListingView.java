@@ -0,0 +1,24 @@
+package com.ventionteams.medfast.repository.projection;
+
+import com.ventionteams.medfast.enums.AppointmentStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a consultation with the columns the appointment listing shows.
+ */
+public record AppointmentListingView(
+    Long id,
+    Long doctorId,
+    String doctorName,
+    String doctorSurname,
+    String specialization,
+    LocalDateTime dateFrom,
+    LocalDateTime dateTo,
+    String hospitalName,
+    String house,
+    String streetAddress,
+    AppointmentStatus status,
+    String type
+) {
+
+}
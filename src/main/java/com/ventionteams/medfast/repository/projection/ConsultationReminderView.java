@@ -0,0 +1,17 @@
+package com.ventionteams.medfast.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an upcoming consultation with what its reminder needs.
+ */
+public record ConsultationReminderView(
+    Long appointmentId,
+    String email,
+    String patientName,
+    LocalDateTime dateFrom,
+    String doctorName,
+    String doctorSurname
+) {
+
+}
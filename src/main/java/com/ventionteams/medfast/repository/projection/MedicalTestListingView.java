@@ -0,0 +1,20 @@
+package com.ventionteams.medfast.repository.projection;
+
+import com.ventionteams.medfast.enums.MedicalTestCategory;
+import java.time.LocalDate;
+
+/**
+ * Projection of a medical test with the columns the test listing shows.
+ */
+public record MedicalTestListingView(
+    Long id,
+    String testName,
+    Long doctorId,
+    String doctorName,
+    String doctorSurname,
+    MedicalTestCategory testCategory,
+    LocalDate dateOfTest,
+    boolean hasPdfResult
+) {
+
+}
@@ -0,0 +1,11 @@
+package com.ventionteams.medfast.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh token family of a user, started by a sign in and last used by a refresh.
+ */
+public record SessionView(UUID familyId, LocalDateTime createdDate, LocalDateTime lastUsedDate) {
+
+}
@@ -0,0 +1,16 @@
+package com.ventionteams.medfast.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of a medical test with a ready result and what its notification needs.
+ */
+public record TestResultReminderView(
+    Long appointmentId,
+    String email,
+    String patientName,
+    String testName,
+    LocalDate dateOfTest
+) {
+
+}
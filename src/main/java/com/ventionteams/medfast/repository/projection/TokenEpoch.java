@@ -0,0 +1,8 @@
+package com.ventionteams.medfast.repository.projection;
+
+/**
+ * Epoch millisecond before which all access tokens of the user are not valid.
+ */
+public record TokenEpoch(Long userId, Long notBefore) {
+
+}
@@ -1,20 +1,22 @@
 package com.ventionteams.medfast.service;
 
 import com.ventionteams.medfast.dto.response.AppointmentResponse;
-import com.ventionteams.medfast.entity.ConsultationAppointment;
+import com.ventionteams.medfast.dto.response.CursorPage;
+import com.ventionteams.medfast.dto.response.CursorPage.Cursor;
 import com.ventionteams.medfast.entity.Person;
 import com.ventionteams.medfast.enums.AppointmentRequestType;
 import com.ventionteams.medfast.exception.appointment.NegativeAppointmentsAmountException;
 import com.ventionteams.medfast.mapper.AppointmentsToResponse;
 import com.ventionteams.medfast.repository.AppointmentRepository;
-import jakarta.transaction.Transactional;
+import com.ventionteams.medfast.repository.projection.AppointmentListingView;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service class for the appointment entity.
@@ -23,39 +25,61 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AppointmentService {
 
+  private static final Sort SOONEST_FIRST = Sort.by(Sort.Direction.ASC, "dateFrom", "id");
+  private static final Sort LATEST_FIRST = Sort.by(Sort.Direction.DESC, "dateFrom", "id");
+
   private final AppointmentRepository repository;
   private final AppointmentsToResponse appointmentsToResponse;
 
   /**
-   * Provides the appointments for the given person.
+   * Provides the page of appointments for the given person after the given cursor. Upcoming
+   * appointments are listed from the soonest, past ones from the latest.
    */
-  @Transactional
-  public List<AppointmentResponse> getAppointments(Optional<Person> person,
+  // DEVNOTE: A read-only transaction runs the session with the manual flush mode, so the listing
+  //  never dirty checks or flushes before its queries
+  @Transactional(readOnly = true)
+  public CursorPage<AppointmentResponse> getAppointments(Optional<Person> person,
       Optional<Integer> amount,
-      AppointmentRequestType type) {
+      AppointmentRequestType type,
+      Optional<String> cursor) {
 
     int appointmentAmount = amount.orElse(0);
     if (appointmentAmount < 0) {
       throw new NegativeAppointmentsAmountException(
           "If amount param presented then it must be positive or zero");
     }
-    return getFilteredAppointments(person, type, appointmentAmount);
+    return person
+        .map(p -> getAppointmentPage(p, type, appointmentAmount, cursor))
+        .orElseGet(() -> new CursorPage<>(new ArrayList<>(), null));
   }
 
-  private List<AppointmentResponse> getFilteredAppointments(Optional<Person> person,
-      AppointmentRequestType type, int amount) {
+  private CursorPage<AppointmentResponse> getAppointmentPage(Person person,
+      AppointmentRequestType type, int amount, Optional<String> cursor) {
 
-    LocalDateTime now = LocalDateTime.now();
-    return person
-        .map(p -> repository.findAllByPatientOrDoctorOrderByDateFromAsc(p).stream()
-            .filter(appointment -> switch (type) {
-              case PAST -> appointment.getDateFrom().isBefore(now);
-              case UPCOMING -> appointment.getDateFrom().isAfter(now);
-            })
-            .sorted(Comparator.comparing(ConsultationAppointment::getDateFrom))
-            .limit(amount > 0 ? amount : Long.MAX_VALUE)
-            .toList())
-        .map(appointmentsToResponse)
-        .orElseGet(ArrayList::new);
+    Cursor after = cursor.map(Cursor::decode).orElse(null);
+    // DEVNOTE: The first page starts at the current time, the id is past any id in that direction
+    LocalDateTime dateFrom = after != null
+        ? after.parseKey(LocalDateTime::parse)
+        : LocalDateTime.now();
+    long id = after != null ? after.id() : switch (type) {
+      case PAST -> 0;
+      case UPCOMING -> Long.MAX_VALUE;
+    };
+
+    int size = CursorPage.pageSize(amount);
+    int limit = CursorPage.fetchSize(size);
+    List<Long> ids = switch (type) {
+      case PAST -> repository.findPageIdsBefore(person.getId(), dateFrom, id, limit);
+      case UPCOMING -> repository.findPageIdsAfter(person.getId(), dateFrom, id, limit);
+    };
+    // DEVNOTE: The page is read by id straight into projections, so the listing takes two
+    //  statements and hydrates no entities however many rows it shows
+    List<AppointmentListingView> appointments = ids.isEmpty()
+        ? List.of()
+        : repository.findListingByIdIn(ids,
+            type == AppointmentRequestType.UPCOMING ? SOONEST_FIRST : LATEST_FIRST);
+    return CursorPage.of(appointments, size,
+        appointment -> new Cursor(appointment.dateFrom().toString(), appointment.id()),
+        appointmentsToResponse::fromViews);
   }
 }
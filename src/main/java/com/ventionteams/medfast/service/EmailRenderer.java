@@ -0,0 +1,110 @@
+package com.ventionteams.medfast.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetHeaders;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+/**
+ * Renders the email templates and builds the MIME messages. The templates are parsed once at
+ * startup and served from the template cache afterwards. The inline images are read and base64
+ * encoded once too, every message gets light body parts over the same encoded bytes, so they are
+ * written out without encoding them again.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class EmailRenderer {
+
+  static final String VERIFICATION_TEMPLATE = "verification";
+  static final String RESET_PASSWORD_TEMPLATE = "password_reset";
+  static final String CONSULTATION_REMINDER_TEMPLATE = "appointment_reminder";
+  static final String TEST_RESULT_READY_TEMPLATE = "test_result_ready";
+
+  private static final List<String> TEMPLATES = List.of(VERIFICATION_TEMPLATE,
+      RESET_PASSWORD_TEMPLATE, CONSULTATION_REMINDER_TEMPLATE, TEST_RESULT_READY_TEMPLATE);
+
+  private static final String LOGO_PATH = "templates/logos/logo.png";
+  private static final String WATERMARK_PATH = "templates/logos/watermark.png";
+
+  private final TemplateEngine templateEngine;
+
+  private List<InlineImage> inlineImages;
+
+  /**
+   * Loads the inline images and parses the templates into the template cache.
+   */
+  @PostConstruct
+  public void init() {
+    inlineImages = List.of(
+        InlineImage.load("logo", LOGO_PATH),
+        InlineImage.load("watermark", WATERMARK_PATH));
+    for (String template : TEMPLATES) {
+      templateEngine.process(template, new Context());
+    }
+    log.info("Prepared {} email templates and {} inline images", TEMPLATES.size(),
+        inlineImages.size());
+  }
+
+  /**
+   * Renders the template with the variables of the context.
+   */
+  public String render(String template, Context context) {
+    return templateEngine.process(template, context);
+  }
+
+  /**
+   * Fills the message with the rendered content and the inline images.
+   */
+  public void compose(MimeMessage message, String from, String recipient, String subject,
+      String content) throws MessagingException {
+    MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
+
+    helper.setSubject(subject);
+    helper.setFrom(from);
+    helper.setTo(recipient);
+    helper.setText(content, true);
+    for (InlineImage inlineImage : inlineImages) {
+      helper.getMimeMultipart().addBodyPart(inlineImage.toBodyPart());
+    }
+  }
+
+  /**
+   * Inline image with its base64 encoded content. The encoded bytes are shared and never
+   * modified, the body parts built over them are not, so each message gets its own.
+   */
+  private record InlineImage(String contentId, byte[] encoded) {
+
+    static InlineImage load(String contentId, String path) {
+      try {
+        byte[] bytes = new ClassPathResource(path).getContentAsByteArray();
+        return new InlineImage(contentId, Base64.getMimeEncoder().encode(bytes));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to load inline image " + path, e);
+      }
+    }
+
+    MimeBodyPart toBodyPart() throws MessagingException {
+      InternetHeaders headers = new InternetHeaders();
+      headers.setHeader("Content-Type", "image/png");
+      headers.setHeader("Content-Transfer-Encoding", "base64");
+      headers.setHeader("Content-ID", "<" + contentId + ">");
+      headers.setHeader("Content-Disposition", "inline");
+      // DEVNOTE: A part created from its raw content is written out as is, it is not re-encoded
+      return new MimeBodyPart(headers, encoded);
+    }
+  }
+}
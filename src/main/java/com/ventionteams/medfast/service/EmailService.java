@@ -1,79 +1,92 @@
 package com.ventionteams.medfast.service;
 
 import com.ventionteams.medfast.config.properties.SpringConfig;
+import com.ventionteams.medfast.entity.EmailOutbox;
 import com.ventionteams.medfast.entity.User;
+import com.ventionteams.medfast.enums.EmailStatus;
+import com.ventionteams.medfast.repository.EmailOutboxRepository;
 import com.ventionteams.medfast.service.auth.VerificationUrlService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
+import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.context.Context;
 
 /**
- * Email service responsible for sending emails to users.
+ * Email service responsible for sending emails to users. Emails are rendered and written to the
+ * outbox in the caller's transaction, the outbox workers deliver them once it commits.
  */
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-  private static final String LOGO_PATH = "templates/logos/logo.png";
-  private static final String WATERMARK_PATH = "templates/logos/watermark.png";
-
   private static final String VERIFICATION_EMAIL_SUBJECT = "Medfast: Complete Your Registration";
   private static final String RESET_PASSWORD_EMAIL_SUBJECT = "Medfast: Reset Your Password";
 
-  private static final String VERIFICATION_EMAIL_TEMPLATE = "verification";
-  private static final String RESET_PASSWORD_EMAIL_TEMPLATE = "password_reset";
-
   private final JavaMailSender emailSender;
-  private final TemplateEngine templateEngine;
+  private final EmailRenderer emailRenderer;
   private final VerificationUrlService verificationUrlService;
   private final SpringConfig springConfig;
+  private final EmailOutboxRepository emailOutboxRepository;
 
   /**
-   * Send a verification email to the user with a verification link.
+   * Queue a verification email to the user with a verification link.
    */
-  public void sendVerificationEmail(User user) throws MessagingException {
+  @Transactional
+  public void sendVerificationEmail(User user) {
     Context context = new Context();
     context.setVariable("userName", user.getPerson().getName());
     context.setVariable("verificationLink",
         verificationUrlService.generateVerificationUrl(user.getEmail()));
     context.setVariable("supportMailbox", springConfig.mail().username());
-    String content = templateEngine.process(VERIFICATION_EMAIL_TEMPLATE, context);
-    sendMimeMessage(VERIFICATION_EMAIL_SUBJECT, user.getEmail(), content);
+    String content = emailRenderer.render(EmailRenderer.VERIFICATION_TEMPLATE, context);
+    queue(VERIFICATION_EMAIL_SUBJECT, user.getEmail(), content,
+        EmailOutbox.PRIORITY_TRANSACTIONAL);
   }
 
   /**
-   * Send a reset password email to the user with a one time password.
+   * Queue a reset password email to the user with a one time password.
    */
-  public void sendResetPasswordEmail(User user, String token) throws MessagingException {
+  @Transactional
+  public void sendResetPasswordEmail(User user, String token) {
     Context context = new Context();
     context.setVariable("token", token);
     context.setVariable("supportMailbox", springConfig.mail().username());
-    String content = templateEngine.process(RESET_PASSWORD_EMAIL_TEMPLATE, context);
-    sendMimeMessage(RESET_PASSWORD_EMAIL_SUBJECT, user.getEmail(), content);
+    String content = emailRenderer.render(EmailRenderer.RESET_PASSWORD_TEMPLATE, context);
+    queue(RESET_PASSWORD_EMAIL_SUBJECT, user.getEmail(), content,
+        EmailOutbox.PRIORITY_TRANSACTIONAL);
   }
 
-  private void sendMimeMessage(String subject, String recipient, String content)
-      throws MessagingException {
+  /**
+   * Send a queued email over SMTP.
+   */
+  public void deliver(EmailOutbox email) throws MessagingException {
     MimeMessage message = emailSender.createMimeMessage();
-    MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
-
-    helper.setSubject(subject);
-    helper.setFrom(springConfig.mail().username());
-    helper.setTo(recipient);
-    helper.setText(content, true);
-    helper.addInline("logo", new ClassPathResource(LOGO_PATH));
-    helper.addInline("watermark", new ClassPathResource(WATERMARK_PATH));
+    emailRenderer.compose(message, springConfig.mail().username(), email.getRecipient(),
+        email.getSubject(), email.getContent());
 
     emailSender.send(message);
-    log.info("Email sent to {}, with subject and data: {}, {}", recipient, subject, content);
+    log.info("Email sent to {}, with subject {}", email.getRecipient(), email.getSubject());
+  }
+
+  /**
+   * Queue an email rendered by the caller with the given priority.
+   */
+  @Transactional
+  public void queue(String subject, String recipient, String content, int priority) {
+    EmailOutbox email = new EmailOutbox();
+    email.setSubject(subject);
+    email.setRecipient(recipient);
+    email.setContent(content);
+    email.setStatus(EmailStatus.PENDING);
+    email.setPriority(priority);
+    email.setNextAttemptAt(LocalDateTime.now());
+    emailOutboxRepository.save(email);
+    log.debug("Email to {} with subject {} queued for delivery", recipient, subject);
   }
 }
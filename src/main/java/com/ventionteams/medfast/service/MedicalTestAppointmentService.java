@@ -1,8 +1,11 @@
 package com.ventionteams.medfast.service;
 
 import com.ventionteams.medfast.dto.request.CreateMedicalTestAppointmentRequest;
+import com.ventionteams.medfast.dto.response.CursorPage;
+import com.ventionteams.medfast.dto.response.CursorPage.Cursor;
 import com.ventionteams.medfast.dto.response.MedicalTestAppointmentResponse;
 import com.ventionteams.medfast.entity.MedicalTestAppointment;
+import com.ventionteams.medfast.entity.TestResult;
 import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.enums.AppointmentRequestType;
 import com.ventionteams.medfast.enums.Role;
@@ -11,12 +14,20 @@ import com.ventionteams.medfast.exception.medicaltest.InvalidMedicalTestDataExce
 import com.ventionteams.medfast.mapper.MedicalTestsToResponse;
 import com.ventionteams.medfast.pdf.TestAppointmentPdfGenerator;
 import com.ventionteams.medfast.repository.MedicalTestAppointmentRepository;
+import com.ventionteams.medfast.repository.TestResultRepository;
+import com.ventionteams.medfast.repository.projection.MedicalTestListingView;
+import com.ventionteams.medfast.storage.BlobContent;
+import com.ventionteams.medfast.storage.ResultBlobStore;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,7 +38,12 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class MedicalTestAppointmentService {
+  private static final Sort SOONEST_FIRST = Sort.by(Sort.Direction.ASC, "dateOfTest", "id");
+  private static final Sort LATEST_FIRST = Sort.by(Sort.Direction.DESC, "dateOfTest", "id");
+
   private final MedicalTestAppointmentRepository medicalTestAppointmentRepository;
+  private final TestResultRepository testResultRepository;
+  private final ResultBlobStore resultBlobStore;
   private final UserService userService;
   private final MedicalTestsToResponse medicalTestsToResponse;
   private final TestAppointmentPdfGenerator testAppointmentPdfGenerator;
@@ -54,7 +70,6 @@ public class MedicalTestAppointmentService {
     User patient = userService.getUserByEmailAndRole(request.getPatientEmail(), Role.PATIENT);
 
     MedicalTestAppointment medicalTestAppointment = MedicalTestAppointment.builder()
-            .pdf(null)
             .testName(request.getTestName())
             .patient(patient)
             .doctor(doctor)
@@ -70,33 +85,51 @@ public class MedicalTestAppointmentService {
   }
 
   /**
-   * Provides list of tests for given user.
+   * Provides the page of tests for given user after the given cursor. Upcoming tests are listed
+   * from the soonest, past ones from the latest.
    */
-  public List<MedicalTestAppointmentResponse> getMedicalTests(User user,
+  @Transactional(readOnly = true)
+  public CursorPage<MedicalTestAppointmentResponse> getMedicalTests(User user,
                                                     Optional<Integer> amount,
-                                                    AppointmentRequestType type) {
+                                                    AppointmentRequestType type,
+                                                    Optional<String> cursor) {
     int testAmount = amount.orElse(2);
     if (testAmount < 0) {
       throw new InvalidMedicalTestDataException("If amount param presented "
           + "then it must be positive or zero");
     }
-    return getFilteredTests(user, type, testAmount);
+    return getTestPage(user, type, testAmount, cursor);
   }
 
-  private List<MedicalTestAppointmentResponse> getFilteredTests(User user,
-                                                                AppointmentRequestType type,
-                                                                int amount) {
-    LocalDate now = LocalDate.now();
-    List<MedicalTestAppointment> filteredTests =
-        medicalTestAppointmentRepository.findAllByPatientOrderByDateOfTestDesc(user).stream()
-        .filter(test -> switch (type) {
-          case PAST -> test.getDateOfTest().isBefore(now);
-          case UPCOMING -> test.getDateOfTest().isAfter(now);
-        })
-        .limit(amount > 0 ? amount : Long.MAX_VALUE)
-        .collect(Collectors.toList());
-
-    return medicalTestsToResponse.apply(filteredTests);
+  private CursorPage<MedicalTestAppointmentResponse> getTestPage(User user,
+                                                                 AppointmentRequestType type,
+                                                                 int amount,
+                                                                 Optional<String> cursor) {
+    Cursor after = cursor.map(Cursor::decode).orElse(null);
+    // DEVNOTE: The first page starts at the current date, the id is past any id in that direction
+    LocalDate dateOfTest = after != null
+        ? after.parseKey(LocalDate::parse)
+        : LocalDate.now();
+    long id = after != null ? after.id() : switch (type) {
+      case PAST -> 0;
+      case UPCOMING -> Long.MAX_VALUE;
+    };
+
+    int size = CursorPage.pageSize(amount);
+    Pageable limit = PageRequest.ofSize(CursorPage.fetchSize(size));
+    List<Long> ids = switch (type) {
+      case PAST -> medicalTestAppointmentRepository.findPageIdsBefore(user.getId(), dateOfTest,
+          id, limit);
+      case UPCOMING -> medicalTestAppointmentRepository.findPageIdsAfter(user.getId(),
+          dateOfTest, id, limit);
+    };
+    List<MedicalTestListingView> tests = ids.isEmpty()
+        ? List.of()
+        : medicalTestAppointmentRepository.findListingByIdIn(ids,
+            type == AppointmentRequestType.UPCOMING ? SOONEST_FIRST : LATEST_FIRST);
+    return CursorPage.of(tests, size,
+        test -> new Cursor(test.dateOfTest().toString(), test.id()),
+        medicalTestsToResponse::fromViews);
   }
 
   /**
@@ -118,7 +151,7 @@ public class MedicalTestAppointmentService {
     if (testAppointment.getDateOfTest().isAfter(LocalDate.now())) {
       throw new InvalidMedicalTestDataException("Test appointment is not yet taken");
     }
-    if (testAppointment.getPdf() == null) {
+    if (!testAppointment.isHasPdfResult()) {
       testAppointmentPdfGenerator.generateAndSaveTestPdf(testAppointment);
     } else {
       throw new InvalidMedicalTestDataException("Test result already exists");
@@ -126,9 +159,9 @@ public class MedicalTestAppointmentService {
   }
 
   /**
-   * Provides test result PDF for given test.
+   * Provides test result PDF for given test with the digest of its content.
    */
-  public byte[] getTestResult(User user, Long testId) {
+  public BlobContent getTestResult(User user, Long testId) {
     MedicalTestAppointment medicalTestAppointment =
         medicalTestAppointmentRepository.findById(testId).orElseThrow(() ->
         new InvalidMedicalTestDataException("Test appointment not found"));
@@ -138,10 +171,16 @@ public class MedicalTestAppointmentService {
       throw new BadCredentialsForMedicalTest(
           "Only admin, doctor and patient who owns the test can access test results");
     }
-    if (medicalTestAppointment.getPdf() == null) {
-      throw new InvalidMedicalTestDataException("Test result not found");
+    TestResult testResult = testResultRepository.findById(testId).orElseThrow(() ->
+        new InvalidMedicalTestDataException("Test result not found"));
+    // DEVNOTE: Results stored before the result store keep the PDF inline until migrated
+    if (testResult.getDigest() == null) {
+      return new BlobContent(new ByteArrayResource(testResult.getPdf()),
+          ResultBlobStore.digest(testResult.getPdf()));
     }
-    return medicalTestAppointment.getPdf();
+    Resource blob = resultBlobStore.find(testResult.getDigest()).orElseThrow(() ->
+        new InvalidMedicalTestDataException("Test result not found"));
+    return new BlobContent(blob, testResult.getDigest());
   }
 
   /**
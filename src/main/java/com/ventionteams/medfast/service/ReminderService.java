@@ -0,0 +1,203 @@
+package com.ventionteams.medfast.service;
+
+import com.ventionteams.medfast.config.properties.ReminderConfig;
+import com.ventionteams.medfast.config.properties.SpringConfig;
+import com.ventionteams.medfast.entity.EmailOutbox;
+import com.ventionteams.medfast.enums.AppointmentStatus;
+import com.ventionteams.medfast.enums.ReminderKind;
+import com.ventionteams.medfast.repository.AppointmentReminderRepository;
+import com.ventionteams.medfast.repository.AppointmentRepository;
+import com.ventionteams.medfast.repository.MedicalTestAppointmentRepository;
+import com.ventionteams.medfast.repository.projection.ConsultationReminderView;
+import com.ventionteams.medfast.repository.projection.TestResultReminderView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.context.Context;
+
+/**
+ * Service responsible for the appointment notifications. The appointments are read in keyset
+ * paginated chunks, every chunk is rendered in parallel and queued to the email outbox with the
+ * bulk priority in a transaction of its own. Each queued notification is recorded in the same
+ * transaction, so a rerun, even one interrupted halfway, never notifies a patient twice.
+ */
+@Log4j2
+@Service
+public class ReminderService {
+
+  private static final List<AppointmentStatus> UPCOMING_STATUSES =
+      List.of(AppointmentStatus.SCHEDULED, AppointmentStatus.SCHEDULED_CONFIRMED);
+
+  private static final String CONSULTATION_REMINDER_SUBJECT =
+      "Medfast: Your Appointment Tomorrow";
+  private static final String TEST_RESULT_READY_SUBJECT = "Medfast: Your Test Result Is Ready";
+
+  private static final DateTimeFormatter DATE_FORMAT =
+      DateTimeFormatter.ofPattern("EEEE, d MMMM yyyy", Locale.ENGLISH);
+  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+  private final AppointmentRepository appointmentRepository;
+  private final MedicalTestAppointmentRepository medicalTestAppointmentRepository;
+  private final AppointmentReminderRepository appointmentReminderRepository;
+  private final EmailService emailService;
+  private final EmailRenderer emailRenderer;
+  private final SpringConfig springConfig;
+  private final ReminderConfig reminderConfig;
+  private final TransactionTemplate transactionTemplate;
+  private final MeterRegistry meterRegistry;
+  private final ExecutorService renderers;
+
+  /**
+   * Creates the service with a render pool of the configured size.
+   */
+  public ReminderService(AppointmentRepository appointmentRepository,
+      MedicalTestAppointmentRepository medicalTestAppointmentRepository,
+      AppointmentReminderRepository appointmentReminderRepository, EmailService emailService,
+      EmailRenderer emailRenderer, SpringConfig springConfig, ReminderConfig reminderConfig,
+      TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+    this.appointmentRepository = appointmentRepository;
+    this.medicalTestAppointmentRepository = medicalTestAppointmentRepository;
+    this.appointmentReminderRepository = appointmentReminderRepository;
+    this.emailService = emailService;
+    this.emailRenderer = emailRenderer;
+    this.springConfig = springConfig;
+    this.reminderConfig = reminderConfig;
+    this.transactionTemplate = transactionTemplate;
+    this.meterRegistry = meterRegistry;
+    this.renderers = Executors.newFixedThreadPool(reminderConfig.renderThreads(),
+        new CustomizableThreadFactory("reminder-render-"));
+  }
+
+  /**
+   * Reminds the patients of their consultations on the given day, returns the number of queued
+   * reminders.
+   */
+  public int remindOfConsultations(LocalDate day) {
+    LocalDateTime from = day.atStartOfDay();
+    LocalDateTime to = day.plusDays(1).atStartOfDay();
+    return inChunks(ReminderKind.CONSULTATION_UPCOMING,
+        afterId -> appointmentRepository.findConsultationsToRemind(from, to, UPCOMING_STATUSES,
+            ReminderKind.CONSULTATION_UPCOMING, afterId, chunk()),
+        ConsultationReminderView::appointmentId,
+        this::renderConsultationReminder);
+  }
+
+  /**
+   * Notifies the patients of the test results recorded within the lookback, returns the number
+   * of queued notifications.
+   */
+  public int notifyOfTestResults(LocalDate today) {
+    LocalDateTime since = today.minus(reminderConfig.resultsLookback()).atStartOfDay();
+    return inChunks(ReminderKind.TEST_RESULT_READY,
+        afterId -> medicalTestAppointmentRepository.findTestResultsToNotify(since,
+            ReminderKind.TEST_RESULT_READY, afterId, chunk()),
+        TestResultReminderView::appointmentId,
+        this::renderTestResultNotification);
+  }
+
+  private <T> int inChunks(ReminderKind kind, LongFunction<List<T>> nextChunk,
+      ToLongFunction<T> appointmentId, Function<T, Reminder> render) {
+    Timer.Sample run = Timer.start(meterRegistry);
+    int queued = 0;
+    long afterId = 0;
+    List<T> chunk;
+    do {
+      chunk = nextChunk.apply(afterId);
+      if (chunk.isEmpty()) {
+        break;
+      }
+      queued += queue(kind, renderAll(chunk, render));
+      afterId = appointmentId.applyAsLong(chunk.get(chunk.size() - 1));
+    } while (chunk.size() == reminderConfig.chunkSize());
+
+    run.stop(Timer.builder("reminders.run")
+        .description("Time spent selecting, rendering and queueing notifications")
+        .tag("kind", kind.name())
+        .register(meterRegistry));
+    Counter.builder("reminders.queued")
+        .description("Appointment notifications queued for delivery")
+        .tag("kind", kind.name())
+        .register(meterRegistry)
+        .increment(queued);
+    log.info("Queued {} notifications of kind {}", queued, kind);
+    return queued;
+  }
+
+  private <T> List<Reminder> renderAll(List<T> chunk, Function<T, Reminder> render) {
+    List<CompletableFuture<Reminder>> rendered = chunk.stream()
+        .map(view -> CompletableFuture.supplyAsync(() -> render.apply(view), renderers))
+        .toList();
+    return rendered.stream().map(CompletableFuture::join).toList();
+  }
+
+  private int queue(ReminderKind kind, List<Reminder> reminders) {
+    Integer queued = transactionTemplate.execute(status -> {
+      int inserted = 0;
+      for (Reminder reminder : reminders) {
+        // DEVNOTE: Only the run that records the reminder queues its email
+        if (appointmentReminderRepository.insertIfAbsent(kind.name(), reminder.appointmentId(),
+            reminder.recipient()) == 1) {
+          emailService.queue(reminder.subject(), reminder.recipient(), reminder.content(),
+              EmailOutbox.PRIORITY_BULK);
+          inserted++;
+        }
+      }
+      return inserted;
+    });
+    return queued != null ? queued : 0;
+  }
+
+  private Reminder renderConsultationReminder(ConsultationReminderView view) {
+    Context context = new Context();
+    context.setVariable("userName", view.patientName());
+    context.setVariable("doctorName", view.doctorName() + " " + view.doctorSurname());
+    context.setVariable("appointmentDate", DATE_FORMAT.format(view.dateFrom()));
+    context.setVariable("appointmentTime", TIME_FORMAT.format(view.dateFrom()));
+    context.setVariable("supportMailbox", springConfig.mail().username());
+    return new Reminder(view.appointmentId(), view.email(), CONSULTATION_REMINDER_SUBJECT,
+        emailRenderer.render(EmailRenderer.CONSULTATION_REMINDER_TEMPLATE, context));
+  }
+
+  private Reminder renderTestResultNotification(TestResultReminderView view) {
+    Context context = new Context();
+    context.setVariable("userName", view.patientName());
+    context.setVariable("testName", view.testName());
+    context.setVariable("testDate", DATE_FORMAT.format(view.dateOfTest()));
+    context.setVariable("supportMailbox", springConfig.mail().username());
+    return new Reminder(view.appointmentId(), view.email(), TEST_RESULT_READY_SUBJECT,
+        emailRenderer.render(EmailRenderer.TEST_RESULT_READY_TEMPLATE, context));
+  }
+
+  private PageRequest chunk() {
+    return PageRequest.of(0, reminderConfig.chunkSize());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    renderers.shutdown();
+  }
+
+  /**
+   * Rendered notification of an appointment.
+   */
+  private record Reminder(Long appointmentId, String recipient, String subject, String content) {
+
+  }
+}
@@ -6,13 +6,22 @@ import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.enums.Role;
 import com.ventionteams.medfast.exception.auth.UserAlreadyExistsException;
 import com.ventionteams.medfast.repository.PatientRepository;
+import com.ventionteams.medfast.repository.RefreshTokenRepository;
 import com.ventionteams.medfast.repository.UserRepository;
+import com.ventionteams.medfast.service.auth.TokenRevocationService;
+import java.time.Instant;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Service for the User entity.
@@ -22,13 +31,22 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class UserService {
 
+  public static final String SECURITY_VERSIONS_CACHE = "userSecurityVersions";
+
   private final UserRepository repository;
   private final PatientRepository patientRepository;
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final TokenRevocationService tokenRevocationService;
+  private final CacheManager cacheManager;
 
   public UserDetailsService getUserDetailsService() {
     return this::getUserByEmail;
   }
 
+  public UserDetailsPasswordService getUserDetailsPasswordService() {
+    return (user, encodedPassword) -> upgradePassword((User) user, encodedPassword);
+  }
+
   public User getUserByEmail(String email) {
     return repository.findByEmail(email)
         .orElseThrow(() -> new UsernameNotFoundException("User is not found"));
@@ -87,15 +105,91 @@ public class UserService {
   }
 
   /**
-   * Resets the password for the user.
+   * Returns the current security version of the user or null if the user does not exist.
+   */
+  @Cacheable(value = SECURITY_VERSIONS_CACHE, key = "#userId")
+  public Long getSecurityVersion(Long userId) {
+    return repository.findSecurityVersionById(userId).orElse(null);
+  }
+
+  /**
+   * Bumps the security version of the user, so the claims of previously issued tokens are
+   * considered stale. The caller is responsible for saving the user. The cached version is
+   * evicted once the transaction commits, so a concurrent lookup can not cache the old version
+   * again.
+   */
+  public void bumpSecurityVersion(User user) {
+    user.setSecurityVersion(user.getSecurityVersion() + 1);
+    Long userId = user.getId();
+    afterCommit(() -> {
+      Cache securityVersions = cacheManager.getCache(SECURITY_VERSIONS_CACHE);
+      if (securityVersions != null) {
+        securityVersions.evict(userId);
+      }
+    });
+  }
+
+  /**
+   * Resets the password for the user. The issued tokens are revoked by the token epoch, the
+   * security version only tracks stale claims and stays as is.
    */
   @Transactional
   public void resetPassword(User user, String encodedPassword) {
     user.setPassword(encodedPassword);
+    revokeIssuedTokens(user);
     log.info("Attempt to reset password for the user with id {}", user.getId());
     save(user);
   }
 
+  /**
+   * Replaces the stored hash with a hash of the same password at the current cost. The password
+   * itself does not change, so unlike {@link #resetPassword} the issued tokens stay valid.
+   */
+  public User upgradePassword(User user, String encodedPassword) {
+    user.setPassword(encodedPassword);
+    log.info("Attempt to upgrade the password hash for the user with id {}", user.getId());
+    return save(user);
+  }
+
+  /**
+   * Disables the user. The issued tokens are revoked by the token epoch, so none of them
+   * authenticates the disabled user again.
+   */
+  @Transactional
+  public void disable(User user) {
+    user.setEnabled(false);
+    revokeIssuedTokens(user);
+    log.info("Attempt to disable the user with id {}", user.getId());
+    save(user);
+  }
+
+  /**
+   * Revokes every access and refresh token issued to the user so far. The new token epoch is
+   * applied on this node once the transaction commits and reaches the other nodes through the
+   * users table notification.
+   */
+  private void revokeIssuedTokens(User user) {
+    Long userId = user.getId();
+    long now = Instant.now().toEpochMilli();
+    user.setTokensNotBefore(now);
+    refreshTokenRepository.deleteByUserId(userId);
+    // DEVNOTE: A rolled back reset or disable must not log the user out on this node either
+    afterCommit(() -> tokenRevocationService.markNotBefore(userId, now));
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
   public User save(User user) {
     return repository.save(user);
   }
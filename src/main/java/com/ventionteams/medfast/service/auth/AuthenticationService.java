@@ -4,19 +4,15 @@ import com.ventionteams.medfast.config.properties.TokenConfig;
 import com.ventionteams.medfast.dto.request.SignInRequest;
 import com.ventionteams.medfast.dto.request.SignUpRequest;
 import com.ventionteams.medfast.dto.response.JwtAuthenticationResponse;
-import com.ventionteams.medfast.entity.RefreshToken;
 import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.exception.auth.UserIsAlreadyVerifiedException;
 import com.ventionteams.medfast.service.EmailService;
 import com.ventionteams.medfast.service.UserService;
-import jakarta.mail.MessagingException;
-import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.mail.MailAuthenticationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -42,8 +38,8 @@ public class AuthenticationService {
   /**
    * Sign up a user and send a verification email to the user's email.
    */
-  @Transactional(rollbackFor = {MessagingException.class, IOException.class})
-  public String signUp(SignUpRequest request) throws MessagingException, IOException {
+  @Transactional
+  public String signUp(SignUpRequest request) {
     request.setPassword(passwordEncoder.encode(request.getPassword()));
     User user = userService.create(request);
     log.info("Accepted sign up request for user with email {}", user.getEmail());
@@ -52,51 +48,39 @@ public class AuthenticationService {
   }
 
   /**
-   * Send a verification email to the user's email.
+   * Send a verification email to the user's email. The email is queued in the outbox and sent
+   * once the transaction commits.
    */
-  public void sendVerificationEmail(String email) throws MessagingException, IOException {
+  @Transactional
+  public void sendVerificationEmail(String email) {
     User user = userService.getUserByEmail(email);
     if (user.isEnabled()) {
       throw new UserIsAlreadyVerifiedException(email, "User is already verified");
     }
     verificationTokenService.addVerificationTokenForUser(user.getEmail());
-
-    int maxRetries = 3;
-    int retries = 0;
-    boolean mailSuccessfullySent = false;
-    while (!mailSuccessfullySent) {
-      try {
-        emailService.sendVerificationEmail(user);
-        mailSuccessfullySent = true;
-      } catch (MailAuthenticationException e) {
-        retries++;
-        if (retries == maxRetries) {
-          throw e;
-        }
-      }
-    }
+    emailService.sendVerificationEmail(user);
   }
 
   /**
    * Sign in a user and return a JWT and a refresh token.
    */
   public JwtAuthenticationResponse signIn(SignInRequest request) {
-    authenticationManager.authenticate(
+    Authentication authentication = authenticationManager.authenticate(
         new UsernamePasswordAuthenticationToken(
             request.getEmail(),
             request.getPassword()
         ));
     log.info("Accepted sign in request for user with email {}", request.getEmail());
-    UserDetails user = userService
-        .getUserDetailsService()
-        .loadUserByUsername(request.getEmail());
+    // DEVNOTE: The principal is the user loaded by the authentication provider, the tokens are
+    //  issued from it without looking the user up again
+    User user = (User) authentication.getPrincipal();
 
     String jwt = jwtService.generateToken(user);
-    RefreshToken refreshToken = refreshTokenService.generateToken(user);
+    String refreshToken = refreshTokenService.generateToken(user);
 
     return new JwtAuthenticationResponse(
         jwt,
-        refreshToken.getToken(),
+        refreshToken,
         tokenConfig.timeout().access(),
         tokenConfig.timeout().refresh());
   }
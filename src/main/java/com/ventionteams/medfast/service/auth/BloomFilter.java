@@ -0,0 +1,95 @@
+package com.ventionteams.medfast.service.auth;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of strings over a primitive bit array. Probing hashes the characters in
+ * place, so neither adding nor checking a value allocates.
+ */
+final class BloomFilter {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final AtomicLongArray bits;
+  private final long bitSize;
+  private final int hashFunctions;
+
+  /**
+   * Sizes the filter for the expected number of insertions at the given false positive rate.
+   */
+  BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    long optimalBits = (long) Math.ceil(
+        -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int words = (int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE);
+    bits = new AtomicLongArray(words);
+    bitSize = (long) words * Long.SIZE;
+    hashFunctions = (int) Math.max(1,
+        Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+  }
+
+  /**
+   * Adds the value to the filter.
+   */
+  void put(CharSequence value) {
+    long hash = hash(value);
+    int low = (int) hash;
+    int high = (int) (hash >>> 32);
+    for (int i = 1; i <= hashFunctions; i++) {
+      long index = bitIndex(low + i * high);
+      int word = (int) (index >>> 6);
+      long mask = 1L << index;
+      long current = bits.get(word);
+      while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+        current = bits.get(word);
+      }
+    }
+  }
+
+  /**
+   * Checks if the value might have been added, false means it was definitely not added.
+   */
+  boolean mightContain(CharSequence value) {
+    long hash = hash(value);
+    int low = (int) hash;
+    int high = (int) (hash >>> 32);
+    for (int i = 1; i <= hashFunctions; i++) {
+      long index = bitIndex(low + i * high);
+      if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Estimates the current false positive rate from the share of set bits.
+   */
+  double expectedFalsePositiveRate() {
+    long setBits = 0;
+    for (int i = 0; i < bits.length(); i++) {
+      setBits += Long.bitCount(bits.get(i));
+    }
+    return Math.pow((double) setBits / bitSize, hashFunctions);
+  }
+
+  private long bitIndex(int combinedHash) {
+    // DEVNOTE: Flips negative hashes the same way Guava does, keeping the index distribution even
+    return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitSize;
+  }
+
+  // DEVNOTE: FNV-1a over the characters, finalized with the murmur3 mix to spread the bits
+  private static long hash(CharSequence value) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= FNV_PRIME;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -1,22 +1,26 @@
 package com.ventionteams.medfast.service.auth;
 
 import com.ventionteams.medfast.config.properties.TokenConfig;
+import com.ventionteams.medfast.entity.Person;
 import com.ventionteams.medfast.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.UUID;
 import javax.crypto.SecretKey;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -27,23 +31,57 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class JwtService {
 
+  public static final String ID_CLAIM = "id";
+  public static final String EMAIL_CLAIM = "email";
+  public static final String ROLE_CLAIM = "role";
+  public static final String PERSON_ID_CLAIM = "personId";
+  public static final String SECURITY_VERSION_CLAIM = "ver";
+  public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+  public static final String VERIFIED_TOKENS_CACHE = "verifiedTokens";
+
   private final TokenConfig tokenConfig;
   private final CacheManager cacheManager;
+  private final TokenRevocationService tokenRevocationService;
+
+  // DEVNOTE: Both are immutable and thread-safe, so they are built once instead of per token
+  private SecretKey signingKey;
+  private JwtParser parser;
+  private Cache verifiedTokens;
 
-  @CachePut(value = "blacklistedTokens", key = "#token", unless = "#result == null")
-  public String blacklistToken(String token) {
-    return token;
+  /**
+   * Decodes the signing key, builds the token parser and resolves the optional cache of verified
+   * tokens.
+   */
+  @PostConstruct
+  public void init() {
+    signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(tokenConfig.signing().key()));
+    parser = Jwts.parser()
+        .verifyWith(signingKey)
+        .build();
+    verifiedTokens = cacheManager.getCache(VERIFIED_TOKENS_CACHE);
   }
 
   /**
-   * Checks if token is present in the cache.
+   * Revokes the token by its jti on every node and drops its verified claims from the cache.
+   * Tokens issued without a jti can not be revoked one by one and stay valid until they expire.
    */
-  public boolean isTokenBlacklisted(String token) {
-    Cache cache = cacheManager.getCache("blacklistedTokens");
-    if (cache == null) {
-      return false;
+  public void blacklistToken(String token) {
+    VerifiedClaims claims = verifyToken(token);
+    if (claims.tokenId() != null) {
+      tokenRevocationService.revoke(claims.tokenId(), claims.expiration());
+    }
+    if (verifiedTokens != null) {
+      verifiedTokens.evict(digestKey(token));
     }
-    return cache.get(token) != null;
+  }
+
+  /**
+   * Checks if the token was revoked by its jti or by the token epoch of its user.
+   */
+  public boolean isRevoked(VerifiedClaims claims) {
+    return tokenRevocationService.isRevoked(claims.tokenId())
+        || claims.issuedAt() != null && tokenRevocationService.isIssuedBeforeEpoch(
+            claims.userId(), claims.issuedAt().toEpochMilli());
   }
 
   /**
@@ -52,59 +90,101 @@ public class JwtService {
   public String generateToken(UserDetails userDetails) {
     Map<String, Object> claims = new HashMap<>();
     if (userDetails instanceof User customUserDetails) {
-      claims.put("id", customUserDetails.getId());
-      claims.put("email", customUserDetails.getEmail());
-      claims.put("role", customUserDetails.getRole());
+      claims.put(ID_CLAIM, customUserDetails.getId());
+      claims.put(EMAIL_CLAIM, customUserDetails.getEmail());
+      claims.put(ROLE_CLAIM, customUserDetails.getRole());
+      claims.put(SECURITY_VERSION_CLAIM, customUserDetails.getSecurityVersion());
+      if (customUserDetails.getPerson() != null) {
+        claims.put(PERSON_ID_CLAIM, customUserDetails.getPerson().getId());
+      }
     }
     return generateToken(claims, userDetails);
   }
 
   private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+    Instant issuedAt = Instant.now();
+    // DEVNOTE: The registered iat claim only holds seconds, the token epoch is compared against
+    //  the issue time in milliseconds
     return Jwts.builder()
         .claims(extraClaims)
+        .claim(ISSUED_AT_MILLIS_CLAIM, issuedAt.toEpochMilli())
+        .id(UUID.randomUUID().toString())
         .subject(userDetails.getUsername())
-        .issuedAt(Date.from(Instant.now()))
-        .expiration(Date.from(Instant.now().plusSeconds(tokenConfig.timeout().access())))
-        .signWith(getSigningKey())
+        .issuedAt(Date.from(issuedAt))
+        .expiration(Date.from(issuedAt.plusSeconds(tokenConfig.timeout().access())))
+        .signWith(signingKey)
         .compact();
   }
 
-  public boolean isTokenValid(String token, UserDetails userDetails) {
-    final String userName = extractUserName(token);
-    return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
+  /**
+   * Parses and verifies the token exactly once with the pre-built parser. Claims of expired tokens
+   * are returned as well, a broken signature or a malformed token results in a JwtException.
+   * When the verified tokens cache is enabled, repeated calls with the same token are served from
+   * it until the token expires.
+   */
+  public VerifiedClaims verifyToken(String token) {
+    if (verifiedTokens == null) {
+      return parse(token);
+    }
+
+    ByteBuffer key = digestKey(token);
+    VerifiedClaims cached = verifiedTokens.get(key, VerifiedClaims.class);
+    if (cached != null) {
+      return cached;
+    }
+
+    VerifiedClaims claims = parse(token);
+    if (!claims.isExpired()) {
+      verifiedTokens.put(key, claims);
+    }
+    return claims;
   }
 
-  public String extractUserName(String token) {
-    return extractClaim(token, Claims::getSubject);
+  private VerifiedClaims parse(String token) {
+    Claims claims;
+    try {
+      claims = parser.parseSignedClaims(token).getPayload();
+    } catch (ExpiredJwtException e) {
+      claims = e.getClaims();
+    }
+    return VerifiedClaims.from(claims);
   }
 
-  private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
-    final Claims claims = extractAllClaims(token);
-    return claimsResolvers.apply(claims);
+  /**
+   * Builds a user principal straight from the verified claims without loading it from the
+   * database. Empty if claims-backed principals are disabled or the token was issued without the
+   * required claims.
+   */
+  public Optional<User> extractPrincipal(VerifiedClaims claims) {
+    if (!tokenConfig.principal().claimsBacked()
+        || claims.userId() == null || claims.role() == null
+        || claims.securityVersion() == null || claims.personId() == null) {
+      return Optional.empty();
+    }
+
+    return Optional.of(User.builder()
+        .id(claims.userId())
+        .email(claims.subject())
+        .role(claims.role())
+        .securityVersion(claims.securityVersion())
+        .enabled(true)
+        .person(Person.builder().id(claims.personId()).build())
+        .build());
   }
 
-  private boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+  public boolean isTokenValid(String token, UserDetails userDetails) {
+    return isTokenValid(verifyToken(token), userDetails);
   }
 
-  private Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
+  public boolean isTokenValid(VerifiedClaims claims, UserDetails userDetails) {
+    return userDetails.getUsername().equals(claims.subject()) && !claims.isExpired();
   }
 
-  private Claims extractAllClaims(String token) {
-    try {
-      return Jwts.parser()
-          .verifyWith(getSigningKey())
-          .build()
-          .parseSignedClaims(token)
-          .getPayload();
-    } catch (ExpiredJwtException e) {
-      return e.getClaims();
-    }
+  public String extractUserName(String token) {
+    return verifyToken(token).subject();
   }
 
-  private SecretKey getSigningKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(tokenConfig.signing().key());
-    return Keys.hmacShaKeyFor(keyBytes);
+  private static ByteBuffer digestKey(String token) {
+    return ByteBuffer.wrap(TokenDigest.sha256(token));
   }
 }
@@ -3,75 +3,143 @@ package com.ventionteams.medfast.service.auth;
 import com.ventionteams.medfast.config.properties.TokenConfig;
 import com.ventionteams.medfast.dto.request.RefreshTokenRequest;
 import com.ventionteams.medfast.dto.response.JwtAuthenticationResponse;
+import com.ventionteams.medfast.dto.response.SessionResponse;
 import com.ventionteams.medfast.entity.RefreshToken;
+import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.exception.auth.TokenExpiredException;
+import com.ventionteams.medfast.exception.auth.TokenReusedException;
 import com.ventionteams.medfast.repository.RefreshTokenRepository;
-import com.ventionteams.medfast.repository.UserRepository;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service responsible for handling refresh token operations.
  */
+@Log4j2
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
-  private final UserRepository userRepository;
   private final RefreshTokenRepository refreshTokenRepository;
   private final JwtService jwtService;
   private final TokenConfig tokenConfig;
 
   /**
-   * Generate a refresh token for the user.
+   * Starts a new token family for the user and returns its first refresh token. The oldest
+   * sessions of the user beyond the configured maximum are ended.
    */
   @Transactional
-  public RefreshToken generateToken(UserDetails userDetails) {
+  public String generateToken(User user) {
+    RefreshTokenValue token = RefreshTokenValue.generate(UUID.randomUUID());
+
     RefreshToken refreshToken = new RefreshToken();
+    refreshToken.setFamilyId(token.familyId());
+    refreshToken.setTokenHash(token.digest());
+    refreshToken.setUser(user);
+    refreshTokenRepository.save(refreshToken);
+
+    int endedSessions = refreshTokenRepository.deleteSessionsBeyond(user.getId(),
+        tokenConfig.sessions().maxConcurrent());
+    if (endedSessions > 0) {
+      log.info("Ended {} oldest sessions of the user with id {}", endedSessions, user.getId());
+    }
 
-    refreshToken.setUser(userRepository.findByEmail(
-        userDetails.getUsername()).orElseThrow(() -> new UsernameNotFoundException("User not found")
-    ));
+    return token.encode();
+  }
 
-    refreshToken.setToken(UUID.randomUUID().toString());
-    refreshToken = refreshTokenRepository.save(refreshToken);
-    return refreshToken;
+  /**
+   * Returns the sessions of the user whose refresh tokens have not expired, newest first.
+   */
+  @Transactional(readOnly = true)
+  public List<SessionResponse> getActiveSessions(Long userId) {
+    LocalDateTime since = LocalDateTime.now().minusSeconds(tokenConfig.timeout().refresh());
+    return refreshTokenRepository.findSessions(userId, since).stream()
+        .map(session -> SessionResponse.builder()
+            .id(session.familyId().toString())
+            .createdDate(session.createdDate().toString())
+            .lastUsedDate(session.lastUsedDate().toString())
+            .build())
+        .toList();
+  }
+
+  /**
+   * Ends every session of the user with a single bulk delete.
+   */
+  @Transactional
+  public void endSessions(Long userId) {
+    refreshTokenRepository.deleteByUserId(userId);
   }
 
   /**
-   * Refresh the access token using the refresh token.
+   * Refresh the access token using the refresh token. The refresh token is rotated, replaying a
+   * rotated token revokes the whole token family.
    */
+  @Transactional(noRollbackFor = {TokenExpiredException.class, TokenReusedException.class})
   public JwtAuthenticationResponse refreshToken(RefreshTokenRequest request) {
-    String requestRefreshToken = request.getRefreshToken();
-    RefreshToken refreshToken = refreshTokenRepository.findByToken(requestRefreshToken)
+    PresentedToken presentedToken = RefreshTokenValue.parse(request.getRefreshToken())
+        .map(token -> new PresentedToken(token.familyId(), token.digest()))
+        .or(() -> presentLegacyToken(request.getRefreshToken()))
         .orElseThrow(() -> new NoSuchElementException("Refresh token is not found"));
+    RefreshTokenValue rotatedToken = RefreshTokenValue.generate(presentedToken.familyId());
+
+    RefreshToken refreshToken = refreshTokenRepository
+        .rotate(presentedToken.familyId(), presentedToken.digest(), rotatedToken.digest())
+        .orElseThrow(() -> rejectRefresh(presentedToken.familyId()));
 
     verifyExpiration(refreshToken);
     return new JwtAuthenticationResponse(
         jwtService.generateToken(refreshToken.getUser()),
-        requestRefreshToken,
+        rotatedToken.encode(),
         tokenConfig.timeout().access(),
         Duration.between(LocalDateTime.now(),
             refreshToken.getCreatedDate().plusSeconds(tokenConfig.timeout().refresh())).getSeconds()
     );
   }
 
+  // DEVNOTE: Tokens issued before the rotation are plain UUIDs, their rows were migrated under a
+  //  new family with the digest of the whole token. They are looked up by the digest and rotated
+  //  into the current format until they expire
+  private Optional<PresentedToken> presentLegacyToken(String token) {
+    if (!RefreshTokenValue.isLegacy(token)) {
+      return Optional.empty();
+    }
+    byte[] digest = TokenDigest.sha256(token);
+    return refreshTokenRepository.findFamilyIdByTokenHash(digest)
+        .map(familyId -> new PresentedToken(familyId, digest));
+  }
+
+  private RuntimeException rejectRefresh(UUID familyId) {
+    if (!refreshTokenRepository.existsByFamilyId(familyId)) {
+      return new NoSuchElementException("Refresh token is not found");
+    }
+    // DEVNOTE: The family has moved on to a newer token, so the sender holds a copy of an old one
+    refreshTokenRepository.deleteByFamilyId(familyId);
+    log.warn("Revoked refresh token family {} after a rotated token was replayed", familyId);
+    return new TokenReusedException(familyId.toString(),
+        "Refresh token was already rotated, please make a new sign in request");
+  }
+
   private void verifyExpiration(RefreshToken token) {
     long actualValidityPeriod = Duration.between(token.getCreatedDate(), LocalDateTime.now())
         .getSeconds();
     if (actualValidityPeriod > tokenConfig.timeout().refresh()) {
       refreshTokenRepository.delete(token);
       throw new TokenExpiredException(
-          token.getToken(),
+          token.getFamilyId().toString(),
           "Refresh token has expired. Please make a new sign in request"
       );
     }
   }
+
+  private record PresentedToken(UUID familyId, byte[] digest) {
+
+  }
 }
@@ -0,0 +1,78 @@
+package com.ventionteams.medfast.service.auth;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Value of a refresh token handed out to the client. It carries the id of its token family and a
+ * random secret, encoded as 64 characters of unpadded base64url. Only the digest of the secret is
+ * stored, the family id locates the stored digest.
+ */
+record RefreshTokenValue(UUID familyId, byte[] secret) {
+
+  static final int LENGTH = 64;
+  static final int LEGACY_LENGTH = 36;
+
+  private static final int SECRET_BYTES = 32;
+  private static final int ENCODED_BYTES = 2 * Long.BYTES + SECRET_BYTES;
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  /**
+   * Generates a token with a fresh secret for the family.
+   */
+  static RefreshTokenValue generate(UUID familyId) {
+    byte[] secret = new byte[SECRET_BYTES];
+    RANDOM.nextBytes(secret);
+    return new RefreshTokenValue(familyId, secret);
+  }
+
+  /**
+   * Parses the token sent by a client, an empty result means the token is malformed.
+   */
+  static Optional<RefreshTokenValue> parse(String token) {
+    if (token == null || token.length() != LENGTH) {
+      return Optional.empty();
+    }
+    byte[] bytes;
+    try {
+      bytes = Base64.getUrlDecoder().decode(token);
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    UUID familyId = new UUID(buffer.getLong(), buffer.getLong());
+    byte[] secret = new byte[SECRET_BYTES];
+    buffer.get(secret);
+    return Optional.of(new RefreshTokenValue(familyId, secret));
+  }
+
+  /**
+   * Checks if the token was issued before the rotation, as a plain UUID.
+   */
+  static boolean isLegacy(String token) {
+    if (token == null || token.length() != LEGACY_LENGTH) {
+      return false;
+    }
+    try {
+      UUID.fromString(token);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  String encode() {
+    ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+        .putLong(familyId.getMostSignificantBits())
+        .putLong(familyId.getLeastSignificantBits())
+        .put(secret);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+  }
+
+  byte[] digest() {
+    return TokenDigest.sha256(secret);
+  }
+}
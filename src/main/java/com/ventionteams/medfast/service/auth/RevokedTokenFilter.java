@@ -0,0 +1,104 @@
+package com.ventionteams.medfast.service.auth;
+
+import com.ventionteams.medfast.config.properties.TokenConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bloom filter front of the revoked token ids. Almost no token is ever revoked, so the common
+ * "not revoked" answer is given by a few probes of a primitive bit array. The filter keeps two
+ * generations and starts a new one every access token lifetime: a revoked id stays in the filter
+ * for at least a full lifetime after its revocation, which outlives every token it could match.
+ */
+@Component
+public class RevokedTokenFilter implements MeterBinder {
+
+  private final long expectedInsertions;
+  private final double falsePositiveRate;
+  private final long windowNanos;
+  private final LongAdder falsePositives = new LongAdder();
+
+  private volatile BloomFilter current;
+  private volatile BloomFilter previous;
+  private volatile long rotatedAt;
+
+  /**
+   * Sizes the generations from the token configuration.
+   */
+  @Autowired
+  public RevokedTokenFilter(TokenConfig tokenConfig) {
+    this(tokenConfig.revocationFilter().expectedInsertions(),
+        tokenConfig.revocationFilter().falsePositiveRate(),
+        Duration.ofSeconds(Math.max(1, tokenConfig.timeout().access())));
+  }
+
+  RevokedTokenFilter(long expectedInsertions, double falsePositiveRate, Duration window) {
+    this.expectedInsertions = expectedInsertions;
+    this.falsePositiveRate = falsePositiveRate;
+    this.windowNanos = window.toNanos();
+    this.current = new BloomFilter(expectedInsertions, falsePositiveRate);
+    this.previous = new BloomFilter(expectedInsertions, falsePositiveRate);
+    this.rotatedAt = System.nanoTime();
+  }
+
+  public void put(String tokenId) {
+    rotateIfDue();
+    current.put(tokenId);
+  }
+
+  /**
+   * Checks if the token id might be revoked, false means it is definitely not revoked.
+   */
+  public boolean mightContain(String tokenId) {
+    rotateIfDue();
+    return current.mightContain(tokenId) || previous.mightContain(tokenId);
+  }
+
+  /**
+   * Records a positive answer of the filter that the revocation store did not confirm.
+   */
+  public void recordFalsePositive() {
+    falsePositives.increment();
+  }
+
+  /**
+   * Estimates the false positive rate of a lookup, which probes both generations.
+   */
+  public double expectedFalsePositiveRate() {
+    double currentRate = current.expectedFalsePositiveRate();
+    double previousRate = previous.expectedFalsePositiveRate();
+    return 1 - (1 - currentRate) * (1 - previousRate);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("token.revocation.filter.false.positive.rate", this,
+            RevokedTokenFilter::expectedFalsePositiveRate)
+        .description("Estimated false positive rate of the revoked token filter")
+        .register(registry);
+    FunctionCounter.builder("token.revocation.filter.false.positives", falsePositives,
+            LongAdder::doubleValue)
+        .description("Filter hits that were not confirmed by the revoked tokens store")
+        .register(registry);
+  }
+
+  private void rotateIfDue() {
+    long now = System.nanoTime();
+    if (now - rotatedAt < windowNanos) {
+      return;
+    }
+    synchronized (this) {
+      if (now - rotatedAt >= windowNanos) {
+        previous = current;
+        current = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rotatedAt = now;
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.ventionteams.medfast.service.auth;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listens to the revoked tokens and token epochs channels on a dedicated connection and applies
+ * the revocations made by any node to the local revocation state. The state is rebuilt from the
+ * database whenever the connection is (re)established, so no revocation is lost while the node was
+ * not listening.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class RevokedTokenListener implements SmartLifecycle {
+
+  private static final int POLL_TIMEOUT_MILLIS = 1000;
+  private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+  private final DataSource dataSource;
+  private final TokenRevocationService tokenRevocationService;
+
+  private volatile boolean running;
+  private Thread listenerThread;
+
+  /**
+   * Subscribes to the channels and loads the revocation state before the application starts
+   * serving requests, then keeps polling for notifications in the background.
+   */
+  @Override
+  public void start() {
+    Connection connection = subscribe();
+    running = true;
+    listenerThread = new Thread(() -> listen(connection), "revoked-token-listener");
+    listenerThread.setDaemon(true);
+    listenerThread.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (listenerThread != null) {
+      listenerThread.interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  // DEVNOTE: Starts ahead of the web server, so requests are never served without the state
+  @Override
+  public int getPhase() {
+    return 0;
+  }
+
+  private void listen(Connection initialConnection) {
+    Connection connection = initialConnection;
+    while (running) {
+      try {
+        if (connection == null) {
+          connection = subscribe();
+        }
+        poll(connection);
+      } catch (RuntimeException | SQLException e) {
+        if (!running) {
+          break;
+        }
+        log.warn("Revoked tokens listener lost its connection, reconnecting", e);
+        close(connection);
+        connection = null;
+        sleepBeforeReconnect();
+      }
+    }
+    close(connection);
+  }
+
+  private Connection subscribe() {
+    Connection connection = null;
+    try {
+      // DEVNOTE: The connection is borrowed from the pool for the lifetime of the listener
+      connection = dataSource.getConnection();
+      connection.setAutoCommit(true);
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("LISTEN " + TokenRevocationService.REVOKED_TOKENS_CHANNEL);
+        statement.execute("LISTEN " + TokenRevocationService.TOKEN_EPOCHS_CHANNEL);
+      }
+      tokenRevocationService.reload();
+      return connection;
+    } catch (SQLException e) {
+      close(connection);
+      throw new IllegalStateException("Unable to listen to the token revocation channels", e);
+    }
+  }
+
+  private void poll(Connection connection) throws SQLException {
+    PGNotification[] notifications = connection.unwrap(PGConnection.class)
+        .getNotifications(POLL_TIMEOUT_MILLIS);
+    if (notifications == null) {
+      return;
+    }
+    for (PGNotification notification : notifications) {
+      if (TokenRevocationService.TOKEN_EPOCHS_CHANNEL.equals(notification.getName())) {
+        // DEVNOTE: The payload is formatted as <user id>:<epoch millisecond>
+        String[] epoch = notification.getParameter().split(":");
+        tokenRevocationService.markNotBefore(Long.valueOf(epoch[0]), Long.parseLong(epoch[1]));
+      } else {
+        tokenRevocationService.markRevoked(notification.getParameter());
+      }
+    }
+  }
+
+  private void sleepBeforeReconnect() {
+    try {
+      Thread.sleep(RECONNECT_DELAY_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void close(Connection connection) {
+    if (connection == null) {
+      return;
+    }
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      log.debug("Unable to close the revoked tokens listener connection", e);
+    }
+  }
+}
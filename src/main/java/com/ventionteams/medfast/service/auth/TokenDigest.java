@@ -0,0 +1,34 @@
+package com.ventionteams.medfast.service.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes SHA-256 digests of raw tokens, so tokens can be keyed and stored without keeping the
+ * token itself.
+ */
+public final class TokenDigest {
+
+  private TokenDigest() {
+  }
+
+  /**
+   * Returns the SHA-256 digest of the token.
+   */
+  public static byte[] sha256(String token) {
+    return sha256(token.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the SHA-256 digest of the raw token bytes.
+   */
+  public static byte[] sha256(byte[] token) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(token);
+    } catch (NoSuchAlgorithmException e) {
+      // DEVNOTE: Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+}
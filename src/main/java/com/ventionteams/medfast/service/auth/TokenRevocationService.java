@@ -0,0 +1,130 @@
+package com.ventionteams.medfast.service.auth;
+
+import com.ventionteams.medfast.config.properties.TokenConfig;
+import com.ventionteams.medfast.repository.RevokedTokenRepository;
+import com.ventionteams.medfast.repository.UserRepository;
+import com.ventionteams.medfast.repository.projection.TokenEpoch;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service responsible for the cluster-wide revocation of access tokens. Single tokens are revoked
+ * by their jti and persisted in the revoked_tokens table, all tokens of a user are revoked by the
+ * users.tokens_not_before epoch. Both are propagated to every node by database notifications, the
+ * request path only reads the node-local state.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+  public static final String REVOKED_TOKENS_CACHE = "revokedTokens";
+  public static final String REVOKED_TOKENS_CHANNEL = "revoked_tokens";
+  public static final String TOKEN_EPOCHS_CHANNEL = "token_epochs";
+
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final UserRepository userRepository;
+  private final CacheManager cacheManager;
+  private final TokenConfig tokenConfig;
+  private final RevokedTokenFilter revokedTokenFilter;
+
+  // DEVNOTE: Holds one entry per user that revoked its tokens within the access token lifetime
+  private final Map<Long, Long> notBeforeEpochs = new ConcurrentHashMap<>();
+
+  /**
+   * Persists the revocation of the token. The other nodes are notified once the surrounding
+   * transaction commits.
+   */
+  @Transactional
+  public void revoke(String tokenId, Instant expiresAt) {
+    revokedTokenRepository.insertIfAbsent(tokenId,
+        LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+    markRevoked(tokenId);
+  }
+
+  public void markRevoked(String tokenId) {
+    revokedTokens().put(tokenId, Boolean.TRUE);
+    revokedTokenFilter.put(tokenId);
+  }
+
+  /**
+   * Applies the epoch in epoch milliseconds before which all tokens of the user are not valid, a
+   * newer epoch wins.
+   */
+  public void markNotBefore(Long userId, long notBefore) {
+    notBeforeEpochs.merge(userId, notBefore, Math::max);
+  }
+
+  /**
+   * Checks if the token id was revoked. The revocation store is only probed when the filter can
+   * not rule the revocation out.
+   */
+  public boolean isRevoked(String tokenId) {
+    if (tokenId == null || !revokedTokenFilter.mightContain(tokenId)) {
+      return false;
+    }
+    boolean revoked = revokedTokens().get(tokenId) != null;
+    if (!revoked) {
+      revokedTokenFilter.recordFalsePositive();
+    }
+    return revoked;
+  }
+
+  /**
+   * Checks if the token issued at the given epoch millisecond was issued before the epoch of its
+   * user. A token issued in the millisecond of the epoch stays valid, so a sign in right after a
+   * password reset is never revoked by it.
+   */
+  public boolean isIssuedBeforeEpoch(Long userId, long issuedAt) {
+    if (userId == null) {
+      return false;
+    }
+    Long notBefore = notBeforeEpochs.get(userId);
+    return notBefore != null && issuedAt < notBefore;
+  }
+
+  /**
+   * Rebuilds the local revocation state from the tokens and epochs that may still matter.
+   */
+  @Transactional(readOnly = true)
+  public void reload() {
+    List<String> tokenIds = revokedTokenRepository.findActiveTokenIds(LocalDateTime.now());
+    tokenIds.forEach(this::markRevoked);
+
+    List<TokenEpoch> epochs = userRepository.findTokenEpochsAfter(oldestRelevantEpoch());
+    epochs.forEach(epoch -> markNotBefore(epoch.userId(), epoch.notBefore()));
+    log.info("Loaded {} revoked tokens and {} token epochs", tokenIds.size(), epochs.size());
+  }
+
+  /**
+   * Drops the epochs older than the access token lifetime, every token they revoke has expired.
+   */
+  @Scheduled(fixedDelay = 60_000)
+  public void pruneEpochs() {
+    long oldestRelevantEpoch = oldestRelevantEpoch();
+    notBeforeEpochs.values().removeIf(notBefore -> notBefore <= oldestRelevantEpoch);
+  }
+
+  private long oldestRelevantEpoch() {
+    return Instant.now().minusSeconds(tokenConfig.timeout().access()).toEpochMilli();
+  }
+
+  private Cache revokedTokens() {
+    Cache cache = cacheManager.getCache(REVOKED_TOKENS_CACHE);
+    if (cache == null) {
+      throw new IllegalStateException("Cache " + REVOKED_TOKENS_CACHE + " is not configured");
+    }
+    return cache;
+  }
+}
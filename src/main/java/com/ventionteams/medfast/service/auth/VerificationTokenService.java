@@ -52,6 +52,7 @@ public class VerificationTokenService {
 
     if (validateToken(email, verificationToken)) {
       user.setEnabled(true);
+      userService.bumpSecurityVersion(user);
       userService.save(user);
       deleteVerificationToken(email);
       log.info("The user with id {} has been verified", user.getId());
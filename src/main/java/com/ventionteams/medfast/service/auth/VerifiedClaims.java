@@ -0,0 +1,55 @@
+package com.ventionteams.medfast.service.auth;
+
+import com.ventionteams.medfast.enums.Role;
+import io.jsonwebtoken.Claims;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Immutable view of the claims of an access token whose signature has already been verified.
+ * Expired tokens are still represented, so callers that need their claims (e.g. logout) can use
+ * them, and have to check {@link #isExpired()} themselves. The issue time has millisecond
+ * precision, tokens issued without the millisecond claim fall back to the start of their second.
+ */
+public record VerifiedClaims(
+    String tokenId,
+    String subject,
+    Long userId,
+    Role role,
+    Long personId,
+    Long securityVersion,
+    Instant issuedAt,
+    Instant expiration
+) {
+
+  /**
+   * Maps the parsed jwt claims to verified claims.
+   */
+  static VerifiedClaims from(Claims claims) {
+    String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+    return new VerifiedClaims(
+        claims.getId(),
+        claims.getSubject(),
+        claims.get(JwtService.ID_CLAIM, Long.class),
+        role == null ? null : Role.valueOf(role),
+        claims.get(JwtService.PERSON_ID_CLAIM, Long.class),
+        claims.get(JwtService.SECURITY_VERSION_CLAIM, Long.class),
+        issuedAt(claims),
+        toInstant(claims.getExpiration())
+    );
+  }
+
+  public boolean isExpired() {
+    return expiration != null && expiration.isBefore(Instant.now());
+  }
+
+  private static Instant issuedAt(Claims claims) {
+    Long issuedAtMillis = claims.get(JwtService.ISSUED_AT_MILLIS_CLAIM, Long.class);
+    return issuedAtMillis == null ? toInstant(claims.getIssuedAt())
+        : Instant.ofEpochMilli(issuedAtMillis);
+  }
+
+  private static Instant toInstant(Date date) {
+    return date == null ? null : date.toInstant();
+  }
+}
@@ -8,13 +8,13 @@ import com.ventionteams.medfast.exception.auth.TokenNotFoundException;
 import com.ventionteams.medfast.repository.OneTimePasswordRepository;
 import com.ventionteams.medfast.service.EmailService;
 import com.ventionteams.medfast.service.UserService;
-import jakarta.mail.MessagingException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Random;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service responsible for handling one-time password operations.
@@ -47,9 +47,11 @@ public class OneTimePasswordService {
   }
 
   /**
-   * Send a reset password email to the user.
+   * Send a reset password email to the user. The email is queued in the outbox together with the
+   * one-time password and sent once the transaction commits.
    */
-  public void sendResetPasswordEmail(String email) throws MessagingException {
+  @Transactional
+  public void sendResetPasswordEmail(String email) {
     User user = userService.getUserByEmail(email);
     emailService.sendResetPasswordEmail(user, generate(user).getToken());
   }
@@ -50,7 +50,11 @@ public class PasswordService {
   /**
    * Change the password for the logged-in user.
    */
-  public void changePassword(User user, ChangePasswordRequest changePasswordRequest) {
+  public void changePassword(User principal, ChangePasswordRequest changePasswordRequest) {
+    // DEVNOTE: Claims-backed principals carry no credentials, so the stored user is loaded
+    User user = principal.getPassword() == null
+        ? userService.getUserByEmail(principal.getEmail())
+        : principal;
     if (!passwordEncoder.matches(changePasswordRequest.getCurrentPassword(), user.getPassword())) {
       throw new InvalidCurrentPasswordException("Incorrect current password. Please try again");
     }
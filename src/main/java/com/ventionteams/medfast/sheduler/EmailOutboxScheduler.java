@@ -0,0 +1,186 @@
+package com.ventionteams.medfast.sheduler;
+
+import com.ventionteams.medfast.config.properties.EmailOutboxConfig;
+import com.ventionteams.medfast.entity.EmailOutbox;
+import com.ventionteams.medfast.repository.EmailOutboxRepository;
+import com.ventionteams.medfast.service.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the email outbox. Every poll claims the due emails the workers have room for and the
+ * delivery rate limit allows, and hands them to the worker pool, so no request thread or request
+ * transaction ever waits on the mail relay. A failed delivery is retried with an exponential
+ * backoff until it runs out of attempts and is dead lettered. Dead letters are deleted once they
+ * outlive their retention.
+ */
+@Log4j2
+@Component
+public class EmailOutboxScheduler {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+  private static final int QUEUED_PER_WORKER = 4;
+
+  private final EmailOutboxRepository emailOutboxRepository;
+  private final EmailService emailService;
+  private final EmailOutboxConfig config;
+  private final ExecutorService workers;
+  private final int ratePerPoll;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Counter delivered;
+  private final Counter retried;
+  private final Counter deadLettered;
+  private final Counter purgedDeadLetters;
+  private final Timer deliveryDuration;
+  private final Timer deliveryLag;
+
+  /**
+   * Creates the scheduler with a worker pool of the configured size.
+   */
+  public EmailOutboxScheduler(EmailOutboxRepository emailOutboxRepository,
+      EmailService emailService, EmailOutboxConfig config, MeterRegistry meterRegistry) {
+    this.emailOutboxRepository = emailOutboxRepository;
+    this.emailService = emailService;
+    this.config = config;
+    // DEVNOTE: Polls run a fixed delay apart, so claiming this many per poll keeps the delivery
+    //  rate under max-per-second
+    this.ratePerPoll = (int) Math.max(1,
+        config.maxPerSecond() * config.pollInterval().toMillis() / 1000);
+    this.workers = Executors.newFixedThreadPool(config.workers(),
+        new CustomizableThreadFactory("email-outbox-"));
+    this.delivered = Counter.builder("email.outbox.delivered")
+        .description("Emails delivered from the outbox")
+        .register(meterRegistry);
+    this.retried = Counter.builder("email.outbox.retried")
+        .description("Failed email deliveries scheduled for a retry")
+        .register(meterRegistry);
+    this.deadLettered = Counter.builder("email.outbox.dead")
+        .description("Emails dead lettered after running out of delivery attempts")
+        .register(meterRegistry);
+    this.purgedDeadLetters = Counter.builder("email.outbox.dead.purged")
+        .description("Dead letters deleted after their retention")
+        .register(meterRegistry);
+    this.deliveryDuration = Timer.builder("email.outbox.delivery.duration")
+        .description("Time spent sending an email over SMTP")
+        .register(meterRegistry);
+    this.deliveryLag = Timer.builder("email.outbox.delivery.lag")
+        .description("Time from queueing an email to its delivery")
+        .register(meterRegistry);
+    Gauge.builder("email.outbox.in.flight", inFlight, AtomicInteger::get)
+        .description("Emails claimed from the outbox and not yet delivered")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Claims the due emails and submits them to the workers.
+   */
+  @Scheduled(fixedDelayString = "${email-outbox.poll-interval}")
+  public void drainOutbox() {
+    // DEVNOTE: Keeps a few emails queued per worker, so a worker never idles until the next poll
+    int capacity = Math.min(Math.min(config.batchSize(), ratePerPoll),
+        config.workers() * QUEUED_PER_WORKER - inFlight.get());
+    if (capacity <= 0) {
+      return;
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    List<EmailOutbox> claimed = emailOutboxRepository.claimDue(now, now.plus(config.lease()),
+        capacity);
+    for (EmailOutbox email : claimed) {
+      inFlight.incrementAndGet();
+      workers.execute(() -> {
+        try {
+          deliver(email);
+        } finally {
+          inFlight.decrementAndGet();
+        }
+      });
+    }
+  }
+
+  /**
+   * Deletes the dead letters older than the retention, batch-size rows per transaction.
+   */
+  @Scheduled(fixedDelayString = "${email-outbox.dead-letters.purge-interval}",
+      initialDelayString = "${email-outbox.dead-letters.purge-interval}")
+  public void purgeDeadLetters() {
+    LocalDateTime before = LocalDateTime.now().minus(config.deadLetters().retention());
+    long purged = 0;
+    int deleted;
+    do {
+      deleted = emailOutboxRepository.deleteDeadBefore(before, config.batchSize());
+      purged += deleted;
+      purgedDeadLetters.increment(deleted);
+    } while (deleted == config.batchSize());
+
+    if (purged > 0) {
+      log.info("Purged {} dead letters from the email outbox", purged);
+    }
+  }
+
+  void deliver(EmailOutbox email) {
+    long start = System.nanoTime();
+    try {
+      emailService.deliver(email);
+      deliveryDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      emailOutboxRepository.deleteDelivered(email.getId());
+      delivered.increment();
+      if (email.getCreatedDate() != null) {
+        deliveryLag.record(Duration.between(email.getCreatedDate(), LocalDateTime.now()));
+      }
+    } catch (MessagingException | RuntimeException e) {
+      deliveryDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      fail(email, e);
+    }
+  }
+
+  private void fail(EmailOutbox email, Exception e) {
+    int attempts = email.getAttempts() + 1;
+    String error = String.valueOf(e.getMessage());
+    if (error.length() > MAX_ERROR_LENGTH) {
+      error = error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    EmailOutboxConfig.Retry retry = config.retry();
+    if (attempts >= retry.maxAttempts()) {
+      emailOutboxRepository.markDead(email.getId(), attempts, error);
+      deadLettered.increment();
+      log.error("Email {} to {} is dead lettered after {} attempts", email.getId(),
+          email.getRecipient(), attempts, e);
+      return;
+    }
+
+    Duration backoff = backoff(retry, attempts);
+    emailOutboxRepository.reschedule(email.getId(), attempts, LocalDateTime.now().plus(backoff),
+        error);
+    retried.increment();
+    log.warn("Failed to deliver email {} to {}, attempt {} retried in {} s", email.getId(),
+        email.getRecipient(), attempts, backoff.toSeconds(), e);
+  }
+
+  static Duration backoff(EmailOutboxConfig.Retry retry, int attempts) {
+    // DEVNOTE: Caps the shift, so the doubling never overflows before it meets the max backoff
+    Duration backoff = retry.initialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+    return backoff.compareTo(retry.maxBackoff()) > 0 ? retry.maxBackoff() : backoff;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    workers.shutdown();
+  }
+}
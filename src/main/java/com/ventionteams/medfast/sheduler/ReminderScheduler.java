@@ -0,0 +1,35 @@
+package com.ventionteams.medfast.sheduler;
+
+import com.ventionteams.medfast.config.properties.ReminderConfig;
+import com.ventionteams.medfast.service.ReminderService;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queues the daily appointment notifications: the reminders of tomorrow's consultations and the
+ * notifications of the test results that became ready. The run is idempotent, so the same
+ * schedule firing on several instances or a rerun after a crash notifies every patient once.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class ReminderScheduler {
+
+  private final ReminderService reminderService;
+  private final ReminderConfig reminderConfig;
+
+  /**
+   * Queues the notifications due today.
+   */
+  @Scheduled(cron = "${reminders.cron}", zone = "${reminders.zone}")
+  public void sendReminders() {
+    LocalDate today = LocalDate.now(reminderConfig.zone());
+    int consultations = reminderService.remindOfConsultations(today.plusDays(1));
+    int testResults = reminderService.notifyOfTestResults(today);
+    log.info("Queued {} consultation reminders and {} test result notifications", consultations,
+        testResults);
+  }
+}
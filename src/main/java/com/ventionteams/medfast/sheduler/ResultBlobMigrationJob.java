@@ -0,0 +1,103 @@
+package com.ventionteams.medfast.sheduler;
+
+import com.ventionteams.medfast.config.properties.ResultStoreConfig;
+import com.ventionteams.medfast.entity.TestResult;
+import com.ventionteams.medfast.repository.TestResultRepository;
+import com.ventionteams.medfast.storage.ResultBlobStore;
+import com.ventionteams.medfast.storage.StoredBlob;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One-off job that moves the test results still stored inline in the database to the result
+ * store. The results are walked in keyset batches of ids and every result is moved in a
+ * transaction of its own, so a single PDF is held in memory at a time and an interrupted run
+ * resumes where it stopped. The startup run takes a thread of its own, so the application gets
+ * ready without waiting for it.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class ResultBlobMigrationJob {
+
+  private final TestResultRepository testResultRepository;
+  private final ResultBlobStore resultBlobStore;
+  private final ResultStoreConfig resultStoreConfig;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService migrator = Executors.newSingleThreadExecutor(
+      new CustomizableThreadFactory("result-migration-"));
+
+  /**
+   * Starts the migration on the migration thread when it is enabled.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrateOnStartup() {
+    if (resultStoreConfig.migration().enabled()) {
+      migrator.execute(() -> {
+        try {
+          migrate();
+        } catch (RuntimeException e) {
+          log.error("Failed to move the test results to the result store", e);
+        }
+      });
+    }
+  }
+
+  /**
+   * Stops a migration still running, it resumes on the next startup.
+   */
+  @PreDestroy
+  void shutdown() {
+    migrator.shutdownNow();
+  }
+
+  /**
+   * Moves the inline results to the result store, returns the number of moved results.
+   */
+  public int migrate() {
+    int batchSize = resultStoreConfig.migration().batchSize();
+    int moved = 0;
+    long afterId = 0;
+    List<Long> ids;
+    do {
+      if (Thread.currentThread().isInterrupted()) {
+        log.info("Stopped after moving {} test results to the result store", moved);
+        return moved;
+      }
+      ids = testResultRepository.findInlineIds(afterId, PageRequest.of(0, batchSize));
+      for (Long id : ids) {
+        moved += move(id);
+      }
+      if (!ids.isEmpty()) {
+        afterId = ids.get(ids.size() - 1);
+      }
+    } while (ids.size() == batchSize);
+
+    log.info("Moved {} test results to the result store", moved);
+    return moved;
+  }
+
+  private int move(Long id) {
+    Integer moved = transactionTemplate.execute(status -> testResultRepository.findById(id)
+        .filter(testResult -> testResult.getDigest() == null)
+        .map(TestResult::getPdf)
+        .map(pdf -> {
+          StoredBlob blob = resultBlobStore.put(pdf, MediaType.APPLICATION_PDF_VALUE);
+          return testResultRepository.moveToStore(id, blob.digest(), blob.size(),
+              blob.contentType());
+        })
+        .orElse(0));
+    return moved != null ? moved : 0;
+  }
+}
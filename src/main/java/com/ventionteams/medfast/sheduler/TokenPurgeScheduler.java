@@ -0,0 +1,140 @@
+package com.ventionteams.medfast.sheduler;
+
+import com.ventionteams.medfast.config.properties.HousekeepingConfig;
+import com.ventionteams.medfast.config.properties.TokenConfig;
+import com.ventionteams.medfast.config.properties.VerificationConfig;
+import com.ventionteams.medfast.repository.OneTimePasswordRepository;
+import com.ventionteams.medfast.repository.RefreshTokenRepository;
+import com.ventionteams.medfast.repository.RevokedTokenRepository;
+import com.ventionteams.medfast.repository.VerificationTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntUnaryOperator;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes the expired refresh tokens, verification tokens, one-time passwords and revoked token
+ * ids. Every batch is a short transaction of its own and the batches are separated by a pause, so
+ * the purge never holds locks for long nor competes with the request load for the database. The
+ * purge runs on a thread of its own, so its pauses never hold a scheduler thread.
+ */
+@Log4j2
+@Component
+public class TokenPurgeScheduler {
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final VerificationTokenRepository verificationTokenRepository;
+  private final OneTimePasswordRepository oneTimePasswordRepository;
+  private final RevokedTokenRepository revokedTokenRepository;
+  private final TokenConfig tokenConfig;
+  private final VerificationConfig verificationConfig;
+  private final HousekeepingConfig housekeepingConfig;
+  private final MeterRegistry meterRegistry;
+  private final ExecutorService purger = Executors.newSingleThreadExecutor(
+      new CustomizableThreadFactory("token-purge-"));
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  /**
+   * Creates the scheduler.
+   */
+  public TokenPurgeScheduler(RefreshTokenRepository refreshTokenRepository,
+      VerificationTokenRepository verificationTokenRepository,
+      OneTimePasswordRepository oneTimePasswordRepository,
+      RevokedTokenRepository revokedTokenRepository, TokenConfig tokenConfig,
+      VerificationConfig verificationConfig, HousekeepingConfig housekeepingConfig,
+      MeterRegistry meterRegistry) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.verificationTokenRepository = verificationTokenRepository;
+    this.oneTimePasswordRepository = oneTimePasswordRepository;
+    this.revokedTokenRepository = revokedTokenRepository;
+    this.tokenConfig = tokenConfig;
+    this.verificationConfig = verificationConfig;
+    this.housekeepingConfig = housekeepingConfig;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Hands the purge to the purge thread unless the previous purge is still running.
+   */
+  @Scheduled(fixedDelayString = "${housekeeping.token-purge.interval}",
+      initialDelayString = "${housekeeping.token-purge.interval}")
+  public void schedulePurge() {
+    if (!running.compareAndSet(false, true)) {
+      return;
+    }
+    purger.execute(() -> {
+      try {
+        purgeExpiredTokens();
+      } finally {
+        running.set(false);
+      }
+    });
+  }
+
+  /**
+   * Purges the rows that outlived their timeouts.
+   */
+  public void purgeExpiredTokens() {
+    LocalDateTime now = LocalDateTime.now();
+
+    purge("refresh_tokens", limit -> refreshTokenRepository.deleteCreatedBefore(
+        now.minusSeconds(tokenConfig.timeout().refresh()), limit));
+    purge("verification_tokens", limit -> verificationTokenRepository.deleteCreatedBefore(
+        now.minusSeconds(verificationConfig.code().timeout()), limit));
+    purge("one_time_passwords", limit -> oneTimePasswordRepository.deleteCreatedBefore(
+        now.minusSeconds(tokenConfig.timeout().resetPassword()), limit));
+    purge("revoked_tokens", limit -> revokedTokenRepository.deleteExpiredBefore(now, limit));
+  }
+
+  private void purge(String table, IntUnaryOperator deleteBatch) {
+    HousekeepingConfig.TokenPurge config = housekeepingConfig.tokenPurge();
+    Counter purgedRows = Counter.builder("token.purge.rows")
+        .description("Expired rows deleted by the token purge")
+        .tag("table", table)
+        .register(meterRegistry);
+
+    long purged = 0;
+    for (int batch = 1; batch <= config.maxBatches(); batch++) {
+      int deleted = deleteBatch.applyAsInt(config.batchSize());
+      purged += deleted;
+      purgedRows.increment(deleted);
+      if (deleted < config.batchSize() || batch == config.maxBatches() || !pause()) {
+        break;
+      }
+    }
+
+    if (purged > 0) {
+      log.info("Purged {} expired rows from {}", purged, table);
+    }
+  }
+
+  private boolean pause() {
+    Timer throttle = Timer.builder("token.purge.throttle")
+        .description("Time the token purge spent pausing between batches")
+        .register(meterRegistry);
+    try {
+      long start = System.nanoTime();
+      Thread.sleep(housekeepingConfig.tokenPurge().pause().toMillis());
+      throttle.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    purger.shutdownNow();
+  }
+}
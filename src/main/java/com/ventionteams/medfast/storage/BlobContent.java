@@ -0,0 +1,10 @@
+package com.ventionteams.medfast.storage;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Content of a blob with the SHA-256 digest it is addressed by.
+ */
+public record BlobContent(Resource resource, String digest) {
+
+}
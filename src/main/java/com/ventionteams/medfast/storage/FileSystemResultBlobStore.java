@@ -0,0 +1,82 @@
+package com.ventionteams.medfast.storage;
+
+import com.ventionteams.medfast.config.properties.ResultStoreConfig;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Result store on the local filesystem. The blobs are sharded in two levels of directories named
+ * by the first characters of the digest, so no directory grows too large. A blob is written to a
+ * temporary file next to its target and renamed into place once it is on disk, so a reader never
+ * sees a partially written blob.
+ */
+@Component
+public class FileSystemResultBlobStore implements ResultBlobStore {
+
+  private static final Pattern DIGEST = Pattern.compile("[0-9a-f]{64}");
+
+  private final Path root;
+
+  /**
+   * Creates the store under the configured root directory.
+   */
+  public FileSystemResultBlobStore(ResultStoreConfig config) {
+    this.root = config.root().toAbsolutePath().normalize();
+  }
+
+  @Override
+  public StoredBlob put(byte[] content, String contentType) {
+    String digest = ResultBlobStore.digest(content);
+    Path target = path(digest);
+    // DEVNOTE: The name is the digest, so a stored blob already holds exactly this content
+    if (Files.notExists(target)) {
+      try {
+        write(target, content);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to store blob " + digest, e);
+      }
+    }
+    return new StoredBlob(digest, content.length, contentType);
+  }
+
+  @Override
+  public Optional<Resource> find(String digest) {
+    Path path = path(digest);
+    return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+  }
+
+  Path path(String digest) {
+    if (!DIGEST.matcher(digest).matches()) {
+      throw new IllegalArgumentException("Not a SHA-256 digest: " + digest);
+    }
+    return root.resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest);
+  }
+
+  private static void write(Path target, byte[] content) throws IOException {
+    Path directory = Files.createDirectories(target.getParent());
+    Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+}
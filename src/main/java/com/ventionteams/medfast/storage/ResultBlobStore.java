@@ -0,0 +1,35 @@
+package com.ventionteams.medfast.storage;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import org.springframework.core.io.Resource;
+
+/**
+ * Content addressed store of the test result blobs. A blob is named by the SHA-256 digest of its
+ * content, so storing the same content twice keeps a single copy.
+ */
+public interface ResultBlobStore {
+
+  /**
+   * Stores the content unless a blob with the same digest is already stored.
+   */
+  StoredBlob put(byte[] content, String contentType);
+
+  /**
+   * Finds the blob with the given digest.
+   */
+  Optional<Resource> find(String digest);
+
+  /**
+   * Computes the SHA-256 digest the content is addressed by.
+   */
+  static String digest(byte[] content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
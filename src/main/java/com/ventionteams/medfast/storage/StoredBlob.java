@@ -0,0 +1,8 @@
+package com.ventionteams.medfast.storage;
+
+/**
+ * Blob written to the result store, addressed by the SHA-256 digest of its content.
+ */
+public record StoredBlob(String digest, long size, String contentType) {
+
+}
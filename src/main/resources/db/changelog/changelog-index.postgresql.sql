@@ -32,4 +32,58 @@ CREATE INDEX test_appointments_patients__fk ON test_appointments (patient_id);
 
 -- changeset Katarzyna.Osowska:42_MED_146_Medical_Tests
 CREATE INDEX test_appointments_doctors__fk ON test_appointments (doctor_id);
--- rollback DROP INDEX test_appointments_doctors__fk;
\ No newline at end of file
+-- rollback DROP INDEX test_appointments_doctors__fk;
+
+-- changeset David.Rabko:47_Token_Revocation
+CREATE INDEX revoked_tokens_expires_at__idx ON revoked_tokens (expires_at);
+-- rollback DROP INDEX revoked_tokens_expires_at__idx;
+
+-- changeset David.Rabko:51_Token_Purge
+CREATE INDEX refresh_tokens_created_date__idx ON refresh_tokens (created_date);
+-- rollback DROP INDEX refresh_tokens_created_date__idx;
+
+-- changeset David.Rabko:52_Token_Purge
+CREATE INDEX verification_tokens_created_date__idx ON verification_tokens (created_date);
+-- rollback DROP INDEX verification_tokens_created_date__idx;
+
+-- changeset David.Rabko:53_Token_Purge
+CREATE INDEX one_time_passwords_created_date__idx ON one_time_passwords (created_date);
+-- rollback DROP INDEX one_time_passwords_created_date__idx;
+
+-- changeset David.Rabko:55_Refresh_Token_Rotation
+CREATE UNIQUE INDEX refresh_tokens_family_id__idx ON refresh_tokens (family_id);
+-- rollback DROP INDEX refresh_tokens_family_id__idx;
+
+-- changeset David.Rabko:57_Email_Outbox
+CREATE INDEX email_outbox_pending_next_attempt_at__idx ON email_outbox (next_attempt_at)
+    WHERE status = 'PENDING';
+-- rollback DROP INDEX email_outbox_pending_next_attempt_at__idx;
+
+-- changeset David.Rabko:60_Email_Outbox_Priority
+DROP INDEX email_outbox_pending_next_attempt_at__idx;
+CREATE INDEX email_outbox_pending_priority_next_attempt_at__idx
+    ON email_outbox (priority, next_attempt_at)
+    WHERE status = 'PENDING';
+-- rollback DROP INDEX email_outbox_pending_priority_next_attempt_at__idx;
+-- rollback CREATE INDEX email_outbox_pending_next_attempt_at__idx ON email_outbox (next_attempt_at) WHERE status = 'PENDING';
+
+-- changeset David.Rabko:61_Appointment_Reminders
+CREATE INDEX consultation_appointments_date_from__idx ON consultation_appointments (date_from);
+-- rollback DROP INDEX consultation_appointments_date_from__idx;
+
+-- changeset David.Rabko:62_Appointment_Windows
+CREATE INDEX consultation_appointments_patient_id_date_from_id__idx
+    ON consultation_appointments (patient_id, date_from, id);
+CREATE INDEX consultation_appointments_doctor_id_date_from_id__idx
+    ON consultation_appointments (doctor_id, date_from, id);
+-- rollback DROP INDEX consultation_appointments_patient_id_date_from_id__idx;
+-- rollback DROP INDEX consultation_appointments_doctor_id_date_from_id__idx;
+
+-- changeset David.Rabko:63_Keyset_Pagination
+CREATE INDEX test_appointments_patient_id_date_of_test_id__idx
+    ON test_appointments (patient_id, date_of_test, id);
+-- rollback DROP INDEX test_appointments_patient_id_date_of_test_id__idx;
+
+-- changeset David.Rabko:66_Test_Result_Notifications
+CREATE INDEX test_results_created_date__idx ON test_results (created_date);
+-- rollback DROP INDEX test_results_created_date__idx;
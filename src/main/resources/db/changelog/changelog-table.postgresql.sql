@@ -278,3 +278,137 @@ ALTER TABLE test_appointments
     ADD CONSTRAINT doctors__fk FOREIGN KEY (doctor_id) REFERENCES users (id) ON UPDATE RESTRICT ON DELETE RESTRICT;
 -- rollback ALTER TABLE test_appointments DROP CONSTRAINT doctors__fk;
 
+-- changeset David.Rabko:43_Claims_Principal
+ALTER TABLE users
+    ADD COLUMN security_version BIGINT NOT NULL DEFAULT 0;
+-- rollback ALTER TABLE users DROP COLUMN security_version;
+
+-- changeset David.Rabko:44_Token_Revocation
+CREATE TABLE revoked_tokens
+(
+    token_id                VARCHAR(64)                                 NOT NULL,
+    expires_at              TIMESTAMP                                   NOT NULL,
+    created_date            TIMESTAMP                                   DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT revoked_tokens_pkey PRIMARY KEY (token_id)
+);
+-- rollback DROP TABLE revoked_tokens;
+
+-- changeset David.Rabko:45_Token_Revocation splitStatements:false
+CREATE FUNCTION notify_revoked_token() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('revoked_tokens', NEW.token_id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+-- rollback DROP FUNCTION notify_revoked_token();
+
+-- changeset David.Rabko:46_Token_Revocation
+CREATE TRIGGER revoked_tokens_notify
+    AFTER INSERT ON revoked_tokens
+    FOR EACH ROW EXECUTE FUNCTION notify_revoked_token();
+-- rollback DROP TRIGGER revoked_tokens_notify ON revoked_tokens;
+
+-- changeset David.Rabko:48_Token_Epochs
+ALTER TABLE users
+    ADD COLUMN tokens_not_before BIGINT;
+-- rollback ALTER TABLE users DROP COLUMN tokens_not_before;
+
+-- changeset David.Rabko:49_Token_Epochs splitStatements:false
+CREATE FUNCTION notify_token_epoch() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('token_epochs', NEW.id || ':' || NEW.tokens_not_before);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+-- rollback DROP FUNCTION notify_token_epoch();
+
+-- changeset David.Rabko:50_Token_Epochs
+CREATE TRIGGER users_token_epoch_notify
+    AFTER UPDATE OF tokens_not_before ON users
+    FOR EACH ROW
+    WHEN (NEW.tokens_not_before IS NOT NULL
+        AND OLD.tokens_not_before IS DISTINCT FROM NEW.tokens_not_before)
+    EXECUTE FUNCTION notify_token_epoch();
+-- rollback DROP TRIGGER users_token_epoch_notify ON users;
+
+-- changeset David.Rabko:54_Refresh_Token_Rotation
+ALTER TABLE refresh_tokens
+    ADD COLUMN family_id  UUID NOT NULL DEFAULT gen_random_uuid(),
+    ADD COLUMN token_hash BYTEA;
+UPDATE refresh_tokens SET token_hash = sha256(convert_to(token, 'UTF8'));
+ALTER TABLE refresh_tokens
+    ALTER COLUMN family_id DROP DEFAULT,
+    ALTER COLUMN token_hash SET NOT NULL,
+    DROP COLUMN token;
+-- rollback ALTER TABLE refresh_tokens ADD COLUMN token VARCHAR(36);
+-- rollback UPDATE refresh_tokens SET token = gen_random_uuid()::text;
+-- rollback ALTER TABLE refresh_tokens ALTER COLUMN token SET NOT NULL, DROP COLUMN family_id, DROP COLUMN token_hash;
+
+-- changeset David.Rabko:56_Email_Outbox
+CREATE TABLE email_outbox
+(
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    recipient          VARCHAR(255)                            NOT NULL,
+    subject            VARCHAR(255)                            NOT NULL,
+    content            TEXT                                    NOT NULL,
+    status             VARCHAR(16)                             NOT NULL,
+    attempts           INTEGER                                 NOT NULL DEFAULT 0,
+    next_attempt_at    TIMESTAMP                               NOT NULL,
+    last_error         VARCHAR(1000),
+    created_date       TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_modified_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_by         VARCHAR(50),
+    last_modified_by   VARCHAR(50),
+    CONSTRAINT email_outbox_pkey PRIMARY KEY (id)
+);
+-- rollback DROP TABLE email_outbox;
+
+-- changeset David.Rabko:58_Email_Outbox_Priority
+ALTER TABLE email_outbox
+    ADD COLUMN priority SMALLINT NOT NULL DEFAULT 0;
+-- rollback ALTER TABLE email_outbox DROP COLUMN priority;
+
+-- changeset David.Rabko:59_Appointment_Reminders
+CREATE TABLE appointment_reminders
+(
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    kind           VARCHAR(32)                             NOT NULL,
+    appointment_id BIGINT                                  NOT NULL,
+    recipient      VARCHAR(255)                            NOT NULL,
+    created_date   TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT appointment_reminders_pkey PRIMARY KEY (id),
+    CONSTRAINT appointment_reminders_kind_appointment_id_key UNIQUE (kind, appointment_id)
+);
+-- rollback DROP TABLE appointment_reminders;
+
+-- changeset David.Rabko:64_Test_Results
+CREATE TABLE test_results
+(
+    test_appointment_id INTEGER   NOT NULL,
+    pdf                 BYTEA     NOT NULL,
+    created_date        TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT test_results_pkey PRIMARY KEY (test_appointment_id),
+    CONSTRAINT test_results_test_appointment_id_fkey FOREIGN KEY (test_appointment_id)
+        REFERENCES test_appointments (id) ON DELETE CASCADE
+);
+INSERT INTO test_results (test_appointment_id, pdf, created_date)
+SELECT id, pdf_result, NULL FROM test_appointments WHERE pdf_result IS NOT NULL;
+ALTER TABLE test_appointments
+    ADD COLUMN has_pdf_result BOOLEAN NOT NULL DEFAULT FALSE;
+UPDATE test_appointments SET has_pdf_result = TRUE WHERE pdf_result IS NOT NULL;
+ALTER TABLE test_appointments
+    DROP COLUMN pdf_result;
+-- rollback ALTER TABLE test_appointments ADD COLUMN pdf_result BYTEA;
+-- rollback UPDATE test_appointments t SET pdf_result = r.pdf FROM test_results r WHERE r.test_appointment_id = t.id;
+-- rollback ALTER TABLE test_appointments DROP COLUMN has_pdf_result;
+-- rollback DROP TABLE test_results;
+
+-- changeset David.Rabko:65_Test_Result_Blobs
+ALTER TABLE test_results
+    ADD COLUMN digest       VARCHAR(64),
+    ADD COLUMN size         BIGINT,
+    ADD COLUMN content_type VARCHAR(100),
+    ALTER COLUMN pdf DROP NOT NULL,
+    ADD CONSTRAINT test_results_content_check CHECK (digest IS NOT NULL OR pdf IS NOT NULL);
+-- rollback ALTER TABLE test_results ALTER COLUMN pdf SET NOT NULL;
+-- rollback ALTER TABLE test_results DROP CONSTRAINT test_results_content_check, DROP COLUMN digest, DROP COLUMN size, DROP COLUMN content_type;
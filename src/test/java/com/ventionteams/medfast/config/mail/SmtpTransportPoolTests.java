@@ -0,0 +1,126 @@
+package com.ventionteams.medfast.config.mail;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ventionteams.medfast.config.mail.SmtpTransportPool.PooledTransport;
+import com.ventionteams.medfast.config.properties.MailTransportConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks SMTP transport pool functionality with unit tests.
+ */
+public class SmtpTransportPoolTests {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicInteger connects = new AtomicInteger();
+
+  private Transport transport;
+  private SmtpTransportPool pool;
+
+  @BeforeEach
+  void setUp() {
+    transport = mock(Transport.class);
+    when(transport.isConnected()).thenReturn(true);
+    MailTransportConfig.Pool config = new MailTransportConfig.Pool(1, Duration.ofMinutes(1), 2,
+        Duration.ofMillis(10));
+    pool = new SmtpTransportPool(() -> {
+      connects.incrementAndGet();
+      return transport;
+    }, config, now::get, meterRegistry);
+  }
+
+  @Test
+  public void borrow_ReleasedTransport_ConnectionReused() throws MessagingException {
+    pool.release(pool.borrow());
+    pool.release(pool.borrow());
+
+    Assertions.assertEquals(1, connects.get());
+    Assertions.assertEquals(1, meterRegistry.get("mail.transport.opened").counter().count());
+  }
+
+  @Test
+  public void borrow_AllTransportsInUse_ExceptionThrown() throws MessagingException {
+    pool.borrow();
+
+    Assertions.assertThrows(MessagingException.class, () -> pool.borrow());
+  }
+
+  @Test
+  public void borrow_DiscardedTransport_NewConnectionOpened() throws MessagingException {
+    pool.discard(pool.borrow());
+    pool.borrow();
+
+    Assertions.assertEquals(2, connects.get());
+    verify(transport).close();
+  }
+
+  @Test
+  public void borrow_IdleTimeoutPassed_NewConnectionOpened() throws MessagingException {
+    pool.release(pool.borrow());
+    now.addAndGet(Duration.ofMinutes(2).toNanos());
+    pool.borrow();
+
+    Assertions.assertEquals(2, connects.get());
+    verify(transport).close();
+  }
+
+  @Test
+  public void release_MaxMessagesSent_ConnectionClosed() throws MessagingException {
+    PooledTransport pooled = pool.borrow();
+    pooled.send(mock(MimeMessage.class), new Address[0]);
+    pooled.send(mock(MimeMessage.class), new Address[0]);
+    pool.release(pooled);
+
+    verify(transport, times(2)).sendMessage(any(MimeMessage.class), any(Address[].class));
+    verify(transport).close();
+    Assertions.assertEquals(0, meterRegistry.get("mail.transport.open").gauge().value());
+  }
+
+  @Test
+  public void evictIdle_RecentlyUsed_ConnectionKept() throws MessagingException {
+    pool.release(pool.borrow());
+
+    pool.evictIdle();
+
+    verify(transport, never()).close();
+    Assertions.assertEquals(1, meterRegistry.get("mail.transport.idle").gauge().value());
+  }
+
+  @Test
+  public void close_BorrowedTransport_ConnectionClosed() throws MessagingException {
+    pool.borrow();
+
+    pool.close();
+
+    verify(transport).close();
+    Assertions.assertEquals(0, meterRegistry.get("mail.transport.open").gauge().value());
+  }
+
+  @Test
+  public void release_PoolClosed_ConnectionNotReused() throws MessagingException {
+    PooledTransport pooled = pool.borrow();
+    pool.close();
+
+    pool.release(pooled);
+
+    verify(transport).close();
+    Assertions.assertEquals(0, meterRegistry.get("mail.transport.idle").gauge().value());
+    Assertions.assertThrows(MessagingException.class, () -> pool.borrow());
+  }
+}
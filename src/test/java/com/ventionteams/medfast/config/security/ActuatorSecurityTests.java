@@ -0,0 +1,50 @@
+package com.ventionteams.medfast.config.security;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ventionteams.medfast.config.extension.PostgreContainerExtension;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Checks the access to the actuator endpoints with integration tests.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(PostgreContainerExtension.class)
+public class ActuatorSecurityTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  void health_NoUser_NotDenied() throws Exception {
+    // DEVNOTE: The health itself depends on the mail server, only the access is checked
+    mockMvc.perform(get("/actuator/health"))
+        .andExpect(result -> Assertions.assertThat(result.getResponse().getStatus())
+            .isNotIn(HttpStatus.UNAUTHORIZED.value(), HttpStatus.FORBIDDEN.value()));
+  }
+
+  @Test
+  void metrics_Patient_ReturnsForbidden() throws Exception {
+    mockMvc.perform(get("/actuator/metrics")
+            .with(user("patient@example.com").authorities(new SimpleGrantedAuthority("PATIENT"))))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void metrics_Admin_ReturnsOk() throws Exception {
+    mockMvc.perform(get("/actuator/metrics")
+            .with(user("admin@example.com").authorities(new SimpleGrantedAuthority("ADMIN"))))
+        .andExpect(status().isOk());
+  }
+}
@@ -0,0 +1,44 @@
+package com.ventionteams.medfast.config.security;
+
+import com.ventionteams.medfast.config.properties.PasswordHashingConfig;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks BCrypt cost calibration functionality with unit tests.
+ */
+public class BcryptCostCalibrationTests {
+
+  // DEVNOTE: Cost 10 hashes in 20 ms, every further cost doubles the time
+  private static Duration hashTime(int cost) {
+    return Duration.ofMillis(20L << (cost - 10));
+  }
+
+  @Test
+  public void calibrate_BudgetWithinRange_HighestFittingCostChosen() {
+    PasswordHashingConfig.Cost config =
+        new PasswordHashingConfig.Cost(Duration.ofMillis(80), 10, 14, 5);
+
+    Assertions.assertEquals(12,
+        BcryptCostCalibration.calibrate(config, BcryptCostCalibrationTests::hashTime));
+  }
+
+  @Test
+  public void calibrate_BudgetAboveRange_MaxCostChosen() {
+    PasswordHashingConfig.Cost config =
+        new PasswordHashingConfig.Cost(Duration.ofSeconds(10), 10, 14, 5);
+
+    Assertions.assertEquals(14,
+        BcryptCostCalibration.calibrate(config, BcryptCostCalibrationTests::hashTime));
+  }
+
+  @Test
+  public void calibrate_BudgetBelowMinCost_MinCostChosen() {
+    PasswordHashingConfig.Cost config =
+        new PasswordHashingConfig.Cost(Duration.ofMillis(5), 10, 14, 5);
+
+    Assertions.assertEquals(10,
+        BcryptCostCalibration.calibrate(config, BcryptCostCalibrationTests::hashTime));
+  }
+}
@@ -0,0 +1,76 @@
+package com.ventionteams.medfast.config.security;
+
+import com.ventionteams.medfast.config.properties.PasswordHashingConfig;
+import com.ventionteams.medfast.exception.password.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Checks bounded password encoder functionality with unit tests.
+ */
+public class BoundedPasswordEncoderTests {
+
+  private final CountDownLatch hashingStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseHashing = new CountDownLatch(1);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+    @Override
+    public String encode(CharSequence rawPassword) {
+      hashingStarted.countDown();
+      try {
+        releaseHashing.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "{hashed}" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encodedPassword.equals("{hashed}" + rawPassword);
+    }
+  };
+
+  private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blockingEncoder,
+      new PasswordHashingConfig.Executor(1, 0, 3), meterRegistry);
+
+  @AfterEach
+  public void tearDown() {
+    releaseHashing.countDown();
+    encoder.shutdown();
+  }
+
+  @Test
+  public void encode_IdlePool_DelegateResultReturned() {
+    releaseHashing.countDown();
+
+    Assertions.assertEquals("{hashed}password", encoder.encode("password"));
+    Assertions.assertTrue(encoder.matches("password", "{hashed}password"));
+    Assertions.assertEquals(1, meterRegistry.get("password.hash.duration")
+        .tag("operation", "encode").timer().count());
+  }
+
+  @Test
+  public void matches_SaturatedPool_UnavailableExceptionThrown() throws Exception {
+    CompletableFuture<String> pending = CompletableFuture.supplyAsync(
+        () -> encoder.encode("password"));
+    Assertions.assertTrue(hashingStarted.await(5, TimeUnit.SECONDS));
+
+    PasswordHashingUnavailableException exception = Assertions.assertThrows(
+        PasswordHashingUnavailableException.class,
+        () -> encoder.matches("password", "{hashed}password"));
+
+    Assertions.assertEquals(3, exception.getRetryAfter());
+    Assertions.assertEquals(1, meterRegistry.get("password.hash.rejected").counter().count());
+
+    releaseHashing.countDown();
+    Assertions.assertEquals("{hashed}password", pending.get(5, TimeUnit.SECONDS));
+  }
+}
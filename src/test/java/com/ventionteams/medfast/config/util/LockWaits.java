@@ -0,0 +1,56 @@
+package com.ventionteams.medfast.config.util;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Waits for concurrent test transactions to queue up behind each other's locks, so a test can
+ * release the lock holder only once the contention it checks actually happened.
+ */
+public final class LockWaits {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private LockWaits() {
+  }
+
+  /**
+   * Blocks until the given number of backends of the test database wait for a lock.
+   */
+  public static void awaitBlocked(JdbcTemplate jdbcTemplate, int backends) {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (blocked(jdbcTemplate) < backends) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError("No " + backends + " backends waited for a lock in " + TIMEOUT);
+      }
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  /**
+   * Blocks until the latch, counted down by another test transaction, is released.
+   */
+  public static void await(CountDownLatch latch) {
+    try {
+      if (!latch.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+        throw new AssertionError("Latch was not released in " + TIMEOUT);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static int blocked(JdbcTemplate jdbcTemplate) {
+    Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity "
+        + "WHERE datname = current_database() AND wait_event_type = 'Lock'", Integer.class);
+    return count == null ? 0 : count;
+  }
+}
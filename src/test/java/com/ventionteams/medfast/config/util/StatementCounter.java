@@ -0,0 +1,45 @@
+package com.ventionteams.medfast.config.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the statements Hibernate prepares on the calling thread while a block runs. Registered
+ * as the statement inspector of the test persistence unit, statements of other threads are never
+ * counted.
+ */
+public class StatementCounter implements StatementInspector {
+
+  private static final ThreadLocal<AtomicInteger> COUNT = new ThreadLocal<>();
+
+  /**
+   * Runs the block and returns its result with the number of statements it prepared.
+   */
+  public static <T> Counted<T> count(Supplier<T> block) {
+    AtomicInteger count = new AtomicInteger();
+    COUNT.set(count);
+    try {
+      T result = block.get();
+      return new Counted<>(result, count.get());
+    } finally {
+      COUNT.remove();
+    }
+  }
+
+  @Override
+  public String inspect(String sql) {
+    AtomicInteger count = COUNT.get();
+    if (count != null) {
+      count.incrementAndGet();
+    }
+    return sql;
+  }
+
+  /**
+   * Result of a block with the number of statements it prepared.
+   */
+  public record Counted<T>(T result, int statements) {
+
+  }
+}
@@ -10,6 +10,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.ventionteams.medfast.config.extension.PostgreContainerExtension;
 import com.ventionteams.medfast.dto.response.AppointmentResponse;
+import com.ventionteams.medfast.dto.response.CursorPage;
 import com.ventionteams.medfast.entity.Person;
 import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.enums.AppointmentRequestType;
@@ -52,7 +53,8 @@ public class AppointmentControllerTests {
     );
 
     when(appointmentService.getAppointments(Optional.of(mockPerson), Optional.empty(),
-        AppointmentRequestType.UPCOMING)).thenReturn(mockAppointments);
+        AppointmentRequestType.UPCOMING, Optional.empty()))
+        .thenReturn(new CursorPage<>(mockAppointments, null));
 
     ResultActions response = mockMvc.perform(get("/api/patient/appointments")
         .param("type", "UPCOMING")
@@ -64,7 +66,8 @@ public class AppointmentControllerTests {
   @Test
   public void getAppointments_NoUser_ReturnsForbidden() throws Exception {
     when(appointmentService.getAppointments(Optional.empty(), Optional.empty(),
-        AppointmentRequestType.UPCOMING)).thenReturn(List.of());
+        AppointmentRequestType.UPCOMING, Optional.empty()))
+        .thenReturn(new CursorPage<>(List.of(), null));
 
     ResultActions response = mockMvc.perform(get("/api/patient/appointments")
         .param("type", "UPCOMING"));
@@ -86,8 +89,9 @@ public class AppointmentControllerTests {
     when(appointmentService.getAppointments(
         Optional.of(mockPerson),
         Optional.of(1),
-        AppointmentRequestType.UPCOMING
-    )).thenReturn(mockAppointments);
+        AppointmentRequestType.UPCOMING,
+        Optional.empty()
+    )).thenReturn(new CursorPage<>(mockAppointments, "next-cursor"));
 
     ResultActions response = mockMvc.perform(get("/api/patient/appointments")
         .contentType(MediaType.APPLICATION_JSON)
@@ -95,7 +99,9 @@ public class AppointmentControllerTests {
         .param("amount", "1")
         .with(user(user)));
 
-    response.andExpect(jsonPath("$.data.length()").value(1)).andDo(print());
+    response.andExpect(jsonPath("$.data.length()").value(1))
+        .andExpect(jsonPath("$.next").value("next-cursor"))
+        .andDo(print());
   }
 
   @Test
@@ -105,7 +111,8 @@ public class AppointmentControllerTests {
 
     when(mockUser.getPerson()).thenReturn(mockPerson);
     when(appointmentService.getAppointments(Optional.of(mockPerson), Optional.of(-1),
-        AppointmentRequestType.UPCOMING)).thenThrow(NegativeAppointmentsAmountException.class);
+        AppointmentRequestType.UPCOMING, Optional.empty()))
+        .thenThrow(NegativeAppointmentsAmountException.class);
 
     ResultActions response = mockMvc.perform(get("/api/patient/appointments")
         .param("amount", "-1")
@@ -10,19 +10,28 @@ import com.ventionteams.medfast.config.util.PatientProvider;
 import com.ventionteams.medfast.dto.request.SignInRequest;
 import com.ventionteams.medfast.entity.User;
 import io.restassured.http.ContentType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
 
 /**
  * Tests the authorization controller functionality with integration tests.
  */
 @ExtendWith(PostgreContainerExtension.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class AuthControllerTests extends IntegrationTest {
 
   @Autowired
   private EntityProvider<User> patientProvider;
 
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
   @Test
   public void signIn_ValidRequest_CreatesTokenAndReturnsOk() {
     User user = patientProvider.provide();
@@ -42,4 +51,24 @@ public class AuthControllerTests extends IntegrationTest {
         .body("data.expiresIn", notNullValue())
         .body("data.refreshExpiresIn", notNullValue());
   }
+
+  @Test
+  public void signIn_ValidRequest_UserLoadedOnce() {
+    User user = patientProvider.provide();
+    SignInRequest request = new SignInRequest(user.getEmail(),
+        ((PatientProvider) patientProvider).getRawPassword(user.getEmail()));
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(request)
+        .when()
+        .post("/auth/signin")
+        .then()
+        .statusCode(200);
+
+    Assertions.assertEquals(1,
+        statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+  }
 }
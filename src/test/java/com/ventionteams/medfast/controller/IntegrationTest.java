@@ -8,7 +8,8 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 /**
  * Base class for integration tests. Sets up the RestAssured configuration.
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "rate-limit.enabled=false")
 public abstract class IntegrationTest {
 
   @LocalServerPort
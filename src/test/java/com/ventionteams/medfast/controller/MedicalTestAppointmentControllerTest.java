@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -21,6 +22,7 @@ import com.ventionteams.medfast.enums.MedicalTestCategory;
 import com.ventionteams.medfast.exception.medicaltest.BadCredentialsForMedicalTest;
 import com.ventionteams.medfast.exception.medicaltest.InvalidMedicalTestDataException;
 import com.ventionteams.medfast.service.MedicalTestAppointmentService;
+import com.ventionteams.medfast.storage.BlobContent;
 import java.time.LocalDate;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +30,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -41,6 +44,9 @@ import org.springframework.test.web.servlet.ResultActions;
 @ExtendWith(PostgreContainerExtension.class)
 public class MedicalTestAppointmentControllerTest {
 
+  private static final String DIGEST =
+      "f6a214f7a5fcda0c2cee9660b7fc29f5649e3c68aad48e20e950137c98913a68";
+
   @Autowired
   private MockMvc mockMvc;
 
@@ -94,7 +100,7 @@ public class MedicalTestAppointmentControllerTest {
         .when(medicalTestAppointmentService).getPdfName(any(Long.class));
 
     when(medicalTestAppointmentService.getTestResult(any(User.class), any(Long.class)))
-        .thenReturn(byteArray);
+        .thenReturn(new BlobContent(new ByteArrayResource(byteArray), DIGEST));
 
     ResultActions response = mockMvc.perform(get("/api/patient/tests/result")
         .param("testId", "1")
@@ -103,7 +109,47 @@ public class MedicalTestAppointmentControllerTest {
     response.andExpect(status().isOk())
         .andExpect(header().exists("Content-Length"))
         .andExpect(header().string("Content-Length",
-            org.hamcrest.Matchers.greaterThan("0")));
+            org.hamcrest.Matchers.greaterThan("0")))
+        .andExpect(header().string("ETag", "\"" + DIGEST + "\""));
+  }
+
+  @Test
+  public void getTestResult_MatchingETag_ReturnsNotModified() throws Exception {
+    User mockUser = mock(User.class);
+    byte[] byteArray = new byte[]{(byte) 0xe0, 0x4f, (byte) 0xd0, 0x20};
+
+    doReturn("test.pdf")
+        .when(medicalTestAppointmentService).getPdfName(any(Long.class));
+    when(medicalTestAppointmentService.getTestResult(any(User.class), any(Long.class)))
+        .thenReturn(new BlobContent(new ByteArrayResource(byteArray), DIGEST));
+
+    ResultActions response = mockMvc.perform(get("/api/patient/tests/result")
+        .param("testId", "1")
+        .header("If-None-Match", "\"" + DIGEST + "\"")
+        .with(user(mockUser)));
+
+    response.andExpect(status().isNotModified())
+        .andExpect(content().bytes(new byte[0]));
+  }
+
+  @Test
+  public void getTestResult_RangeRequest_ReturnsPartialContent() throws Exception {
+    User mockUser = mock(User.class);
+    byte[] byteArray = new byte[]{(byte) 0xe0, 0x4f, (byte) 0xd0, 0x20};
+
+    doReturn("test.pdf")
+        .when(medicalTestAppointmentService).getPdfName(any(Long.class));
+    when(medicalTestAppointmentService.getTestResult(any(User.class), any(Long.class)))
+        .thenReturn(new BlobContent(new ByteArrayResource(byteArray), DIGEST));
+
+    ResultActions response = mockMvc.perform(get("/api/patient/tests/result")
+        .param("testId", "1")
+        .header("Range", "bytes=1-2")
+        .with(user(mockUser)));
+
+    response.andExpect(status().isPartialContent())
+        .andExpect(header().string("Content-Range", "bytes 1-2/4"))
+        .andExpect(content().bytes(new byte[]{0x4f, (byte) 0xd0}));
   }
 
   @Test
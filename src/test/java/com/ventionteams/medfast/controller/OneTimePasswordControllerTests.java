@@ -11,7 +11,6 @@ import com.ventionteams.medfast.config.extension.PostgreContainerExtension;
 import com.ventionteams.medfast.exception.auth.TokenExpiredException;
 import com.ventionteams.medfast.exception.auth.TokenNotFoundException;
 import com.ventionteams.medfast.service.password.OneTimePasswordService;
-import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,19 +58,6 @@ public class OneTimePasswordControllerTests {
     response.andExpect(status().isBadRequest());
   }
 
-  @Test
-  public void sendOtp_MessagingExceptionOccurs_ReturnsInternalServerError() throws Exception {
-    String email = "test@example.com";
-
-    doThrow(new MessagingException("Failed to send email")).when(
-        oneTimePasswordService).sendResetPasswordEmail(email);
-
-    ResultActions response = mockMvc.perform(post("/auth/otp")
-        .param("email", email));
-
-    response.andExpect(status().isInternalServerError());
-  }
-
   @Test
   public void sendOtp_ValidEmail_SendsOtpAndReturnsOk() throws Exception {
     String email = "test@exampl.com";
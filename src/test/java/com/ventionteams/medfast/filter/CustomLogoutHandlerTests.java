@@ -8,15 +8,14 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.ventionteams.medfast.entity.User;
+import com.ventionteams.medfast.enums.Role;
 import com.ventionteams.medfast.exception.auth.InvalidTokenException;
-import com.ventionteams.medfast.exception.auth.UserNotFoundException;
-import com.ventionteams.medfast.repository.RefreshTokenRepository;
-import com.ventionteams.medfast.repository.UserRepository;
 import com.ventionteams.medfast.service.auth.JwtService;
+import com.ventionteams.medfast.service.auth.RefreshTokenService;
+import com.ventionteams.medfast.service.auth.VerifiedClaims;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.util.Optional;
+import java.time.Instant;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -34,10 +33,7 @@ public class CustomLogoutHandlerTests {
   private JwtService jwtService;
 
   @Mock
-  private RefreshTokenRepository refreshTokenRepository;
-
-  @Mock
-  private UserRepository userRepository;
+  private RefreshTokenService refreshTokenService;
 
   @InjectMocks
   private CustomLogoutHandler customLogoutHandler;
@@ -55,16 +51,15 @@ public class CustomLogoutHandlerTests {
   void logout_ValidToken_UserSuccessfullyLoggedOut() {
     String jwt = "mockJwtToken";
     String email = "user@example.com";
-    User user = new User();
 
     when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-    when(jwtService.extractUserName(jwt)).thenReturn(email);
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+    when(jwtService.verifyToken(jwt)).thenReturn(
+        new VerifiedClaims("jti", email, 1L, Role.PATIENT, 1L, 0L, Instant.now(), Instant.now()));
 
     customLogoutHandler.logout(request, response, authentication);
 
     verify(jwtService).blacklistToken(jwt);
-    verify(refreshTokenRepository).deleteByUser(user);
+    verify(refreshTokenService).endSessions(1L);
   }
 
   @Test
@@ -72,7 +67,7 @@ public class CustomLogoutHandlerTests {
     String jwt = "invalidJwtToken";
 
     when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-    when(jwtService.extractUserName(jwt)).thenThrow(
+    when(jwtService.verifyToken(jwt)).thenThrow(
         new InvalidTokenException("AuthHeader", "Invalid token"));
 
     InvalidTokenException thrown = assertThrows(
@@ -83,7 +78,7 @@ public class CustomLogoutHandlerTests {
     assertEquals("Error for [AuthHeader]: Invalid token", thrown.getMessage());
 
     verify(jwtService, never()).blacklistToken(anyString());
-    verify(refreshTokenRepository, never()).deleteByUser(any());
+    verify(refreshTokenService, never()).endSessions(any());
   }
 
   @Test
@@ -98,30 +93,30 @@ public class CustomLogoutHandlerTests {
     assertEquals("Error for [AuthHeader]: Authorization token is missing or invalid.",
         thrown.getMessage());
 
-    verify(jwtService, never()).extractUserName(anyString());
+    verify(jwtService, never()).verifyToken(anyString());
     verify(jwtService, never()).blacklistToken(anyString());
-    verify(refreshTokenRepository, never()).deleteByUser(any());
+    verify(refreshTokenService, never()).endSessions(any());
 
   }
 
   @Test
-  void logout_ValidToken_UserNotFound_UserNotFoundExceptionThrown() {
+  void logout_TokenWithoutUserId_InvalidTokenExceptionThrown() {
     String jwt = "validJwtToken";
     String email = "user@example.com";
 
     when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
-    when(jwtService.extractUserName(jwt)).thenReturn(email);
-    when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+    when(jwtService.verifyToken(jwt)).thenReturn(
+        new VerifiedClaims("jti", email, null, Role.PATIENT, 1L, 0L, Instant.now(), Instant.now()));
 
-    UserNotFoundException thrown = assertThrows(
-        UserNotFoundException.class,
+    InvalidTokenException thrown = assertThrows(
+        InvalidTokenException.class,
         () -> customLogoutHandler.logout(request, response, authentication)
     );
 
-    assertEquals("No matching user found. If you don’t have an account, please register.",
+    assertEquals("Error for [AuthHeader]: Authorization token has no user id.",
         thrown.getMessage());
 
     verify(jwtService, never()).blacklistToken(anyString());
-    verify(refreshTokenRepository, never()).deleteByUser(any());
+    verify(refreshTokenService, never()).endSessions(any());
   }
 }
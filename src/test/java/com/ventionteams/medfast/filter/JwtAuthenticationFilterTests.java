@@ -1,6 +1,8 @@
 package com.ventionteams.medfast.filter;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -8,14 +10,18 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.ventionteams.medfast.entity.User;
+import com.ventionteams.medfast.enums.Role;
 import com.ventionteams.medfast.service.UserService;
 import com.ventionteams.medfast.service.auth.JwtService;
+import com.ventionteams.medfast.service.auth.VerifiedClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -54,6 +60,11 @@ public class JwtAuthenticationFilterTests {
   @InjectMocks
   JwtAuthenticationFilter jwtAuthenticationFilter;
 
+  private static VerifiedClaims claims(String subject) {
+    return new VerifiedClaims("jti", subject, 1L, Role.PATIENT, 1L, 0L, Instant.now(),
+        Instant.now().plusSeconds(60));
+  }
+
   @Test
   public void doFilterInternal_NoAuthHeader_FilterSkipRequest()
       throws ServletException, IOException {
@@ -62,7 +73,7 @@ public class JwtAuthenticationFilterTests {
     jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
     verify(filterChain, times(1)).doFilter(request, response);
-    verify(jwtService, never()).extractUserName(anyString());
+    verify(jwtService, never()).verifyToken(anyString());
   }
 
   @Test
@@ -73,13 +84,13 @@ public class JwtAuthenticationFilterTests {
     jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
     verify(filterChain, times(1)).doFilter(request, response);
-    verify(jwtService, never()).extractUserName(anyString());
+    verify(jwtService, never()).verifyToken(anyString());
   }
 
   @Test
   public void doFilterInternal_InvalidJwt_FilterSkipRequest() throws ServletException, IOException {
     when(request.getHeader(HEADER_NAME)).thenReturn(BEARER_PREFIX + "invalidJwt");
-    when(jwtService.extractUserName(anyString())).thenReturn(null);
+    when(jwtService.verifyToken(anyString())).thenReturn(claims(null));
 
     jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -94,10 +105,10 @@ public class JwtAuthenticationFilterTests {
     UserDetailsService userDetailsService = mock(UserDetailsService.class);
 
     when(request.getHeader(HEADER_NAME)).thenReturn(BEARER_PREFIX + "validJwt");
-    when(jwtService.extractUserName(anyString())).thenReturn(username);
+    when(jwtService.verifyToken(anyString())).thenReturn(claims(username));
     when(userService.getUserDetailsService()).thenReturn(userDetailsService);
     when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-    when(jwtService.isTokenValid("validJwt", userDetails)).thenReturn(false);
+    when(jwtService.isTokenValid(any(VerifiedClaims.class), eq(userDetails))).thenReturn(false);
 
     jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -112,7 +123,7 @@ public class JwtAuthenticationFilterTests {
         .setAuthentication(mock(UsernamePasswordAuthenticationToken.class));
 
     when(request.getHeader(HEADER_NAME)).thenReturn(BEARER_PREFIX + "validJwt");
-    when(jwtService.extractUserName(anyString())).thenReturn("user@example.com");
+    when(jwtService.verifyToken(anyString())).thenReturn(claims("user@example.com"));
 
     jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -127,10 +138,11 @@ public class JwtAuthenticationFilterTests {
     UserDetailsService userDetailsService = mock(UserDetailsService.class);
 
     when(request.getHeader(HEADER_NAME)).thenReturn(BEARER_PREFIX + "validJwt");
-    when(jwtService.extractUserName(anyString())).thenReturn(username);
+    when(jwtService.verifyToken(anyString())).thenReturn(claims(username));
     when(userService.getUserDetailsService()).thenReturn(userDetailsService);
     when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-    when(jwtService.isTokenValid("validJwt", userDetails)).thenReturn(true);
+    when(jwtService.isTokenValid(any(VerifiedClaims.class), eq(userDetails))).thenReturn(true);
+    when(userDetails.isEnabled()).thenReturn(true);
     when(userDetails.getAuthorities()).thenReturn(List.of());
 
     jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -140,6 +152,67 @@ public class JwtAuthenticationFilterTests {
         .isEqualTo(userDetails);
   }
 
+  @Test
+  public void doFilterInternal_CurrentClaimsPrincipal_NoUserLoaded()
+      throws ServletException, IOException {
+    SecurityContextHolder.clearContext();
+    User principal = User.builder().id(1L).email("user@example.com").role(Role.PATIENT)
+        .securityVersion(2L).enabled(true).build();
+
+    when(request.getHeader(HEADER_NAME)).thenReturn(BEARER_PREFIX + "validJwt");
+    when(jwtService.verifyToken(anyString())).thenReturn(claims("user@example.com"));
+    when(jwtService.extractPrincipal(any(VerifiedClaims.class))).thenReturn(Optional.of(principal));
+    when(userService.getSecurityVersion(1L)).thenReturn(2L);
+    when(jwtService.isTokenValid(any(VerifiedClaims.class), eq(principal))).thenReturn(true);
+
+    jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+    verify(userService, never()).getUserDetailsService();
+    Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+        .isEqualTo(principal);
+  }
+
+  @Test
+  public void doFilterInternal_StaleClaimsPrincipal_UserLoaded()
+      throws ServletException, IOException {
+    SecurityContextHolder.clearContext();
+    String username = "user@example.com";
+    User principal = User.builder().id(1L).email(username).role(Role.PATIENT)
+        .securityVersion(1L).enabled(true).build();
+    User storedUser = User.builder().id(1L).email(username).role(Role.PATIENT)
+        .securityVersion(2L).enabled(false).build();
+    UserDetailsService userDetailsService = mock(UserDetailsService.class);
+
+    when(request.getHeader(HEADER_NAME)).thenReturn(BEARER_PREFIX + "validJwt");
+    when(jwtService.verifyToken(anyString())).thenReturn(claims(username));
+    when(jwtService.extractPrincipal(any(VerifiedClaims.class))).thenReturn(Optional.of(principal));
+    when(userService.getSecurityVersion(1L)).thenReturn(2L);
+    when(userService.getUserDetailsService()).thenReturn(userDetailsService);
+    when(userDetailsService.loadUserByUsername(username)).thenReturn(storedUser);
+    when(jwtService.isTokenValid(any(VerifiedClaims.class), eq(storedUser))).thenReturn(true);
+
+    jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+    Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    verify(filterChain, times(1)).doFilter(request, response);
+  }
+
+  @Test
+  public void doFilterInternal_ExpiredJwt_NoUserLoaded() throws ServletException, IOException {
+    SecurityContextHolder.clearContext();
+    VerifiedClaims expired = new VerifiedClaims("jti", "user@example.com", 1L, Role.PATIENT, 1L, 0L,
+        Instant.now().minusSeconds(120), Instant.now().minusSeconds(60));
+
+    when(request.getHeader(HEADER_NAME)).thenReturn(BEARER_PREFIX + "expiredJwt");
+    when(jwtService.verifyToken("expiredJwt")).thenReturn(expired);
+
+    jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+    verify(userService, never()).getUserDetailsService();
+    Assertions.assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    verify(filterChain, times(1)).doFilter(request, response);
+  }
+
   @Test
   public void doFilterInternal_RequestIsNull_ExceptionThrown() {
     org.junit.jupiter.api.Assertions.assertThrows(NullPointerException.class,
@@ -0,0 +1,202 @@
+package com.ventionteams.medfast.filter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ventionteams.medfast.config.properties.RateLimitConfig;
+import com.ventionteams.medfast.exception.auth.RequestBodyTooLargeException;
+import com.ventionteams.medfast.exception.auth.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Checks rate limit filter functionality with unit tests.
+ */
+public class RateLimitFilterTests {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private RateLimitFilter rateLimitFilter;
+
+  @BeforeEach
+  void setUp() {
+    RateLimitConfig config = new RateLimitConfig(true, 1000, List.of(
+        new RateLimitConfig.Endpoint("/auth/signin",
+            new RateLimitConfig.Limit(3, Duration.ofMinutes(1)),
+            new RateLimitConfig.Limit(1, Duration.ofMinutes(1)))));
+    rateLimitFilter = new RateLimitFilter(config, new ObjectMapper(), meterRegistry, () -> 0L);
+  }
+
+  @Test
+  public void doFilter_IpLimitExceeded_TooManyRequestsThrown()
+      throws ServletException, IOException {
+    FilterChain filterChain = mock(FilterChain.class);
+    for (int i = 0; i < 3; i++) {
+      rateLimitFilter.doFilter(signInRequest("10.0.0.1", null), new MockHttpServletResponse(),
+          filterChain);
+    }
+
+    TooManyRequestsException ex = Assertions.assertThrows(TooManyRequestsException.class,
+        () -> rateLimitFilter.doFilter(signInRequest("10.0.0.1", null),
+            new MockHttpServletResponse(), filterChain));
+
+    Assertions.assertEquals(20, ex.getRetryAfter());
+    Assertions.assertEquals(1, meterRegistry.get("auth.rate.limit.rejected")
+        .tag("key", "ip").counter().count());
+    verify(filterChain, times(3)).doFilter(any(ServletRequest.class),
+        any(ServletResponse.class));
+  }
+
+  @Test
+  public void doFilter_EmailLimitExceeded_TooManyRequestsThrown()
+      throws ServletException, IOException {
+    FilterChain filterChain = mock(FilterChain.class);
+    rateLimitFilter.doFilter(signInRequest("10.0.0.1", "user@example.com"),
+        new MockHttpServletResponse(), filterChain);
+
+    Assertions.assertThrows(TooManyRequestsException.class,
+        () -> rateLimitFilter.doFilter(signInRequest("10.0.0.2", "USER@example.com"),
+            new MockHttpServletResponse(), filterChain));
+    Assertions.assertEquals(1, meterRegistry.get("auth.rate.limit.rejected")
+        .tag("key", "email").counter().count());
+  }
+
+  @Test
+  public void doFilter_JsonBodyRead_BodyPassedDownTheChain()
+      throws ServletException, IOException {
+    byte[] body = "{\"email\":\"user@example.com\",\"password\":\"secret\"}"
+        .getBytes(StandardCharsets.UTF_8);
+    MockHttpServletRequest request = signInRequest("10.0.0.1", null);
+    request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    request.setContent(body);
+
+    rateLimitFilter.doFilter(request, new MockHttpServletResponse(),
+        (filteredRequest, response) -> Assertions.assertArrayEquals(body,
+            filteredRequest.getInputStream().readAllBytes()));
+  }
+
+  @Test
+  public void doFilter_JsonBodyReadWithListener_BodyPassedDownTheChain()
+      throws ServletException, IOException {
+    byte[] body = "{\"email\":\"user@example.com\",\"password\":\"secret\"}"
+        .getBytes(StandardCharsets.UTF_8);
+    MockHttpServletRequest request = signInRequest("10.0.0.1", null);
+    request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    request.setContent(body);
+    ByteArrayOutputStream read = new ByteArrayOutputStream();
+    AtomicBoolean allDataRead = new AtomicBoolean();
+
+    FilterChain filterChain = (filteredRequest, response) -> {
+      ServletInputStream input = filteredRequest.getInputStream();
+      input.setReadListener(new ReadListener() {
+        @Override
+        public void onDataAvailable() throws IOException {
+          while (input.isReady() && !input.isFinished()) {
+            read.write(input.read());
+          }
+        }
+
+        @Override
+        public void onAllDataRead() {
+          allDataRead.set(true);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+          Assertions.fail(throwable);
+        }
+      });
+    };
+
+    rateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+    Assertions.assertArrayEquals(body, read.toByteArray());
+    Assertions.assertTrue(allDataRead.get());
+  }
+
+  @Test
+  public void doFilter_ChunkedJsonBody_EmailLimitApplied() throws ServletException, IOException {
+    byte[] body = "{\"email\":\"user@example.com\",\"password\":\"secret\"}"
+        .getBytes(StandardCharsets.UTF_8);
+    FilterChain filterChain = mock(FilterChain.class);
+    rateLimitFilter.doFilter(chunkedSignInRequest("10.0.0.1", body),
+        new MockHttpServletResponse(), filterChain);
+
+    Assertions.assertThrows(TooManyRequestsException.class,
+        () -> rateLimitFilter.doFilter(chunkedSignInRequest("10.0.0.2", body),
+            new MockHttpServletResponse(), filterChain));
+    Assertions.assertEquals(1, meterRegistry.get("auth.rate.limit.rejected")
+        .tag("key", "email").counter().count());
+  }
+
+  @Test
+  public void doFilter_ChunkedJsonBodyTooLarge_RequestBodyTooLargeThrown() {
+    byte[] body = new byte[16 * 1024 + 1];
+    Arrays.fill(body, (byte) ' ');
+    FilterChain filterChain = mock(FilterChain.class);
+
+    Assertions.assertThrows(RequestBodyTooLargeException.class,
+        () -> rateLimitFilter.doFilter(chunkedSignInRequest("10.0.0.1", body),
+            new MockHttpServletResponse(), filterChain));
+    verifyNoInteractions(filterChain);
+  }
+
+  @Test
+  public void doFilter_EndpointNotLimited_ChainContinued() throws ServletException, IOException {
+    FilterChain filterChain = mock(FilterChain.class);
+    for (int i = 0; i < 5; i++) {
+      MockHttpServletRequest request = signInRequest("10.0.0.1", null);
+      request.setServletPath("/auth/logout");
+      rateLimitFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+    }
+
+    verify(filterChain, times(5)).doFilter(any(ServletRequest.class),
+        any(ServletResponse.class));
+  }
+
+  private static MockHttpServletRequest signInRequest(String remoteAddr, String email) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/signin");
+    request.setServletPath("/auth/signin");
+    request.setRemoteAddr(remoteAddr);
+    if (email != null) {
+      request.setParameter("email", email);
+    }
+    return request;
+  }
+
+  private static MockHttpServletRequest chunkedSignInRequest(String remoteAddr, byte[] body) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/signin") {
+      @Override
+      public long getContentLengthLong() {
+        return -1;
+      }
+    };
+    request.setServletPath("/auth/signin");
+    request.setRemoteAddr(remoteAddr);
+    request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    request.setContent(body);
+    return request;
+  }
+}
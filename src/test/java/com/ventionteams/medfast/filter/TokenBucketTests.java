@@ -0,0 +1,56 @@
+package com.ventionteams.medfast.filter;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks token bucket functionality with unit tests.
+ */
+public class TokenBucketTests {
+
+  private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+  @Test
+  public void tryAcquire_WithinCapacity_Acquired() {
+    TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3), 0);
+
+    Assertions.assertEquals(0, bucket.tryAcquire(0));
+    Assertions.assertEquals(0, bucket.tryAcquire(0));
+    Assertions.assertEquals(0, bucket.tryAcquire(0));
+  }
+
+  @Test
+  public void tryAcquire_CapacityExhausted_WaitReturned() {
+    TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3), 0);
+    for (int i = 0; i < 3; i++) {
+      bucket.tryAcquire(0);
+    }
+
+    Assertions.assertEquals(SECOND, bucket.tryAcquire(0));
+    Assertions.assertEquals(SECOND / 2, bucket.tryAcquire(SECOND / 2));
+  }
+
+  @Test
+  public void tryAcquire_TokenRefilled_Acquired() {
+    TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3), 0);
+    for (int i = 0; i < 3; i++) {
+      bucket.tryAcquire(0);
+    }
+
+    Assertions.assertEquals(0, bucket.tryAcquire(SECOND));
+    Assertions.assertTrue(bucket.tryAcquire(SECOND) > 0);
+  }
+
+  @Test
+  public void tryAcquire_IdleForPeriod_CapacityRestored() {
+    TokenBucket bucket = new TokenBucket(2, Duration.ofSeconds(2), 0);
+    bucket.tryAcquire(0);
+    bucket.tryAcquire(0);
+
+    long later = 10 * SECOND;
+    Assertions.assertEquals(0, bucket.tryAcquire(later));
+    Assertions.assertEquals(0, bucket.tryAcquire(later));
+    Assertions.assertTrue(bucket.tryAcquire(later) > 0);
+  }
+}
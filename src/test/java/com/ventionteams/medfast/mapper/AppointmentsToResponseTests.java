@@ -1,11 +1,8 @@
 package com.ventionteams.medfast.mapper;
 
 import com.ventionteams.medfast.dto.response.AppointmentResponse;
-import com.ventionteams.medfast.entity.ConsultationAppointment;
-import com.ventionteams.medfast.entity.Doctor;
-import com.ventionteams.medfast.entity.Location;
-import com.ventionteams.medfast.entity.Specialization;
 import com.ventionteams.medfast.enums.AppointmentStatus;
+import com.ventionteams.medfast.repository.projection.AppointmentListingView;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.assertj.core.api.Assertions;
@@ -17,10 +14,6 @@ import org.junit.jupiter.api.Test;
  */
 public class AppointmentsToResponseTests {
 
-  Doctor doctor;
-  Specialization specialization;
-  Location location;
-  List<ConsultationAppointment> consultationAppointmentList;
   List<AppointmentResponse> appointmentResponseList;
   AppointmentsToResponse appointmentsToResponse;
 
@@ -28,29 +21,6 @@ public class AppointmentsToResponseTests {
   void setUp() {
     appointmentsToResponse = new AppointmentsToResponse();
 
-    doctor = Doctor.builder().id(1L).name("John").surname("Doe").build();
-
-    specialization = new Specialization();
-    specialization.setSpecialization("Cardiology");
-
-    doctor.setSpecializations(List.of(specialization));
-
-    location = Location.builder().hospitalName("General Hospital").house("123")
-        .streetAddress("Main Street").build();
-
-    consultationAppointmentList = List.of(
-        ConsultationAppointment.builder()
-            .id(1L)
-            .doctor(doctor)
-            .patient(null)
-            .serviceId(1L)
-            .dateFrom(LocalDateTime.of(2023, 8, 10, 10, 0))
-            .dateTo(LocalDateTime.of(2023, 8, 10, 11, 0))
-            .type("on-site")
-            .status(AppointmentStatus.IN_CONSULTATION)
-            .build()
-    );
-
     appointmentResponseList = List.of(
         AppointmentResponse.builder()
             .id(1L)
@@ -63,28 +33,31 @@ public class AppointmentsToResponseTests {
             .type("on-site")
             .build()
     );
-
-
   }
 
   @Test
-  public void apply_FullInformation_ReturnFullInformationResponse() {
-    consultationAppointmentList.get(0).setLocation(location);
+  public void fromViews_FullInformation_ReturnFullInformationResponse() {
     appointmentResponseList.get(0).setLocation("General Hospital, 123 Main Street");
 
-    List<AppointmentResponse> appointmentResponses = appointmentsToResponse.apply(
-        consultationAppointmentList);
+    List<AppointmentResponse> appointmentResponses = appointmentsToResponse.fromViews(List.of(
+        view("General Hospital", "123", "Main Street")));
 
     Assertions.assertThat(appointmentResponses).isEqualTo(appointmentResponseList);
   }
 
   @Test
-  public void apply_MissingLocation_ReturnResponseWithoutLocation() {
+  public void fromViews_MissingLocation_ReturnResponseWithoutLocation() {
     appointmentResponseList.get(0).setLocation("");
 
-    List<AppointmentResponse> appointmentResponses = appointmentsToResponse.apply(
-        consultationAppointmentList);
+    List<AppointmentResponse> appointmentResponses = appointmentsToResponse.fromViews(List.of(
+        view(null, null, null)));
 
     Assertions.assertThat(appointmentResponses).isEqualTo(appointmentResponseList);
   }
+
+  private AppointmentListingView view(String hospitalName, String house, String streetAddress) {
+    return new AppointmentListingView(1L, 1L, "John", "Doe", "Cardiology",
+        LocalDateTime.of(2023, 8, 10, 10, 0), LocalDateTime.of(2023, 8, 10, 11, 0),
+        hospitalName, house, streetAddress, AppointmentStatus.IN_CONSULTATION, "on-site");
+  }
 }
@@ -1,5 +1,6 @@
 package com.ventionteams.medfast.pdf;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -8,8 +9,12 @@ import com.ventionteams.medfast.entity.Person;
 import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.enums.MedicalTestCategory;
 import com.ventionteams.medfast.repository.MedicalTestAppointmentRepository;
+import com.ventionteams.medfast.repository.TestResultRepository;
+import com.ventionteams.medfast.storage.ResultBlobStore;
+import com.ventionteams.medfast.storage.StoredBlob;
 import java.time.LocalDate;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 /**
@@ -19,30 +24,62 @@ public class TestAppointmentPdfGeneratorTest {
 
   @Test
   void generatePdf_ValidInput_ReturnsByteArray() {
+    MedicalTestAppointment testAppointment = testAppointment();
+    MedicalTestAppointmentRepository medicalTestAppointmentRepository
+        = Mockito.mock(MedicalTestAppointmentRepository.class);
+    TestResultRepository testResultRepository = Mockito.mock(TestResultRepository.class);
+    ResultBlobStore resultBlobStore = Mockito.mock(ResultBlobStore.class);
+    ArgumentCaptor<String> digest = ArgumentCaptor.forClass(String.class);
+    Mockito.when(testResultRepository.insertIfAbsent(Mockito.eq(1L), digest.capture(),
+        Mockito.anyLong(), Mockito.eq("application/pdf")))
+        .thenReturn(1);
+    ArgumentCaptor<byte[]> pdf = ArgumentCaptor.forClass(byte[].class);
+    Mockito.when(resultBlobStore.put(pdf.capture(), Mockito.eq("application/pdf")))
+        .thenReturn(new StoredBlob("digest", 10, "application/pdf"));
+    TestAppointmentPdfGenerator testAppointmentPdfGenerator = new TestAppointmentPdfGenerator(
+        medicalTestAppointmentRepository, testResultRepository, resultBlobStore);
+
+    testAppointmentPdfGenerator.generateAndSaveTestPdf(testAppointment);
+    assertNotNull(pdf.getValue(), "Generated PDF byte array should not be null");
+    assertTrue(pdf.getValue().length > 0, "Generated PDF byte array should not be empty");
+    assertEquals(ResultBlobStore.digest(pdf.getValue()), digest.getValue(),
+        "Result should be recorded under the digest of the stored PDF");
+    assertTrue(testAppointment.isHasPdfResult(), "Test should be marked as having a result");
+    Mockito.verify(medicalTestAppointmentRepository).markPdfResultById(1L);
+  }
+
+  @Test
+  void generatePdf_ResultAlreadyRecorded_BlobNotWritten() {
+    MedicalTestAppointment testAppointment = testAppointment();
+    MedicalTestAppointmentRepository medicalTestAppointmentRepository
+        = Mockito.mock(MedicalTestAppointmentRepository.class);
+    TestResultRepository testResultRepository = Mockito.mock(TestResultRepository.class);
+    ResultBlobStore resultBlobStore = Mockito.mock(ResultBlobStore.class);
+    Mockito.when(testResultRepository.insertIfAbsent(Mockito.eq(1L), Mockito.anyString(),
+        Mockito.anyLong(), Mockito.eq("application/pdf")))
+        .thenReturn(0);
+    TestAppointmentPdfGenerator testAppointmentPdfGenerator = new TestAppointmentPdfGenerator(
+        medicalTestAppointmentRepository, testResultRepository, resultBlobStore);
+
+    testAppointmentPdfGenerator.generateAndSaveTestPdf(testAppointment);
+    Mockito.verifyNoInteractions(resultBlobStore, medicalTestAppointmentRepository);
+  }
+
+  private static MedicalTestAppointment testAppointment() {
     Person person = new Person();
-    person.setSurname("Doe");
     person.setName("John");
     person.setSurname("Doe");
-    LocalDate testDate = LocalDate.of(2024, 8, 12);
-    LocalDate dateOfBirth = LocalDate.of(1980, 1, 1);
-    person.setBirthDate(dateOfBirth);
+    person.setBirthDate(LocalDate.of(1980, 1, 1));
     User user = new User();
     user.setPerson(person);
     MedicalTestAppointment testAppointment = MedicalTestAppointment.builder()
-        .dateOfTest(testDate)
+        .dateOfTest(LocalDate.of(2024, 8, 12))
         .testCategory(MedicalTestCategory.BLOOD)
         .testName("Vitamin D")
         .patient(user)
         .doctor(user)
         .build();
-    MedicalTestAppointmentRepository medicalTestAppointmentRepository
-        = Mockito.mock(MedicalTestAppointmentRepository.class);
-    TestAppointmentPdfGenerator testAppointmentPdfGenerator =
-        new TestAppointmentPdfGenerator(medicalTestAppointmentRepository);
-
-    testAppointmentPdfGenerator.generateAndSaveTestPdf(testAppointment);
-    assertNotNull(testAppointment.getPdf(), "Generated PDF byte array should not be null");
-    assertTrue(testAppointment.getPdf().length > 0, "Generated PDF byte array should not be empty");
+    testAppointment.setId(1L);
+    return testAppointment;
   }
-
 }
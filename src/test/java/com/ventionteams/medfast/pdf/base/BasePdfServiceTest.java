@@ -0,0 +1,50 @@
+package com.ventionteams.medfast.pdf.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ventionteams.medfast.pdf.base.BasePdfService.DocumentBuilder;
+import java.io.IOException;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the pdf document builder functionality with unit tests.
+ */
+public class BasePdfServiceTest {
+
+  private final BasePdfService basePdfService = new BasePdfService();
+
+  @Test
+  void document_AllSections_SinglePageWithAllSections() throws IOException {
+    byte[] pdf;
+    try (DocumentBuilder document = basePdfService.document(PDRectangle.A4)) {
+      pdf = document.header("Medical Test Result")
+          .info(new String[] {"Test Name: Vitamin D"})
+          .table(new String[] {"Test", "Result"}, new String[][] {{"Hemoglobin", "14.2"}}, 500)
+          .signature(200)
+          .toByteArray();
+    }
+
+    try (PDDocument document = PDDocument.load(pdf)) {
+      String text = new PDFTextStripper().getText(document);
+      assertEquals(1, document.getNumberOfPages());
+      assertTrue(text.contains("Medical Test Result"));
+      assertTrue(text.contains("Test Name: Vitamin D"));
+      assertTrue(text.contains("Hemoglobin"));
+      assertTrue(text.contains("Doctor's Signature:"));
+    }
+  }
+
+  @Test
+  void document_SectionAfterWrite_ExceptionThrown() {
+    try (DocumentBuilder document = basePdfService.document(PDRectangle.A4)) {
+      document.header("Medical Test Result").toByteArray();
+
+      assertThrows(IllegalStateException.class, () -> document.signature(200));
+    }
+  }
+}
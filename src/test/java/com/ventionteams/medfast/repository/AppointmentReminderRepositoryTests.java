@@ -0,0 +1,107 @@
+package com.ventionteams.medfast.repository;
+
+import com.ventionteams.medfast.config.extension.PostgreContainerExtension;
+import com.ventionteams.medfast.config.util.LockWaits;
+import com.ventionteams.medfast.enums.ReminderKind;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks the reminder records against the database. The data is seeded in the test transaction
+ * and rolled back after each test, except for the concurrent records, which commit and delete
+ * their rows afterwards.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ExtendWith(PostgreContainerExtension.class)
+public class AppointmentReminderRepositoryTests {
+
+  private static final Long APPOINTMENT_ID = 1_000_000L;
+  private static final String RECIPIENT = "patient@example.com";
+
+  @Autowired
+  private AppointmentReminderRepository appointmentReminderRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void insertIfAbsent_SameReminderTwice_RecordedOnce() {
+    int first = insert(ReminderKind.CONSULTATION_UPCOMING);
+    int second = insert(ReminderKind.CONSULTATION_UPCOMING);
+
+    Assertions.assertThat(first).isEqualTo(1);
+    Assertions.assertThat(second).isZero();
+    Assertions.assertThat(recorded()).isEqualTo(1);
+  }
+
+  @Test
+  void insertIfAbsent_OtherKind_Recorded() {
+    insert(ReminderKind.CONSULTATION_UPCOMING);
+
+    int recorded = insert(ReminderKind.TEST_RESULT_READY);
+
+    Assertions.assertThat(recorded).isEqualTo(1);
+    Assertions.assertThat(recorded()).isEqualTo(2);
+  }
+
+  /**
+   * Records the reminder in two transactions at once. The second one waits for the first one on
+   * the unique key and, once the first one commits, records nothing.
+   */
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void insertIfAbsent_ConcurrentRuns_RecordedOnce() throws Exception {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CountDownLatch inserted = new CountDownLatch(1);
+      CountDownLatch commit = new CountDownLatch(1);
+      Future<Integer> first = executor.submit(() -> transaction.execute(status -> {
+        int recorded = insert(ReminderKind.CONSULTATION_UPCOMING);
+        inserted.countDown();
+        LockWaits.await(commit);
+        return recorded;
+      }));
+      LockWaits.await(inserted);
+      Future<Integer> second = executor.submit(() -> transaction.execute(
+          status -> insert(ReminderKind.CONSULTATION_UPCOMING)));
+      LockWaits.awaitBlocked(jdbcTemplate, 1);
+      commit.countDown();
+
+      Assertions.assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+      Assertions.assertThat(second.get(10, TimeUnit.SECONDS)).isZero();
+      Assertions.assertThat(recorded()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+      jdbcTemplate.update("DELETE FROM appointment_reminders WHERE appointment_id = ?",
+          APPOINTMENT_ID);
+    }
+  }
+
+  private int insert(ReminderKind kind) {
+    return appointmentReminderRepository.insertIfAbsent(kind.name(), APPOINTMENT_ID, RECIPIENT);
+  }
+
+  private Integer recorded() {
+    return jdbcTemplate.queryForObject("SELECT count(*) FROM appointment_reminders "
+        + "WHERE appointment_id = ?", Integer.class, APPOINTMENT_ID);
+  }
+}
@@ -0,0 +1,215 @@
+package com.ventionteams.medfast.repository;
+
+import com.ventionteams.medfast.config.extension.PostgreContainerExtension;
+import com.ventionteams.medfast.enums.AppointmentStatus;
+import com.ventionteams.medfast.enums.ReminderKind;
+import com.ventionteams.medfast.repository.projection.ConsultationReminderView;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks the keyset pages of the consultation listing and the consultations due a reminder
+ * against the database. The data is seeded in the test transaction and rolled back after each
+ * test.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ExtendWith(PostgreContainerExtension.class)
+public class AppointmentRepositoryTests {
+
+  private static final LocalDateTime SLOT = LocalDateTime.of(2030, 1, 1, 10, 0);
+  private static final int PAGE = 3;
+  private static final List<AppointmentStatus> UPCOMING_STATUSES =
+      List.of(AppointmentStatus.SCHEDULED, AppointmentStatus.SCHEDULED_CONFIRMED);
+
+  @Autowired
+  private AppointmentRepository appointmentRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final Map<Long, LocalDateTime> dates = new HashMap<>();
+  private Long personId;
+  private Long locationId;
+
+  /**
+   * Seeds a person who is a doctor and a patient at once with consultations sharing one start,
+   * as a patient, as a doctor and with themselves, so the union branches overlap.
+   */
+  @BeforeEach
+  void setUp() {
+    locationId = jdbcTemplate.queryForObject("INSERT INTO locations "
+        + "(hospital_name, street_address, house) VALUES ('Medfast', 'Main St', '1') "
+        + "RETURNING id", Long.class);
+    personId = doctor(locationId);
+    jdbcTemplate.update("INSERT INTO patients (id, checkbox_terms_and_conditions) "
+        + "VALUES (?, TRUE)", personId);
+    Long otherDoctorId = doctor(locationId);
+    Long otherPatientId = person();
+    jdbcTemplate.update("INSERT INTO patients (id, checkbox_terms_and_conditions) "
+        + "VALUES (?, TRUE)", otherPatientId);
+
+    for (int i = 0; i < 3; i++) {
+      consultation(personId, personId, SLOT);
+      consultation(otherDoctorId, personId, SLOT);
+    }
+    for (int i = 0; i < 2; i++) {
+      consultation(personId, otherPatientId, SLOT);
+      consultation(otherDoctorId, personId, SLOT.plusHours(1));
+    }
+    consultation(otherDoctorId, otherPatientId, SLOT);
+  }
+
+  @Test
+  void findPageIdsAfter_SameStartAcrossPages_EveryConsultationOnce() {
+    List<Long> listed = new ArrayList<>();
+    LocalDateTime dateFrom = SLOT.minusDays(1);
+    long id = 0;
+    List<Long> page;
+    do {
+      page = appointmentRepository.findPageIdsAfter(personId, dateFrom, id, PAGE);
+      Assertions.assertThat(page).hasSizeLessThanOrEqualTo(PAGE);
+      listed.addAll(page);
+      if (!page.isEmpty()) {
+        id = page.get(page.size() - 1);
+        dateFrom = dates.get(id);
+      }
+    } while (!page.isEmpty());
+
+    Assertions.assertThat(listed).containsExactlyElementsOf(ownIds(false));
+  }
+
+  @Test
+  void findPageIdsBefore_SameStartAcrossPages_EveryConsultationOnce() {
+    List<Long> listed = new ArrayList<>();
+    LocalDateTime dateFrom = SLOT.plusDays(1);
+    long id = Long.MAX_VALUE;
+    List<Long> page;
+    do {
+      page = appointmentRepository.findPageIdsBefore(personId, dateFrom, id, PAGE);
+      Assertions.assertThat(page).hasSizeLessThanOrEqualTo(PAGE);
+      listed.addAll(page);
+      if (!page.isEmpty()) {
+        id = page.get(page.size() - 1);
+        dateFrom = dates.get(id);
+      }
+    } while (!page.isEmpty());
+
+    Assertions.assertThat(listed).containsExactlyElementsOf(ownIds(true));
+  }
+
+  @Test
+  void findConsultationsToRemind_NextDay_UpcomingUnremindedOnly() {
+    Long doctorId = doctor(locationId);
+    Long patientId = patient("reminded@example.com");
+    LocalDateTime from = SLOT.plusDays(1).toLocalDate().atStartOfDay();
+    LocalDateTime to = from.plusDays(1);
+    Long scheduledId = consultation(doctorId, patientId, from, AppointmentStatus.SCHEDULED);
+    Long confirmedId = consultation(doctorId, patientId, to.minusMinutes(1),
+        AppointmentStatus.SCHEDULED_CONFIRMED);
+    consultation(doctorId, patientId, to, AppointmentStatus.SCHEDULED);
+    consultation(doctorId, patientId, from.plusHours(1), AppointmentStatus.CANCELLED_PATIENT);
+    Long remindedId = consultation(doctorId, patientId, from.plusHours(2),
+        AppointmentStatus.SCHEDULED);
+    reminder(ReminderKind.CONSULTATION_UPCOMING, remindedId);
+    Long otherKindId = consultation(doctorId, patientId, from.plusHours(3),
+        AppointmentStatus.SCHEDULED);
+    reminder(ReminderKind.TEST_RESULT_READY, otherKindId);
+
+    List<ConsultationReminderView> due = appointmentRepository.findConsultationsToRemind(from,
+        to, UPCOMING_STATUSES, ReminderKind.CONSULTATION_UPCOMING, 0L, PageRequest.ofSize(10));
+
+    Assertions.assertThat(due).extracting(ConsultationReminderView::appointmentId)
+        .containsExactly(scheduledId, confirmedId, otherKindId);
+    Assertions.assertThat(due).extracting(ConsultationReminderView::email)
+        .containsOnly("reminded@example.com");
+  }
+
+  @Test
+  void findConsultationsToRemind_AfterId_EveryConsultationOnce() {
+    Long doctorId = doctor(locationId);
+    Long patientId = patient("reminded@example.com");
+    LocalDateTime from = SLOT.plusDays(1).toLocalDate().atStartOfDay();
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      ids.add(consultation(doctorId, patientId, from.plusHours(i), AppointmentStatus.SCHEDULED));
+    }
+
+    List<Long> listed = new ArrayList<>();
+    long afterId = 0;
+    List<ConsultationReminderView> chunk;
+    do {
+      chunk = appointmentRepository.findConsultationsToRemind(from, from.plusDays(1),
+          UPCOMING_STATUSES, ReminderKind.CONSULTATION_UPCOMING, afterId, PageRequest.ofSize(2));
+      chunk.forEach(view -> listed.add(view.appointmentId()));
+      if (!chunk.isEmpty()) {
+        afterId = chunk.get(chunk.size() - 1).appointmentId();
+      }
+    } while (!chunk.isEmpty());
+
+    Assertions.assertThat(listed).containsExactlyElementsOf(ids);
+  }
+
+  private List<Long> ownIds(boolean latestFirst) {
+    Comparator<Long> order = Comparator.<Long, LocalDateTime>comparing(dates::get)
+        .thenComparing(Comparator.naturalOrder());
+    return jdbcTemplate.queryForList("SELECT id FROM consultation_appointments "
+            + "WHERE patient_id = ? OR doctor_id = ?", Long.class, personId, personId).stream()
+        .sorted(latestFirst ? order.reversed() : order)
+        .toList();
+  }
+
+  private Long person() {
+    return jdbcTemplate.queryForObject("INSERT INTO persons "
+        + "(name, surname, birth_date) VALUES ('John', 'Doe', DATE '1980-01-01') "
+        + "RETURNING id", Long.class);
+  }
+
+  private Long patient(String email) {
+    Long patientId = person();
+    jdbcTemplate.update("INSERT INTO patients (id, checkbox_terms_and_conditions) "
+        + "VALUES (?, TRUE)", patientId);
+    jdbcTemplate.update("INSERT INTO users (email, password, role, person_id) "
+        + "VALUES (?, 'password', 'PATIENT', ?)", email, patientId);
+    return patientId;
+  }
+
+  private void reminder(ReminderKind kind, Long appointmentId) {
+    jdbcTemplate.update("INSERT INTO appointment_reminders (kind, appointment_id, recipient) "
+        + "VALUES (?, ?, 'reminded@example.com')", kind.name(), appointmentId);
+  }
+
+  private Long doctor(Long locationId) {
+    Long doctorId = person();
+    jdbcTemplate.update("INSERT INTO doctors (id, license_number, location_id) "
+        + "VALUES (?, ?, ?)", doctorId, "LN-" + doctorId, locationId);
+    return doctorId;
+  }
+
+  private void consultation(Long doctorId, Long patientId, LocalDateTime dateFrom) {
+    consultation(doctorId, patientId, dateFrom, AppointmentStatus.SCHEDULED);
+  }
+
+  private Long consultation(Long doctorId, Long patientId, LocalDateTime dateFrom,
+      AppointmentStatus status) {
+    Long id = jdbcTemplate.queryForObject("INSERT INTO consultation_appointments (doctor_id, "
+        + "patient_id, service_id, date_from, date_to, type, appointment_status) "
+        + "VALUES (?, ?, 1, ?, ?, 'ONLINE', ?) RETURNING id", Long.class,
+        doctorId, patientId, dateFrom, dateFrom.plusHours(1), status.name());
+    dates.put(id, dateFrom);
+    return id;
+  }
+}
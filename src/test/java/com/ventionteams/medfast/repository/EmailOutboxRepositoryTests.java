@@ -0,0 +1,161 @@
+package com.ventionteams.medfast.repository;
+
+import com.ventionteams.medfast.config.extension.PostgreContainerExtension;
+import com.ventionteams.medfast.config.util.LockWaits;
+import com.ventionteams.medfast.entity.EmailOutbox;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks the outbox claims and the dead letters against the database. The data is seeded in the
+ * test transaction and rolled back after each test, except for the concurrent claims, which need
+ * the data committed and delete it afterwards.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ExtendWith(PostgreContainerExtension.class)
+public class EmailOutboxRepositoryTests {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 10, 0);
+  private static final LocalDateTime LEASE_UNTIL = NOW.plusMinutes(5);
+
+  @Autowired
+  private EmailOutboxRepository emailOutboxRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void claimDue_DueEmails_TransactionalFirstUpToLimit() {
+    Long bulkId = email("PENDING", 1, NOW.minusMinutes(10));
+    email("PENDING", 1, NOW.minusMinutes(5));
+    Long transactionalId = email("PENDING", 0, NOW.minusMinutes(1));
+    email("PENDING", 0, NOW.plusMinutes(1));
+    email("DEAD", 0, NOW.minusMinutes(1));
+
+    List<EmailOutbox> claimed = emailOutboxRepository.claimDue(NOW, LEASE_UNTIL, 2);
+
+    Assertions.assertThat(claimed).extracting(EmailOutbox::getId)
+        .containsExactlyInAnyOrder(transactionalId, bulkId);
+    Assertions.assertThat(nextAttemptAt(transactionalId)).isEqualTo(LEASE_UNTIL);
+    Assertions.assertThat(nextAttemptAt(bulkId)).isEqualTo(LEASE_UNTIL);
+  }
+
+  @Test
+  void claimDue_ClaimedEmail_ClaimedAgainOnceLeaseIsOver() {
+    Long id = email("PENDING", 0, NOW);
+    emailOutboxRepository.claimDue(NOW, LEASE_UNTIL, 10);
+
+    Assertions.assertThat(emailOutboxRepository.claimDue(NOW, LEASE_UNTIL, 10)).isEmpty();
+    Assertions.assertThat(emailOutboxRepository.claimDue(LEASE_UNTIL, LEASE_UNTIL.plusMinutes(5),
+        10)).extracting(EmailOutbox::getId).containsExactly(id);
+  }
+
+  /**
+   * Claims in two transactions at once. The second worker skips the rows the first one holds
+   * instead of waiting for them, so every email is claimed by exactly one worker.
+   */
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void claimDue_ConcurrentWorkers_EveryEmailClaimedOnce() throws Exception {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    List<Long> ids = transaction.execute(status -> {
+      List<Long> seeded = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        seeded.add(email("PENDING", 0, NOW.minusMinutes(i)));
+      }
+      return seeded;
+    });
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      CountDownLatch claimed = new CountDownLatch(1);
+      CountDownLatch commit = new CountDownLatch(1);
+      Future<List<Long>> first = executor.submit(() -> transaction.execute(status -> {
+        List<Long> claimedIds = ids(emailOutboxRepository.claimDue(NOW, LEASE_UNTIL, 2));
+        claimed.countDown();
+        LockWaits.await(commit);
+        return claimedIds;
+      }));
+      LockWaits.await(claimed);
+      List<Long> second = transaction.execute(
+          status -> ids(emailOutboxRepository.claimDue(NOW, LEASE_UNTIL, 10)));
+      commit.countDown();
+
+      Assertions.assertThat(first.get(10, TimeUnit.SECONDS))
+          .containsExactlyInAnyOrderElementsOf(ids.subList(2, 4));
+      Assertions.assertThat(second).containsExactlyInAnyOrderElementsOf(ids.subList(0, 2));
+    } finally {
+      executor.shutdownNow();
+      for (Long id : ids) {
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE id = ?", id);
+      }
+    }
+  }
+
+  @Test
+  void markDead_PendingEmail_ContentScrubbed() {
+    Long id = email("PENDING", 0, NOW);
+
+    emailOutboxRepository.markDead(id, 5, "Mailbox unavailable");
+
+    Assertions.assertThat(jdbcTemplate.queryForMap("SELECT status, content, attempts, "
+        + "last_error FROM email_outbox WHERE id = ?", id))
+        .containsEntry("status", "DEAD")
+        .containsEntry("content", "")
+        .containsEntry("attempts", 5)
+        .containsEntry("last_error", "Mailbox unavailable");
+  }
+
+  @Test
+  void deleteDeadBefore_DeadLetters_OnlyOldDeadLettersDeleted() {
+    Long oldDeadId = email("DEAD", 0, NOW);
+    Long recentDeadId = email("DEAD", 0, NOW);
+    Long oldPendingId = email("PENDING", 0, NOW);
+    jdbcTemplate.update("UPDATE email_outbox SET last_modified_date = ? WHERE id IN (?, ?)",
+        NOW.minusDays(31), oldDeadId, oldPendingId);
+    jdbcTemplate.update("UPDATE email_outbox SET last_modified_date = ? WHERE id = ?",
+        NOW.minusDays(1), recentDeadId);
+
+    int deleted = emailOutboxRepository.deleteDeadBefore(NOW.minusDays(30), 10);
+
+    Assertions.assertThat(deleted).isEqualTo(1);
+    Assertions.assertThat(jdbcTemplate.queryForList("SELECT id FROM email_outbox "
+        + "WHERE id IN (?, ?, ?)", Long.class, oldDeadId, recentDeadId, oldPendingId))
+        .containsExactlyInAnyOrder(recentDeadId, oldPendingId);
+  }
+
+  private LocalDateTime nextAttemptAt(Long id) {
+    return jdbcTemplate.queryForObject("SELECT next_attempt_at FROM email_outbox WHERE id = ?",
+        LocalDateTime.class, id);
+  }
+
+  private Long email(String status, int priority, LocalDateTime nextAttemptAt) {
+    return jdbcTemplate.queryForObject("INSERT INTO email_outbox (recipient, subject, content, "
+        + "status, priority, next_attempt_at) VALUES ('patient@example.com', 'Subject', "
+        + "'Content', ?, ?, ?) RETURNING id", Long.class, status, priority, nextAttemptAt);
+  }
+
+  private static List<Long> ids(List<EmailOutbox> emails) {
+    return emails.stream().map(EmailOutbox::getId).toList();
+  }
+}
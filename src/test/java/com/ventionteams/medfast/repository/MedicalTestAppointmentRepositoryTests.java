@@ -0,0 +1,172 @@
+package com.ventionteams.medfast.repository;
+
+import com.ventionteams.medfast.config.extension.PostgreContainerExtension;
+import com.ventionteams.medfast.enums.ReminderKind;
+import com.ventionteams.medfast.repository.projection.TestResultReminderView;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks the keyset pages of the test listing and the results due a notification against the
+ * database. The data is seeded in the test transaction and rolled back after each test.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ExtendWith(PostgreContainerExtension.class)
+public class MedicalTestAppointmentRepositoryTests {
+
+  private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+  private static final Pageable PAGE = PageRequest.ofSize(3);
+
+  @Autowired
+  private MedicalTestAppointmentRepository medicalTestAppointmentRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final Map<Long, LocalDate> dates = new HashMap<>();
+  private Long patientId;
+
+  /**
+   * Seeds a patient with tests sharing one date next to a test of another patient.
+   */
+  @BeforeEach
+  void setUp() {
+    patientId = user("patient@example.com");
+    Long otherPatientId = user("other@example.com");
+    for (int i = 0; i < 5; i++) {
+      test(patientId, DAY);
+    }
+    test(patientId, DAY.plusDays(1));
+    test(patientId, DAY.plusDays(1));
+    test(otherPatientId, DAY);
+  }
+
+  @Test
+  void findPageIdsAfter_SameDateAcrossPages_EveryTestOnce() {
+    List<Long> listed = new ArrayList<>();
+    LocalDate dateOfTest = DAY.minusDays(1);
+    long id = 0;
+    List<Long> page;
+    do {
+      page = medicalTestAppointmentRepository.findPageIdsAfter(patientId, dateOfTest, id, PAGE);
+      listed.addAll(page);
+      if (!page.isEmpty()) {
+        id = page.get(page.size() - 1);
+        dateOfTest = dates.get(id);
+      }
+    } while (!page.isEmpty());
+
+    Assertions.assertThat(listed).containsExactlyElementsOf(ownIds(false));
+  }
+
+  @Test
+  void findPageIdsBefore_SameDateAcrossPages_EveryTestOnce() {
+    List<Long> listed = new ArrayList<>();
+    LocalDate dateOfTest = DAY.plusDays(2);
+    long id = Long.MAX_VALUE;
+    List<Long> page;
+    do {
+      page = medicalTestAppointmentRepository.findPageIdsBefore(patientId, dateOfTest, id, PAGE);
+      listed.addAll(page);
+      if (!page.isEmpty()) {
+        id = page.get(page.size() - 1);
+        dateOfTest = dates.get(id);
+      }
+    } while (!page.isEmpty());
+
+    Assertions.assertThat(listed).containsExactlyElementsOf(ownIds(true));
+  }
+
+  @Test
+  void findTestResultsToNotify_RecordedSince_UnnotifiedOnly() {
+    LocalDateTime since = DAY.plusDays(10).atStartOfDay();
+    Long recordedId = result(test(patientId, DAY), since);
+    result(test(patientId, DAY), since.minusMinutes(1));
+    result(test(patientId, DAY), null);
+    Long notifiedId = result(test(patientId, DAY), since.plusHours(1));
+    jdbcTemplate.update("INSERT INTO appointment_reminders (kind, appointment_id, recipient) "
+        + "VALUES (?, ?, 'patient@example.com')", ReminderKind.TEST_RESULT_READY.name(),
+        notifiedId);
+
+    List<TestResultReminderView> due = medicalTestAppointmentRepository.findTestResultsToNotify(
+        since, ReminderKind.TEST_RESULT_READY, 0L, PAGE);
+
+    Assertions.assertThat(due).extracting(TestResultReminderView::appointmentId)
+        .containsExactly(recordedId);
+    Assertions.assertThat(due).extracting(TestResultReminderView::email)
+        .containsExactly("patient@example.com");
+  }
+
+  @Test
+  void findTestResultsToNotify_AfterId_EveryResultOnce() {
+    LocalDateTime since = DAY.plusDays(10).atStartOfDay();
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      ids.add(result(test(patientId, DAY), since));
+    }
+
+    List<Long> listed = new ArrayList<>();
+    long afterId = 0;
+    List<TestResultReminderView> chunk;
+    do {
+      chunk = medicalTestAppointmentRepository.findTestResultsToNotify(since,
+          ReminderKind.TEST_RESULT_READY, afterId, PAGE);
+      chunk.forEach(view -> listed.add(view.appointmentId()));
+      if (!chunk.isEmpty()) {
+        afterId = chunk.get(chunk.size() - 1).appointmentId();
+      }
+    } while (!chunk.isEmpty());
+
+    Assertions.assertThat(listed).containsExactlyElementsOf(ids);
+  }
+
+  private List<Long> ownIds(boolean latestFirst) {
+    Comparator<Long> order = Comparator.<Long, LocalDate>comparing(dates::get)
+        .thenComparing(Comparator.naturalOrder());
+    return jdbcTemplate.queryForList("SELECT id FROM test_appointments WHERE patient_id = ?",
+            Long.class, patientId).stream()
+        .sorted(latestFirst ? order.reversed() : order)
+        .toList();
+  }
+
+  private Long user(String email) {
+    Long personId = jdbcTemplate.queryForObject("INSERT INTO persons "
+        + "(name, surname, birth_date) VALUES ('Jane', 'Doe', DATE '1990-01-01') "
+        + "RETURNING id", Long.class);
+    return jdbcTemplate.queryForObject("INSERT INTO users (email, password, role, person_id) "
+        + "VALUES (?, 'password', 'PATIENT', ?) RETURNING id", Long.class, email, personId);
+  }
+
+  private Long test(Long patientId, LocalDate dateOfTest) {
+    Long id = jdbcTemplate.queryForObject("INSERT INTO test_appointments "
+        + "(patient_id, test_category, test_name, date_of_test) "
+        + "VALUES (?, 'BLOOD', 'Blood test', ?) RETURNING id", Long.class, patientId, dateOfTest);
+    dates.put(id, dateOfTest);
+    return id;
+  }
+
+  private Long result(Long testId, LocalDateTime createdDate) {
+    jdbcTemplate.update("UPDATE test_appointments SET has_pdf_result = TRUE WHERE id = ?",
+        testId);
+    jdbcTemplate.update("INSERT INTO test_results (test_appointment_id, digest, size, "
+        + "content_type, created_date) VALUES (?, 'digest', 1, 'application/pdf', ?)",
+        testId, createdDate);
+    return testId;
+  }
+}
@@ -0,0 +1,146 @@
+package com.ventionteams.medfast.repository;
+
+import com.ventionteams.medfast.config.extension.PostgreContainerExtension;
+import com.ventionteams.medfast.config.util.LockWaits;
+import com.ventionteams.medfast.entity.RefreshToken;
+import com.ventionteams.medfast.service.auth.TokenDigest;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks the refresh token rotation against the database. The data is seeded in the test
+ * transaction and rolled back after each test, except for the concurrent rotation, which needs
+ * the data committed and deletes it afterwards.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ExtendWith(PostgreContainerExtension.class)
+public class RefreshTokenRepositoryTests {
+
+  private static final UUID FAMILY_ID = UUID.randomUUID();
+  private static final byte[] TOKEN_HASH = TokenDigest.sha256("token");
+  private static final byte[] FIRST_ROTATED_HASH = TokenDigest.sha256("first");
+  private static final byte[] SECOND_ROTATED_HASH = TokenDigest.sha256("second");
+
+  @Autowired
+  private RefreshTokenRepository refreshTokenRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void rotate_CurrentHash_HashReplaced() {
+    token(user());
+
+    Optional<RefreshToken> rotated =
+        refreshTokenRepository.rotate(FAMILY_ID, TOKEN_HASH, FIRST_ROTATED_HASH);
+
+    Assertions.assertThat(rotated).isPresent();
+    Assertions.assertThat(rotated.get().getTokenHash()).isEqualTo(FIRST_ROTATED_HASH);
+    Assertions.assertThat(storedHash()).isEqualTo(FIRST_ROTATED_HASH);
+  }
+
+  @Test
+  void rotate_RotatedHash_NothingRotated() {
+    token(user());
+    refreshTokenRepository.rotate(FAMILY_ID, TOKEN_HASH, FIRST_ROTATED_HASH);
+
+    Optional<RefreshToken> rotated =
+        refreshTokenRepository.rotate(FAMILY_ID, TOKEN_HASH, SECOND_ROTATED_HASH);
+
+    Assertions.assertThat(rotated).isEmpty();
+    Assertions.assertThat(storedHash()).isEqualTo(FIRST_ROTATED_HASH);
+  }
+
+  @Test
+  void findFamilyIdByTokenHash_StoredHash_FamilyReturned() {
+    token(user());
+
+    Assertions.assertThat(refreshTokenRepository.findFamilyIdByTokenHash(TOKEN_HASH))
+        .contains(FAMILY_ID);
+    Assertions.assertThat(refreshTokenRepository.findFamilyIdByTokenHash(FIRST_ROTATED_HASH))
+        .isEmpty();
+  }
+
+  /**
+   * Rotates the token in two transactions at once. The second one blocks on the row the first
+   * one updated and, once the first one commits, no longer matches the presented hash.
+   */
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void rotate_ConcurrentRefreshes_RotatedOnce() throws Exception {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    Long userId = transaction.execute(status -> token(user()));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CountDownLatch rotated = new CountDownLatch(1);
+      CountDownLatch commit = new CountDownLatch(1);
+      Future<Optional<RefreshToken>> first = executor.submit(() -> transaction.execute(status -> {
+        Optional<RefreshToken> token =
+            refreshTokenRepository.rotate(FAMILY_ID, TOKEN_HASH, FIRST_ROTATED_HASH);
+        rotated.countDown();
+        LockWaits.await(commit);
+        return token;
+      }));
+      LockWaits.await(rotated);
+      Future<Optional<RefreshToken>> second = executor.submit(() -> transaction.execute(
+          status -> refreshTokenRepository.rotate(FAMILY_ID, TOKEN_HASH, SECOND_ROTATED_HASH)));
+      LockWaits.awaitBlocked(jdbcTemplate, 1);
+      commit.countDown();
+
+      Assertions.assertThat(first.get(10, TimeUnit.SECONDS)).isPresent();
+      Assertions.assertThat(second.get(10, TimeUnit.SECONDS)).isEmpty();
+      Assertions.assertThat(storedHash()).isEqualTo(FIRST_ROTATED_HASH);
+    } finally {
+      executor.shutdownNow();
+      delete(userId);
+    }
+  }
+
+  private byte[] storedHash() {
+    return jdbcTemplate.queryForObject("SELECT token_hash FROM refresh_tokens "
+        + "WHERE family_id = ?", byte[].class, FAMILY_ID);
+  }
+
+  private Long user() {
+    Long personId = jdbcTemplate.queryForObject("INSERT INTO persons "
+        + "(name, surname, birth_date) VALUES ('Jane', 'Doe', DATE '1990-01-01') "
+        + "RETURNING id", Long.class);
+    return jdbcTemplate.queryForObject("INSERT INTO users (email, password, role, person_id) "
+        + "VALUES (?, 'password', 'PATIENT', ?) RETURNING id", Long.class,
+        "rotation-" + FAMILY_ID + "@example.com", personId);
+  }
+
+  private Long token(Long userId) {
+    jdbcTemplate.update("INSERT INTO refresh_tokens (family_id, token_hash, user_id) "
+        + "VALUES (?, ?, ?)", FAMILY_ID, TOKEN_HASH, userId);
+    return userId;
+  }
+
+  private void delete(Long userId) {
+    Long personId = jdbcTemplate.queryForObject("SELECT person_id FROM users WHERE id = ?",
+        Long.class, userId);
+    jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id = ?", userId);
+    jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    jdbcTemplate.update("DELETE FROM persons WHERE id = ?", personId);
+  }
+}
@@ -0,0 +1,82 @@
+package com.ventionteams.medfast.service;
+
+import com.ventionteams.medfast.config.extension.PostgreContainerExtension;
+import com.ventionteams.medfast.config.util.StatementCounter;
+import com.ventionteams.medfast.config.util.StatementCounter.Counted;
+import com.ventionteams.medfast.dto.response.AppointmentResponse;
+import com.ventionteams.medfast.dto.response.CursorPage;
+import com.ventionteams.medfast.entity.Patient;
+import com.ventionteams.medfast.enums.AppointmentRequestType;
+import com.ventionteams.medfast.mapper.AppointmentsToResponse;
+import java.util.Optional;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks the statements the appointment listing runs against the database. The data is seeded
+ * in the test transaction and rolled back after each test, the slice loads no scheduled jobs and
+ * only the statements of the test thread are counted.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.ventionteams.medfast.config.util.StatementCounter")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AppointmentService.class, AppointmentsToResponse.class})
+@ExtendWith(PostgreContainerExtension.class)
+public class AppointmentServiceListingTests {
+
+  @Autowired
+  private AppointmentService appointmentService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void getAppointments_PageOfManyDoctors_LoadedInTwoStatements() {
+    Long patientId = seedPatientWithTenDoctors();
+
+    Counted<CursorPage<AppointmentResponse>> listing = StatementCounter.count(() ->
+        appointmentService.getAppointments(Optional.of(Patient.builder().id(patientId).build()),
+            Optional.of(40), AppointmentRequestType.UPCOMING, Optional.empty()));
+
+    Assertions.assertThat(AopUtils.isAopProxy(appointmentService)).isTrue();
+    Assertions.assertThat(listing.result().content()).hasSize(40);
+    Assertions.assertThat(listing.result().next()).isNotNull();
+    Assertions.assertThat(listing.statements()).isEqualTo(2);
+  }
+
+  private Long seedPatientWithTenDoctors() {
+    Long patientId = jdbcTemplate.queryForObject("INSERT INTO persons "
+        + "(name, surname, birth_date) VALUES ('Jane', 'Doe', DATE '1990-01-01') "
+        + "RETURNING id", Long.class);
+    jdbcTemplate.update("INSERT INTO patients (id, checkbox_terms_and_conditions) "
+        + "VALUES (?, TRUE)", patientId);
+    Long locationId = jdbcTemplate.queryForObject("INSERT INTO locations "
+        + "(hospital_name, street_address, house) VALUES ('Medfast', 'Main St', '1') "
+        + "RETURNING id", Long.class);
+    Long specializationId = jdbcTemplate.queryForObject("INSERT INTO specializations "
+        + "(specialization) VALUES ('Therapist') RETURNING id", Long.class);
+    for (int doctor = 0; doctor < 10; doctor++) {
+      Long doctorId = jdbcTemplate.queryForObject("INSERT INTO persons "
+          + "(name, surname, birth_date) VALUES ('John', 'Doe', DATE '1980-01-01') "
+          + "RETURNING id", Long.class);
+      jdbcTemplate.update("INSERT INTO doctors (id, license_number, location_id) "
+          + "VALUES (?, ?, ?)", doctorId, "LN-" + doctorId, locationId);
+      jdbcTemplate.update("INSERT INTO doctors_specializations_bridge "
+          + "(doctor_id, specializations_id) VALUES (?, ?)", doctorId, specializationId);
+      jdbcTemplate.update("INSERT INTO consultation_appointments (doctor_id, patient_id, "
+          + "service_id, date_from, date_to, location_id, type, appointment_status) "
+          + "SELECT ?, ?, 1, LOCALTIMESTAMP + make_interval(days => day), "
+          + "LOCALTIMESTAMP + make_interval(days => day, hours => 1), ?, 'ONLINE', 'SCHEDULED' "
+          + "FROM generate_series(1, 5) day",
+          doctorId, patientId, locationId);
+    }
+    return patientId;
+  }
+}
@@ -1,15 +1,20 @@
 package com.ventionteams.medfast.service;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 import com.ventionteams.medfast.dto.response.AppointmentResponse;
-import com.ventionteams.medfast.entity.ConsultationAppointment;
+import com.ventionteams.medfast.dto.response.CursorPage;
 import com.ventionteams.medfast.entity.Patient;
 import com.ventionteams.medfast.entity.Person;
 import com.ventionteams.medfast.enums.AppointmentRequestType;
+import com.ventionteams.medfast.enums.AppointmentStatus;
+import com.ventionteams.medfast.exception.appointment.InvalidCursorException;
 import com.ventionteams.medfast.exception.appointment.NegativeAppointmentsAmountException;
 import com.ventionteams.medfast.mapper.AppointmentsToResponse;
 import com.ventionteams.medfast.repository.AppointmentRepository;
+import com.ventionteams.medfast.repository.projection.AppointmentListingView;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 
 /**
  * Checks appointments service functionality with unit tests.
@@ -41,10 +47,10 @@ public class AppointmentServiceTests {
     Optional<Integer> amount = Optional.empty();
     AppointmentRequestType type = AppointmentRequestType.UPCOMING;
 
-    List<AppointmentResponse> appointments = appointmentService
-        .getAppointments(person, amount, type);
+    CursorPage<AppointmentResponse> appointments = appointmentService
+        .getAppointments(person, amount, type, Optional.empty());
 
-    Assertions.assertThat(appointments).isEmpty();
+    Assertions.assertThat(appointments.content()).isEmpty();
   }
 
   @Test
@@ -53,7 +59,8 @@ public class AppointmentServiceTests {
     Optional<Integer> amount = Optional.of(-5);
     AppointmentRequestType type = AppointmentRequestType.UPCOMING;
 
-    Assertions.assertThatThrownBy(() -> appointmentService.getAppointments(person, amount, type))
+    Assertions.assertThatThrownBy(() -> appointmentService.getAppointments(person, amount, type,
+        Optional.empty()))
         .isInstanceOf(NegativeAppointmentsAmountException.class);
   }
 
@@ -65,20 +72,21 @@ public class AppointmentServiceTests {
         .build());
     Optional<Integer> amount = Optional.of(5);
     AppointmentRequestType type = AppointmentRequestType.UPCOMING;
-    List<ConsultationAppointment> consultationAppointments = List.of(
-        ConsultationAppointment.builder()
-            .dateFrom(LocalDateTime.now().plusDays(1))
-            .build()
+    List<AppointmentListingView> consultationAppointments = List.of(
+        view(3L, LocalDateTime.now().plusDays(1))
     );
 
-    when(appointmentRepository.findAllByPatientOrDoctorOrderByDateFromAsc(person.get()))
+    when(appointmentRepository.findPageIdsAfter(eq(1L), any(LocalDateTime.class),
+        eq(Long.MAX_VALUE), eq(6)))
+        .thenReturn(List.of(3L));
+    when(appointmentRepository.findListingByIdIn(eq(List.of(3L)), any(Sort.class)))
         .thenReturn(consultationAppointments);
 
-    List<AppointmentResponse> appointmentRespons = appointmentService
-        .getAppointments(person, amount, type);
+    CursorPage<AppointmentResponse> appointmentRespons = appointmentService
+        .getAppointments(person, amount, type, Optional.empty());
 
-    Assertions.assertThat(appointmentRespons).isEqualTo(
-        appointmentsToResponse.apply(consultationAppointments)
+    Assertions.assertThat(appointmentRespons.content()).isEqualTo(
+        appointmentsToResponse.fromViews(consultationAppointments)
     );
   }
 
@@ -90,49 +98,116 @@ public class AppointmentServiceTests {
         .build());
     Optional<Integer> amount = Optional.of(5);
     AppointmentRequestType type = AppointmentRequestType.PAST;
-    List<ConsultationAppointment> consultationAppointments = List.of(
-        ConsultationAppointment.builder()
-            .dateFrom(LocalDateTime.now().minusDays(1))
-            .build()
+    List<AppointmentListingView> consultationAppointments = List.of(
+        view(3L, LocalDateTime.now().minusDays(1))
     );
 
-    when(appointmentRepository.findAllByPatientOrDoctorOrderByDateFromAsc(person.get()))
+    when(appointmentRepository.findPageIdsBefore(eq(1L), any(LocalDateTime.class), eq(0L),
+        eq(6)))
+        .thenReturn(List.of(3L));
+    when(appointmentRepository.findListingByIdIn(eq(List.of(3L)), any(Sort.class)))
         .thenReturn(consultationAppointments);
 
-    List<AppointmentResponse> appointmentResponses = appointmentService
-        .getAppointments(person, amount, type);
+    CursorPage<AppointmentResponse> appointmentResponses = appointmentService
+        .getAppointments(person, amount, type, Optional.empty());
 
-    Assertions.assertThat(appointmentResponses).isEqualTo(
-        appointmentsToResponse.apply(consultationAppointments)
+    Assertions.assertThat(appointmentResponses.content()).isEqualTo(
+        appointmentsToResponse.fromViews(consultationAppointments)
     );
   }
 
   @Test
-  void getAppointments_ZeroAmount_ReturnsAllAppointments() {
+  void getAppointments_ZeroAmount_ReturnsLargestPage() {
     Optional<Person> person = Optional.ofNullable(Patient.builder()
         .id(1L)
         .checkboxTermsAndConditions(false)
         .build());
     Optional<Integer> amount = Optional.of(0);
     AppointmentRequestType type = AppointmentRequestType.PAST;
-    List<ConsultationAppointment> consultationAppointments = List.of(
-        ConsultationAppointment.builder()
-            .dateFrom(LocalDateTime.now().minusDays(1))
-            .build(),
-        ConsultationAppointment.builder()
-            .dateFrom(LocalDateTime.now().minusDays(2))
-            .build()
+    List<AppointmentListingView> consultationAppointments = List.of(
+        view(3L, LocalDateTime.now().minusDays(1)),
+        view(2L, LocalDateTime.now().minusDays(2))
     );
 
-    when(appointmentRepository.findAllByPatientOrDoctorOrderByDateFromAsc(person.get()))
+    when(appointmentRepository.findPageIdsBefore(eq(1L), any(LocalDateTime.class), eq(0L),
+        eq(CursorPage.MAX_SIZE + 1)))
+        .thenReturn(List.of(3L, 2L));
+    when(appointmentRepository.findListingByIdIn(eq(List.of(3L, 2L)), any(Sort.class)))
         .thenReturn(consultationAppointments);
 
-    List<AppointmentResponse> appointmentResponses = appointmentService
-        .getAppointments(person, amount, type);
+    CursorPage<AppointmentResponse> appointmentResponses = appointmentService
+        .getAppointments(person, amount, type, Optional.empty());
 
-    Assertions.assertThat(appointmentResponses).isEqualTo(
-        appointmentsToResponse.apply(consultationAppointments)
+    Assertions.assertThat(appointmentResponses.content()).isEqualTo(
+        appointmentsToResponse.fromViews(consultationAppointments)
     );
 
   }
+
+  @Test
+  void getAppointments_AmountAboveLargestPage_FetchesLargestPage() {
+    Optional<Person> person = Optional.ofNullable(Patient.builder()
+        .id(1L)
+        .checkboxTermsAndConditions(false)
+        .build());
+    Optional<Integer> amount = Optional.of(CursorPage.MAX_SIZE * 10);
+    AppointmentRequestType type = AppointmentRequestType.UPCOMING;
+
+    when(appointmentRepository.findPageIdsAfter(eq(1L), any(LocalDateTime.class),
+        eq(Long.MAX_VALUE), eq(CursorPage.MAX_SIZE + 1)))
+        .thenReturn(List.of());
+
+    CursorPage<AppointmentResponse> appointmentResponses = appointmentService
+        .getAppointments(person, amount, type, Optional.empty());
+
+    Assertions.assertThat(appointmentResponses.content()).isEmpty();
+    Assertions.assertThat(appointmentResponses.next()).isNull();
+  }
+
+  @Test
+  void getAppointments_MoreThanAmount_NextPageReadAfterCursor() {
+    Optional<Person> person = Optional.ofNullable(Patient.builder()
+        .id(1L)
+        .checkboxTermsAndConditions(false)
+        .build());
+    LocalDateTime lastDateFrom = LocalDateTime.now().plusDays(1);
+    List<AppointmentListingView> firstPage = List.of(
+        view(7L, lastDateFrom),
+        view(9L, lastDateFrom.plusHours(1))
+    );
+
+    when(appointmentRepository.findPageIdsAfter(eq(1L), any(LocalDateTime.class),
+        eq(Long.MAX_VALUE), eq(2)))
+        .thenReturn(List.of(7L, 9L));
+    when(appointmentRepository.findListingByIdIn(eq(List.of(7L, 9L)), any(Sort.class)))
+        .thenReturn(firstPage);
+    when(appointmentRepository.findPageIdsAfter(1L, lastDateFrom, 7L, 2))
+        .thenReturn(List.of());
+
+    CursorPage<AppointmentResponse> first = appointmentService.getAppointments(person,
+        Optional.of(1), AppointmentRequestType.UPCOMING, Optional.empty());
+    CursorPage<AppointmentResponse> second = appointmentService.getAppointments(person,
+        Optional.of(1), AppointmentRequestType.UPCOMING, Optional.of(first.next()));
+
+    Assertions.assertThat(first.next()).isNotNull();
+    Assertions.assertThat(second.next()).isNull();
+  }
+
+  @Test
+  void getAppointments_MalformedCursor_ExceptionThrown() {
+    Optional<Person> person = Optional.ofNullable(Patient.builder()
+        .id(1L)
+        .checkboxTermsAndConditions(false)
+        .build());
+
+    Assertions.assertThatThrownBy(() -> appointmentService.getAppointments(person,
+            Optional.of(1), AppointmentRequestType.UPCOMING, Optional.of("not-a-cursor")))
+        .isInstanceOf(InvalidCursorException.class);
+  }
+
+  private static AppointmentListingView view(Long id, LocalDateTime dateFrom) {
+    return new AppointmentListingView(id, 2L, "John", "Doe", "Cardiology", dateFrom,
+        dateFrom.plusHours(1), "Central Hospital", "1", "Main Street", AppointmentStatus.SCHEDULED,
+        "ONLINE");
+  }
 }
@@ -0,0 +1,77 @@
+package com.ventionteams.medfast.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Checks email renderer functionality with unit tests.
+ */
+public class EmailRendererTests {
+
+  private EmailRenderer emailRenderer;
+
+  @BeforeEach
+  void setUp() {
+    ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+    templateResolver.setSuffix(".html");
+    templateResolver.setTemplateMode(TemplateMode.HTML);
+    SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+    templateEngine.setTemplateResolver(templateResolver);
+
+    emailRenderer = new EmailRenderer(templateEngine);
+    emailRenderer.init();
+  }
+
+  @Test
+  public void render_ResetPasswordTemplate_VariablesRendered() {
+    Context context = new Context();
+    context.setVariable("token", "4321");
+    context.setVariable("supportMailbox", "support@example.com");
+
+    String content = emailRenderer.render(EmailRenderer.RESET_PASSWORD_TEMPLATE, context);
+
+    Assertions.assertTrue(content.contains("4321"));
+    Assertions.assertTrue(content.contains("support@example.com"));
+  }
+
+  @Test
+  public void compose_TwoMessages_InlineImagesWrittenToBoth()
+      throws MessagingException, IOException {
+    String first = write("first@example.com");
+    String second = write("second@example.com");
+
+    for (String message : new String[] {first, second}) {
+      Assertions.assertTrue(message.contains("Content-ID: <logo>"));
+      Assertions.assertTrue(message.contains("Content-ID: <watermark>"));
+    }
+    Assertions.assertEquals(imagePart(first, "<logo>"), imagePart(second, "<logo>"));
+  }
+
+  private String write(String recipient) throws MessagingException, IOException {
+    MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+    emailRenderer.compose(message, "support@example.com", recipient, "Subject",
+        "<html>Content</html>");
+    message.saveChanges();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    message.writeTo(output);
+    return output.toString(StandardCharsets.US_ASCII);
+  }
+
+  private static String imagePart(String message, String contentId) {
+    int start = message.indexOf("Content-ID: " + contentId);
+    return message.substring(start, message.indexOf("------", start));
+  }
+}
@@ -2,27 +2,33 @@ package com.ventionteams.medfast.service;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.ventionteams.medfast.config.properties.SpringConfig;
 import com.ventionteams.medfast.config.properties.SpringConfig.Mail;
+import com.ventionteams.medfast.entity.EmailOutbox;
 import com.ventionteams.medfast.entity.Person;
 import com.ventionteams.medfast.entity.User;
+import com.ventionteams.medfast.enums.EmailStatus;
+import com.ventionteams.medfast.repository.EmailOutboxRepository;
 import com.ventionteams.medfast.service.auth.VerificationUrlService;
 import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
 /**
@@ -41,14 +47,14 @@ public class EmailServiceTests {
   private SpringConfig springConfig;
 
   @Mock
-  private TemplateEngine templateEngine;
+  private EmailRenderer emailRenderer;
+
+  @Mock
+  private EmailOutboxRepository emailOutboxRepository;
 
   @InjectMocks
   private EmailService emailService;
 
-  @Mock
-  private MimeMessage mimeMessage;
-
   @Test
   public void sendVerificationEmail_EmptyUser_ExceptionThrown() {
     Assertions.assertThrows(NullPointerException.class,
@@ -56,7 +62,7 @@ public class EmailServiceTests {
   }
 
   @Test
-  public void sendVerificationEmail_CorrectInput_SendsEmail() throws MessagingException {
+  public void sendVerificationEmail_CorrectInput_EmailQueued() {
     User user = mock(User.class);
     Person person = mock(Person.class);
     Mail mail = mock(Mail.class);
@@ -69,34 +75,58 @@ public class EmailServiceTests {
         .thenReturn("http://example.com/verify?token=12345");
     when(springConfig.mail()).thenReturn(mail);
     when(mail.username()).thenReturn("support@example.com");
-    when(templateEngine.process(anyString(), any(Context.class))).thenReturn(
+    when(emailRenderer.render(anyString(), any(Context.class))).thenReturn(
         expectedContent);
-    when(emailSender.createMimeMessage()).thenReturn(mimeMessage);
-    doNothing().when(emailSender).send(any(MimeMessage.class));
 
     emailService.sendVerificationEmail(user);
 
-    verify(emailSender, times(1)).createMimeMessage();
-    verify(emailSender, times(1)).send(mimeMessage);
+    ArgumentCaptor<EmailOutbox> email = ArgumentCaptor.forClass(EmailOutbox.class);
+    verify(emailOutboxRepository).save(email.capture());
+    Assertions.assertEquals("user@example.com", email.getValue().getRecipient());
+    Assertions.assertEquals(expectedContent, email.getValue().getContent());
+    Assertions.assertEquals(EmailStatus.PENDING, email.getValue().getStatus());
+    verify(emailSender, never()).send(any(MimeMessage.class));
   }
 
   @Test
-  public void sendResetPasswordEmail_CorrectInput_SendsEmail() throws MessagingException {
+  public void sendResetPasswordEmail_CorrectInput_EmailQueued() {
     User user = mock(User.class);
     Mail mail = mock(Mail.class);
     String expectedContent = "<html>Verification content</html>";
 
     when(springConfig.mail()).thenReturn(mail);
     when(mail.username()).thenReturn("support@example.com");
-    when(templateEngine.process(anyString(), any(Context.class))).thenReturn(
+    when(emailRenderer.render(anyString(), any(Context.class))).thenReturn(
         expectedContent);
     when(user.getEmail()).thenReturn("user@example.com");
-    when(emailSender.createMimeMessage()).thenReturn(mimeMessage);
-    doNothing().when(emailSender).send(any(MimeMessage.class));
 
     emailService.sendResetPasswordEmail(user, "token");
 
+    ArgumentCaptor<EmailOutbox> email = ArgumentCaptor.forClass(EmailOutbox.class);
+    verify(emailOutboxRepository).save(email.capture());
+    Assertions.assertEquals("user@example.com", email.getValue().getRecipient());
+    Assertions.assertEquals(expectedContent, email.getValue().getContent());
+    verify(emailSender, never()).send(any(MimeMessage.class));
+  }
+
+  @Test
+  public void deliver_QueuedEmail_SendsEmail() throws MessagingException {
+    Mail mail = mock(Mail.class);
+    EmailOutbox email = new EmailOutbox();
+    email.setRecipient("user@example.com");
+    email.setSubject("Subject");
+    email.setContent("<html>Verification content</html>");
+
+    when(springConfig.mail()).thenReturn(mail);
+    when(mail.username()).thenReturn("support@example.com");
+    when(emailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+    doNothing().when(emailSender).send(any(MimeMessage.class));
+
+    emailService.deliver(email);
+
+    verify(emailRenderer).compose(any(MimeMessage.class), eq("support@example.com"),
+        eq("user@example.com"), eq("Subject"), eq("<html>Verification content</html>"));
     verify(emailSender, times(1)).createMimeMessage();
-    verify(emailSender, times(1)).send(mimeMessage);
+    verify(emailSender, times(1)).send(any(MimeMessage.class));
   }
 }
@@ -3,13 +3,16 @@ package com.ventionteams.medfast.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.ventionteams.medfast.dto.request.CreateMedicalTestAppointmentRequest;
+import com.ventionteams.medfast.dto.response.CursorPage;
 import com.ventionteams.medfast.dto.response.MedicalTestAppointmentResponse;
 import com.ventionteams.medfast.entity.MedicalTestAppointment;
 import com.ventionteams.medfast.entity.Person;
+import com.ventionteams.medfast.entity.TestResult;
 import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.enums.AppointmentRequestType;
 import com.ventionteams.medfast.enums.MedicalTestCategory;
@@ -18,6 +21,11 @@ import com.ventionteams.medfast.exception.medicaltest.InvalidMedicalTestDataExce
 import com.ventionteams.medfast.mapper.MedicalTestsToResponse;
 import com.ventionteams.medfast.pdf.TestAppointmentPdfGenerator;
 import com.ventionteams.medfast.repository.MedicalTestAppointmentRepository;
+import com.ventionteams.medfast.repository.TestResultRepository;
+import com.ventionteams.medfast.storage.BlobContent;
+import com.ventionteams.medfast.storage.ResultBlobStore;
+import com.ventionteams.medfast.repository.projection.MedicalTestListingView;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +35,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 /**
  * Tests the medical test service functionality with unit tests.
@@ -44,6 +55,12 @@ public class MedicalTestAppointmentServiceTest {
   @Mock
   private MedicalTestAppointmentRepository medicalTestAppointmentRepository;
 
+  @Mock
+  private TestResultRepository testResultRepository;
+
+  @Mock
+  private ResultBlobStore resultBlobStore;
+
   @Mock
   private MedicalTestsToResponse medicalTestsToResponse;
 
@@ -95,25 +112,72 @@ public class MedicalTestAppointmentServiceTest {
     User admin = new User();
     admin.setRole(Role.ADMIN);
     User patient = new User();
+    patient.setId(1L);
     Optional<Integer> amount = Optional.of(0);
     AppointmentRequestType type = AppointmentRequestType.PAST;
-    List<MedicalTestAppointment> medicalTestAppointments = List.of(
-        MedicalTestAppointment.builder()
-            .dateOfTest(LocalDate.now().minusDays(1))
-            .build()
+    List<MedicalTestListingView> medicalTestAppointments = List.of(
+        new MedicalTestListingView(4L, "Blood test", 2L, "John", "Doe",
+            MedicalTestCategory.BLOOD, LocalDate.now().minusDays(1), false)
     );
-    when(medicalTestAppointmentRepository.findAllByPatientOrderByDateOfTestDesc(patient))
+    when(medicalTestAppointmentRepository.findPageIdsBefore(eq(1L), any(LocalDate.class), eq(0L),
+        eq(PageRequest.ofSize(CursorPage.MAX_SIZE + 1))))
+        .thenReturn(List.of(4L));
+    when(medicalTestAppointmentRepository.findListingByIdIn(eq(List.of(4L)), any(Sort.class)))
         .thenReturn(medicalTestAppointments);
 
-    List<MedicalTestAppointmentResponse> medicalTestAppointmentResponse
+    CursorPage<MedicalTestAppointmentResponse> medicalTestAppointmentResponse
         = medicalTestAppointmentService
-        .getMedicalTests(patient, amount, type);
+        .getMedicalTests(patient, amount, type, Optional.empty());
 
-    Assertions.assertThat(medicalTestAppointmentResponse).isEqualTo(
-        medicalTestsToResponse.apply(medicalTestAppointments)
+    Assertions.assertThat(medicalTestAppointmentResponse.content()).isEqualTo(
+        medicalTestsToResponse.fromViews(medicalTestAppointments)
     );
   }
 
+  @Test
+  void getTestResult_ResultInStore_ReturnsPdfFromStore() throws IOException {
+    User patient = new User();
+    patient.setId(1L);
+    patient.setRole(Role.PATIENT);
+    MedicalTestAppointment appointment = new MedicalTestAppointment();
+    appointment.setId(2L);
+    appointment.setPatient(patient);
+    appointment.setHasPdfResult(true);
+    TestResult testResult = new TestResult();
+    testResult.setTestAppointmentId(2L);
+    testResult.setDigest("a".repeat(64));
+    when(medicalTestAppointmentRepository.findById(2L)).thenReturn(Optional.of(appointment));
+    when(testResultRepository.findById(2L)).thenReturn(Optional.of(testResult));
+    when(resultBlobStore.find("a".repeat(64)))
+        .thenReturn(Optional.of(new ByteArrayResource(new byte[] {4, 5})));
+
+    BlobContent pdf = medicalTestAppointmentService.getTestResult(patient, 2L);
+
+    Assertions.assertThat(pdf.resource().getContentAsByteArray()).containsExactly(4, 5);
+    Assertions.assertThat(pdf.digest()).isEqualTo("a".repeat(64));
+  }
+
+  @Test
+  void getTestResult_ResultStoredInline_ReturnsInlinePdf() throws IOException {
+    User patient = new User();
+    patient.setId(1L);
+    patient.setRole(Role.PATIENT);
+    MedicalTestAppointment appointment = new MedicalTestAppointment();
+    appointment.setId(2L);
+    appointment.setPatient(patient);
+    appointment.setHasPdfResult(true);
+    TestResult testResult = new TestResult();
+    testResult.setTestAppointmentId(2L);
+    testResult.setPdf(new byte[] {1, 2, 3});
+    when(medicalTestAppointmentRepository.findById(2L)).thenReturn(Optional.of(appointment));
+    when(testResultRepository.findById(2L)).thenReturn(Optional.of(testResult));
+
+    BlobContent pdf = medicalTestAppointmentService.getTestResult(patient, 2L);
+
+    Assertions.assertThat(pdf.resource().getContentAsByteArray()).containsExactly(1, 2, 3);
+    Assertions.assertThat(pdf.digest()).isEqualTo(ResultBlobStore.digest(new byte[] {1, 2, 3}));
+  }
+
   @Test
   void generateTestResultForAppointment_AppointmentNotFound_ExceptionThrown() {
     when(medicalTestAppointmentRepository.findById(1L)).thenReturn(Optional.empty());
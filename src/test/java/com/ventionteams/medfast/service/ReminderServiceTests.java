@@ -0,0 +1,136 @@
+package com.ventionteams.medfast.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ventionteams.medfast.config.properties.ReminderConfig;
+import com.ventionteams.medfast.config.properties.SpringConfig;
+import com.ventionteams.medfast.config.properties.SpringConfig.Mail;
+import com.ventionteams.medfast.entity.EmailOutbox;
+import com.ventionteams.medfast.enums.ReminderKind;
+import com.ventionteams.medfast.repository.AppointmentReminderRepository;
+import com.ventionteams.medfast.repository.AppointmentRepository;
+import com.ventionteams.medfast.repository.MedicalTestAppointmentRepository;
+import com.ventionteams.medfast.repository.projection.ConsultationReminderView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.context.Context;
+
+/**
+ * Checks reminder service functionality with unit tests.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReminderServiceTests {
+
+  private static final LocalDate TOMORROW = LocalDate.of(2024, 7, 2);
+
+  @Mock
+  private AppointmentRepository appointmentRepository;
+
+  @Mock
+  private MedicalTestAppointmentRepository medicalTestAppointmentRepository;
+
+  @Mock
+  private AppointmentReminderRepository appointmentReminderRepository;
+
+  @Mock
+  private EmailService emailService;
+
+  @Mock
+  private EmailRenderer emailRenderer;
+
+  @Mock
+  private SpringConfig springConfig;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private ReminderService reminderService;
+
+  @BeforeEach
+  void setUp() {
+    ReminderConfig reminderConfig = new ReminderConfig("0 0 9 * * *", ZoneId.of("GMT+2"), 2, 2,
+        Period.ofDays(7));
+    TransactionTemplate transactionTemplate =
+        new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    reminderService = new ReminderService(appointmentRepository,
+        medicalTestAppointmentRepository, appointmentReminderRepository, emailService,
+        emailRenderer, springConfig, reminderConfig, transactionTemplate, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    reminderService.shutdown();
+  }
+
+  @Test
+  public void remindOfConsultations_SeveralChunks_NewRemindersQueuedOnce() {
+    Mail mail = mock(Mail.class);
+    when(springConfig.mail()).thenReturn(mail);
+    when(mail.username()).thenReturn("support@example.com");
+    when(emailRenderer.render(eq(EmailRenderer.CONSULTATION_REMINDER_TEMPLATE),
+        any(Context.class))).thenReturn("<html>Reminder</html>");
+    when(appointmentRepository.findConsultationsToRemind(eq(TOMORROW.atStartOfDay()),
+        eq(TOMORROW.plusDays(1).atStartOfDay()), any(),
+        eq(ReminderKind.CONSULTATION_UPCOMING), eq(0L), any(Pageable.class)))
+        .thenReturn(List.of(consultation(1L), consultation(2L)));
+    when(appointmentRepository.findConsultationsToRemind(any(), any(), any(),
+        eq(ReminderKind.CONSULTATION_UPCOMING), eq(2L), any(Pageable.class)))
+        .thenReturn(List.of(consultation(5L)));
+    when(appointmentReminderRepository.insertIfAbsent(
+        eq(ReminderKind.CONSULTATION_UPCOMING.name()), anyLong(), anyString()))
+        .thenReturn(1, 0, 1);
+
+    int queued = reminderService.remindOfConsultations(TOMORROW);
+
+    assertEquals(2, queued);
+    verify(emailService, times(2)).queue(anyString(),
+        eq("patient@example.com"), eq("<html>Reminder</html>"), eq(EmailOutbox.PRIORITY_BULK));
+    assertEquals(2, meterRegistry.get("reminders.queued")
+        .tag("kind", ReminderKind.CONSULTATION_UPCOMING.name()).counter().count());
+  }
+
+  @Test
+  public void notifyOfTestResults_NoReadyResults_NothingQueued() {
+    LocalDate today = TOMORROW.minusDays(1);
+    when(medicalTestAppointmentRepository.findTestResultsToNotify(
+        eq(today.minusDays(7).atStartOfDay()),
+        eq(ReminderKind.TEST_RESULT_READY), eq(0L), any(Pageable.class)))
+        .thenReturn(List.of());
+
+    int queued = reminderService.notifyOfTestResults(today);
+
+    assertEquals(0, queued);
+    verify(appointmentReminderRepository, never()).insertIfAbsent(anyString(), anyLong(),
+        anyString());
+    verify(emailService, never()).queue(anyString(), anyString(), anyString(), anyInt());
+  }
+
+  private static ConsultationReminderView consultation(Long id) {
+    return new ConsultationReminderView(id, "patient@example.com", "John",
+        LocalDateTime.of(TOMORROW, LocalTime.of(10, 30)), "Jane", "Doe");
+  }
+}
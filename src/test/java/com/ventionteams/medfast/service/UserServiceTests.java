@@ -4,6 +4,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.ventionteams.medfast.dto.request.SignUpRequest;
@@ -13,7 +14,9 @@ import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.enums.Role;
 import com.ventionteams.medfast.exception.auth.UserAlreadyExistsException;
 import com.ventionteams.medfast.repository.PatientRepository;
+import com.ventionteams.medfast.repository.RefreshTokenRepository;
 import com.ventionteams.medfast.repository.UserRepository;
+import com.ventionteams.medfast.service.auth.TokenRevocationService;
 import java.time.LocalDate;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
@@ -22,7 +25,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 
 /**
@@ -37,6 +45,15 @@ public class UserServiceTests {
   @Mock
   private PatientRepository patientRepository;
 
+  @Mock
+  private RefreshTokenRepository refreshTokenRepository;
+
+  @Mock
+  private TokenRevocationService tokenRevocationService;
+
+  @Mock
+  private CacheManager cacheManager;
+
   @InjectMocks
   private UserService service;
 
@@ -111,4 +128,75 @@ public class UserServiceTests {
     Assertions.assertEquals(encodedPassword, user.getPassword());
     verify(repository, times(1)).save(user);
   }
+
+  @Test
+  public void resetPassword_ValidUser_IssuedTokensRevoked() {
+    User user = User.builder().id(1L).email("user@example.com").build();
+
+    when(repository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    service.resetPassword(user, "encodedPassword");
+
+    Assertions.assertNotNull(user.getTokensNotBefore());
+    Assertions.assertEquals(0L, user.getSecurityVersion());
+    verify(tokenRevocationService).markNotBefore(1L, user.getTokensNotBefore());
+    verify(refreshTokenRepository).deleteByUserId(1L);
+  }
+
+  @Test
+  public void resetPassword_InTransaction_EpochAppliedAfterCommit() {
+    User user = User.builder().id(1L).email("user@example.com").build();
+
+    when(repository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      service.resetPassword(user, "encodedPassword");
+
+      verifyNoInteractions(tokenRevocationService);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    verify(tokenRevocationService).markNotBefore(1L, user.getTokensNotBefore());
+  }
+
+  @Test
+  public void bumpSecurityVersion_InTransaction_VersionEvictedAfterCommit() {
+    User user = User.builder().id(1L).securityVersion(2L).build();
+    Cache securityVersions = mock(Cache.class);
+
+    when(cacheManager.getCache(UserService.SECURITY_VERSIONS_CACHE)).thenReturn(securityVersions);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      service.bumpSecurityVersion(user);
+
+      verifyNoInteractions(cacheManager);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    Assertions.assertEquals(3L, user.getSecurityVersion());
+    verify(securityVersions).evict(1L);
+  }
+
+  @Test
+  public void upgradePassword_ValidUser_IssuedTokensKept() {
+    User user = User.builder().id(1L).email("user@example.com").password("oldHash").build();
+
+    when(repository.save(user)).thenReturn(user);
+
+    UserDetails upgradedUser =
+        service.getUserDetailsPasswordService().updatePassword(user, "newHash");
+
+    Assertions.assertEquals("newHash", upgradedUser.getPassword());
+    Assertions.assertNull(user.getTokensNotBefore());
+    Assertions.assertEquals(0L, user.getSecurityVersion());
+    verifyNoInteractions(tokenRevocationService, refreshTokenRepository);
+  }
 }
@@ -3,7 +3,6 @@ package com.ventionteams.medfast.service.auth;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -12,26 +11,22 @@ import com.ventionteams.medfast.config.properties.TokenConfig.Timeout;
 import com.ventionteams.medfast.dto.request.SignInRequest;
 import com.ventionteams.medfast.dto.request.SignUpRequest;
 import com.ventionteams.medfast.dto.response.JwtAuthenticationResponse;
-import com.ventionteams.medfast.entity.RefreshToken;
 import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.exception.auth.UserIsAlreadyVerifiedException;
 import com.ventionteams.medfast.service.EmailService;
 import com.ventionteams.medfast.service.UserService;
-import jakarta.mail.MessagingException;
-import java.io.IOException;
 import java.time.LocalDate;
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailAuthenticationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -68,24 +63,6 @@ public class AuthenticationServiceTests {
   @InjectMocks
   private AuthenticationService authenticationService;
 
-  @Test
-  public void signUp_EmailAuthenticationFails_ExceptionThrown() throws MessagingException {
-    SignUpRequest request = new SignUpRequest("test@example.com", "qweRTY123$", "John",
-        "Doe", LocalDate.now().minusYears(20), "Main street", "123", "42 a", "Chicago",
-        "Illinios", "60007", "12345678900", "male", "Canada");
-    String email = "test@example.com";
-    User user = User.builder().email(email).enabled(false).build();
-
-    when(userService.create(request)).thenReturn(user);
-    when(userService.getUserByEmail(email)).thenReturn(user);
-    doNothing().when(verificationTokenService).addVerificationTokenForUser(email);
-    doThrow(MailAuthenticationException.class).when(emailService).sendVerificationEmail(user);
-
-    Assertions.assertThrows(MailAuthenticationException.class,
-        () -> authenticationService.signUp(request));
-    verify(emailService, times(3)).sendVerificationEmail(user);
-  }
-
   @Test
   public void signUp_UserAlreadyEnabled_ExceptionThrown() {
     SignUpRequest request = new SignUpRequest("test@example.com", "qweRTY123$", "John",
@@ -102,7 +79,7 @@ public class AuthenticationServiceTests {
   }
 
   @Test
-  public void signUp_NoUserExists_UserCreated() throws MessagingException, IOException {
+  public void signUp_NoUserExists_UserCreated() {
     SignUpRequest request = new SignUpRequest("test@example.com", "qweRTY123$", "John",
         "Doe", LocalDate.now().minusYears(20), "Main street", "123", "42 a", "Chicago",
         "Illinios", "60007", "12345678900", "male", "Canada");
@@ -143,22 +120,7 @@ public class AuthenticationServiceTests {
   }
 
   @Test
-  public void sendVerificationEmail_EmailAuthenticationFails_ExceptionThrown()
-      throws MessagingException {
-    String email = "test@example.com";
-    User user = User.builder().email(email).enabled(false).build();
-
-    when(userService.getUserByEmail(email)).thenReturn(user);
-    doNothing().when(verificationTokenService).addVerificationTokenForUser(email);
-    doThrow(MailAuthenticationException.class).when(emailService).sendVerificationEmail(user);
-
-    Assertions.assertThrows(MailAuthenticationException.class,
-        () -> authenticationService.sendVerificationEmail(email));
-    verify(emailService, times(3)).sendVerificationEmail(user);
-  }
-
-  @Test
-  public void sendVerificationEmail_ValidEmail_SendEmail() throws MessagingException, IOException {
+  public void sendVerificationEmail_ValidEmail_SendEmail() {
     String email = "test@example.com";
     User user = User.builder().email(email).enabled(false).build();
 
@@ -190,17 +152,15 @@ public class AuthenticationServiceTests {
   @Test
   public void singIn_GoodCredentials_ReturnsJwtResponse() {
     User user = new User();
-    RefreshToken refreshToken = new RefreshToken();
-    refreshToken.setUser(user);
-    refreshToken.setToken("exampleRefreshToken");
-    UserDetailsService userDetailsService = mock(UserDetailsService.class);
     Timeout timeout = mock(Timeout.class);
     SignInRequest request = new SignInRequest("test@example.com", "qweRTY123$");
 
-    when(userService.getUserDetailsService()).thenReturn(userDetailsService);
-    when(userDetailsService.loadUserByUsername(request.getEmail())).thenReturn(user);
+    when(authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+        request.getEmail(),
+        request.getPassword()
+    ))).thenReturn(new UsernamePasswordAuthenticationToken(user, null, List.of()));
     when(jwtService.generateToken(user)).thenReturn("exampleToken");
-    when(refreshTokenService.generateToken(user)).thenReturn(refreshToken);
+    when(refreshTokenService.generateToken(user)).thenReturn("exampleRefreshToken");
     when(tokenConfig.timeout()).thenReturn(timeout);
     when(timeout.access()).thenReturn(3600L);
     when(timeout.refresh()).thenReturn(7200L);
@@ -1,17 +1,23 @@
 package com.ventionteams.medfast.service.auth;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.ventionteams.medfast.config.properties.TokenConfig;
+import com.ventionteams.medfast.config.properties.TokenConfig.Principal;
 import com.ventionteams.medfast.config.properties.TokenConfig.Signing;
 import com.ventionteams.medfast.config.properties.TokenConfig.Timeout;
+import com.ventionteams.medfast.entity.Person;
 import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.enums.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import java.util.Optional;
 import javax.crypto.SecretKey;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +26,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.security.core.userdetails.UserDetails;
 
 /**
@@ -31,6 +40,12 @@ public class JwtServiceTests {
   @Mock
   private TokenConfig tokenConfig;
 
+  @Mock
+  private CacheManager cacheManager;
+
+  @Mock
+  private TokenRevocationService tokenRevocationService;
+
   @InjectMocks
   private JwtService jwtService;
 
@@ -51,6 +66,8 @@ public class JwtServiceTests {
     when(tokenConfig.timeout()).thenReturn(timeout);
     when(tokenConfig.signing()).thenReturn(signing);
     when(signing.key()).thenReturn(signingKey);
+
+    jwtService.init();
   }
 
   @Test
@@ -139,9 +156,8 @@ public class JwtServiceTests {
   @Test
   void extractUserName_ValidToken_ReturnsUserName() {
     User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT).build();
-    ;
+
     when(timeout.access()).thenReturn(3600L);
-    when(tokenConfig.signing()).thenReturn(signing);
 
     String token = jwtService.generateToken(user);
 
@@ -149,4 +165,181 @@ public class JwtServiceTests {
 
     Assertions.assertEquals(user.getUsername(), extractedUserName);
   }
+
+  @Test
+  void extractPrincipal_ClaimsBackedToken_ReturnsPrincipalFromClaims() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT)
+        .securityVersion(3L).person(Person.builder().id(5L).build()).build();
+
+    when(timeout.access()).thenReturn(3600L);
+    when(tokenConfig.principal()).thenReturn(new Principal(true, 300, 10000));
+
+    String token = jwtService.generateToken(user);
+
+    Optional<User> principal = jwtService.extractPrincipal(jwtService.verifyToken(token));
+
+    Assertions.assertTrue(principal.isPresent());
+    Assertions.assertEquals(1L, principal.get().getId());
+    Assertions.assertEquals("test@example.com", principal.get().getEmail());
+    Assertions.assertEquals(Role.PATIENT, principal.get().getRole());
+    Assertions.assertEquals(3L, principal.get().getSecurityVersion());
+    Assertions.assertEquals(5L, principal.get().getPerson().getId());
+  }
+
+  @Test
+  void extractPrincipal_ClaimsBackedDisabled_ReturnsEmpty() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT).build();
+
+    when(timeout.access()).thenReturn(3600L);
+    when(tokenConfig.principal()).thenReturn(new Principal(false, 300, 10000));
+
+    String token = jwtService.generateToken(user);
+
+    Assertions.assertTrue(jwtService.extractPrincipal(jwtService.verifyToken(token)).isEmpty());
+  }
+
+  @Test
+  void verifyToken_ValidToken_ClaimsVerified() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT)
+        .securityVersion(2L).build();
+
+    when(timeout.access()).thenReturn(3600L);
+
+    VerifiedClaims claims = jwtService.verifyToken(jwtService.generateToken(user));
+
+    Assertions.assertEquals("test@example.com", claims.subject());
+    Assertions.assertEquals(1L, claims.userId());
+    Assertions.assertEquals(Role.PATIENT, claims.role());
+    Assertions.assertEquals(2L, claims.securityVersion());
+    Assertions.assertNull(claims.personId());
+    Assertions.assertFalse(claims.isExpired());
+  }
+
+  @Test
+  void verifyToken_ExpiredToken_ExpiredClaimsReturned() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT).build();
+
+    when(timeout.access()).thenReturn(0L);
+
+    VerifiedClaims claims = jwtService.verifyToken(jwtService.generateToken(user));
+
+    Assertions.assertEquals("test@example.com", claims.subject());
+    Assertions.assertTrue(claims.isExpired());
+  }
+
+  @Test
+  void verifyToken_ForeignSignature_ExceptionThrown() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT).build();
+
+    when(timeout.access()).thenReturn(3600L);
+
+    String token = jwtService.generateToken(user);
+    String foreignToken = Jwts.builder()
+        .subject("test@example.com")
+        .signWith(Jwts.SIG.HS256.key().build())
+        .compact();
+
+    Assertions.assertDoesNotThrow(() -> jwtService.verifyToken(token));
+    Assertions.assertThrows(JwtException.class, () -> jwtService.verifyToken(foreignToken));
+  }
+
+  @Test
+  void verifyToken_VerifiedTokensCacheEnabled_ClaimsServedFromCacheUntilBlacklisted() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT).build();
+    Cache verifiedTokens = new CaffeineCache(JwtService.VERIFIED_TOKENS_CACHE,
+        Caffeine.newBuilder().build());
+
+    when(timeout.access()).thenReturn(3600L);
+    when(cacheManager.getCache(JwtService.VERIFIED_TOKENS_CACHE)).thenReturn(verifiedTokens);
+
+    JwtService cachingJwtService = new JwtService(tokenConfig, cacheManager,
+        tokenRevocationService);
+    cachingJwtService.init();
+    String token = cachingJwtService.generateToken(user);
+
+    VerifiedClaims first = cachingJwtService.verifyToken(token);
+    VerifiedClaims second = cachingJwtService.verifyToken(token);
+    cachingJwtService.blacklistToken(token);
+    VerifiedClaims afterBlacklist = cachingJwtService.verifyToken(token);
+
+    Assertions.assertSame(first, second);
+    Assertions.assertNotSame(first, afterBlacklist);
+    Assertions.assertEquals(first, afterBlacklist);
+  }
+
+  @Test
+  void verifyToken_VerifiedTokensCacheEnabled_ExpiredClaimsNotCached() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT).build();
+    CaffeineCache verifiedTokens = new CaffeineCache(JwtService.VERIFIED_TOKENS_CACHE,
+        Caffeine.newBuilder().build());
+
+    when(timeout.access()).thenReturn(0L);
+    when(cacheManager.getCache(JwtService.VERIFIED_TOKENS_CACHE)).thenReturn(verifiedTokens);
+
+    JwtService cachingJwtService = new JwtService(tokenConfig, cacheManager,
+        tokenRevocationService);
+    cachingJwtService.init();
+
+    VerifiedClaims claims = cachingJwtService.verifyToken(cachingJwtService.generateToken(user));
+
+    Assertions.assertTrue(claims.isExpired());
+    Assertions.assertTrue(verifiedTokens.getNativeCache().asMap().isEmpty());
+  }
+
+  @Test
+  void blacklistToken_ValidToken_TokenRevokedByJtiUntilExpiration() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT).build();
+
+    when(timeout.access()).thenReturn(3600L);
+
+    String token = jwtService.generateToken(user);
+    VerifiedClaims claims = jwtService.verifyToken(token);
+
+    jwtService.blacklistToken(token);
+
+    Assertions.assertNotNull(claims.tokenId());
+    verify(tokenRevocationService).revoke(claims.tokenId(), claims.expiration());
+  }
+
+  @Test
+  void isRevoked_RevokedJti_ReturnsTrue() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT).build();
+
+    when(timeout.access()).thenReturn(3600L);
+
+    VerifiedClaims claims = jwtService.verifyToken(jwtService.generateToken(user));
+
+    when(tokenRevocationService.isRevoked(claims.tokenId())).thenReturn(true);
+
+    Assertions.assertTrue(jwtService.isRevoked(claims));
+  }
+
+  @Test
+  void isRevoked_IssuedBeforeUserEpoch_ReturnsTrue() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT).build();
+
+    when(timeout.access()).thenReturn(3600L);
+
+    VerifiedClaims claims = jwtService.verifyToken(jwtService.generateToken(user));
+
+    when(tokenRevocationService.isRevoked(claims.tokenId())).thenReturn(false);
+    when(tokenRevocationService.isIssuedBeforeEpoch(1L, claims.issuedAt().toEpochMilli()))
+        .thenReturn(true);
+
+    Assertions.assertTrue(jwtService.isRevoked(claims));
+  }
+
+  @Test
+  void verifyToken_GeneratedToken_IssuedAtInMilliseconds() {
+    User user = User.builder().id(1L).email("test@example.com").role(Role.PATIENT).build();
+
+    when(timeout.access()).thenReturn(3600L);
+
+    long before = System.currentTimeMillis();
+    VerifiedClaims claims = jwtService.verifyToken(jwtService.generateToken(user));
+    long after = System.currentTimeMillis();
+
+    Assertions.assertTrue(claims.issuedAt().toEpochMilli() >= before);
+    Assertions.assertTrue(claims.issuedAt().toEpochMilli() <= after);
+  }
 }
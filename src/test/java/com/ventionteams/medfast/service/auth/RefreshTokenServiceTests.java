@@ -1,31 +1,36 @@
 package com.ventionteams.medfast.service.auth;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.ventionteams.medfast.config.properties.TokenConfig;
+import com.ventionteams.medfast.config.properties.TokenConfig.Sessions;
 import com.ventionteams.medfast.config.properties.TokenConfig.Timeout;
 import com.ventionteams.medfast.dto.request.RefreshTokenRequest;
 import com.ventionteams.medfast.dto.response.JwtAuthenticationResponse;
+import com.ventionteams.medfast.dto.response.SessionResponse;
 import com.ventionteams.medfast.entity.RefreshToken;
 import com.ventionteams.medfast.entity.User;
 import com.ventionteams.medfast.exception.auth.TokenExpiredException;
+import com.ventionteams.medfast.exception.auth.TokenReusedException;
 import com.ventionteams.medfast.repository.RefreshTokenRepository;
-import com.ventionteams.medfast.repository.UserRepository;
+import com.ventionteams.medfast.repository.projection.SessionView;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 /**
  * Checks refresh token service functionality with unit tests.
@@ -33,9 +38,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 @ExtendWith(MockitoExtension.class)
 public class RefreshTokenServiceTests {
 
-  @Mock
-  private UserRepository userRepository;
-
   @Mock
   private RefreshTokenRepository refreshTokenRepository;
 
@@ -48,86 +50,161 @@ public class RefreshTokenServiceTests {
   @InjectMocks
   private RefreshTokenService refreshTokenService;
 
+  private final RefreshTokenValue presentedToken = RefreshTokenValue.generate(UUID.randomUUID());
+
+  private RefreshTokenRequest request(String token) {
+    RefreshTokenRequest request = new RefreshTokenRequest();
+    request.setRefreshToken(token);
+    return request;
+  }
+
   @Test
-  public void generateToken_InvalidEmail_ExceptionThrown() {
-    UserDetails user = mock(UserDetails.class);
-    String email = "invalid@example.com";
+  public void generateToken_ValidUser_ReturnsTokenOfNewFamily() {
+    User user = User.builder().id(1L).email("test@example.com").build();
+    ArgumentCaptor<RefreshToken> refreshToken = ArgumentCaptor.forClass(RefreshToken.class);
+
+    when(refreshTokenRepository.save(refreshToken.capture())).thenAnswer(
+        invocation -> invocation.getArgument(0));
+    when(tokenConfig.sessions()).thenReturn(new Sessions(5));
+    when(refreshTokenRepository.deleteSessionsBeyond(1L, 5)).thenReturn(0);
 
-    when(user.getUsername()).thenReturn(email);
-    when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+    String token = refreshTokenService.generateToken(user);
 
-    Assertions.assertThrows(UsernameNotFoundException.class,
-        () -> refreshTokenService.generateToken(user));
+    RefreshTokenValue value = RefreshTokenValue.parse(token).orElseThrow();
+    Assertions.assertEquals(RefreshTokenValue.LENGTH, token.length());
+    Assertions.assertEquals(user, refreshToken.getValue().getUser());
+    Assertions.assertEquals(value.familyId(), refreshToken.getValue().getFamilyId());
+    Assertions.assertArrayEquals(value.digest(), refreshToken.getValue().getTokenHash());
   }
 
   @Test
-  public void generateToken_ValidEmail_ReturnsToken() {
-    String email = "test@example.com";
-    User user = User.builder().email(email).build();
-    UUID uuid = UUID.randomUUID();
+  public void getActiveSessions_ValidUser_ReturnsSessionsWithinRefreshTimeout() {
+    LocalDateTime createdDate = LocalDateTime.now().minusSeconds(100);
+    SessionView session = new SessionView(presentedToken.familyId(), createdDate, createdDate);
 
-    when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-    when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(
-        invocation -> invocation.getArgument(0));
+    when(tokenConfig.timeout()).thenReturn(new Timeout(3600, 7200, 60));
+    when(refreshTokenRepository.findSessions(eq(1L), any(LocalDateTime.class)))
+        .thenReturn(List.of(session));
 
-    RefreshToken token = refreshTokenService.generateToken(user);
+    List<SessionResponse> sessions = refreshTokenService.getActiveSessions(1L);
 
-    Assertions.assertNotNull(token);
-    Assertions.assertEquals(user, token.getUser());
-    Assertions.assertNotNull(token.getToken());
+    Assertions.assertEquals(1, sessions.size());
+    Assertions.assertEquals(presentedToken.familyId().toString(), sessions.get(0).getId());
+    Assertions.assertEquals(createdDate.toString(), sessions.get(0).getCreatedDate());
   }
 
   @Test
-  public void refreshToken_InvalidToken_ExceptionThrown() {
-    RefreshTokenRequest request = new RefreshTokenRequest();
-    request.setRefreshToken("550e8400-e29b-41d4-a716-446655440000");
+  public void refreshToken_MalformedToken_ExceptionThrown() {
+    Assertions.assertThrows(NoSuchElementException.class,
+        () -> refreshTokenService.refreshToken(request("malformed-refresh-token")));
+    verify(refreshTokenRepository, never()).findFamilyIdByTokenHash(any(byte[].class));
+  }
+
+  @Test
+  public void refreshToken_UnknownLegacyToken_ExceptionThrown() {
+    String legacyToken = "550e8400-e29b-41d4-a716-446655440000";
+
+    when(refreshTokenRepository.findFamilyIdByTokenHash(TokenDigest.sha256(legacyToken)))
+        .thenReturn(Optional.empty());
+
+    Assertions.assertThrows(NoSuchElementException.class,
+        () -> refreshTokenService.refreshToken(request(legacyToken)));
+    verify(refreshTokenRepository, never()).rotate(any(UUID.class), any(byte[].class),
+        any(byte[].class));
+  }
 
-    when(refreshTokenRepository.findByToken(anyString())).thenReturn(Optional.empty());
+  @Test
+  public void refreshToken_LegacyToken_RotatedIntoCurrentFormat() {
+    String legacyToken = "550e8400-e29b-41d4-a716-446655440000";
+    UUID familyId = UUID.randomUUID();
+    RefreshToken refreshToken = new RefreshToken();
+    User user = new User();
+    refreshToken.setFamilyId(familyId);
+    refreshToken.setUser(user);
+    refreshToken.setCreatedDate(LocalDateTime.now().minusSeconds(100));
+    ArgumentCaptor<byte[]> rotatedHash = ArgumentCaptor.forClass(byte[].class);
+
+    when(tokenConfig.timeout()).thenReturn(new Timeout(3600, 7200, 60));
+    when(refreshTokenRepository.findFamilyIdByTokenHash(TokenDigest.sha256(legacyToken)))
+        .thenReturn(Optional.of(familyId));
+    when(refreshTokenRepository.rotate(eq(familyId), eq(TokenDigest.sha256(legacyToken)),
+        rotatedHash.capture())).thenReturn(Optional.of(refreshToken));
+    when(jwtService.generateToken(user)).thenReturn("accessToken");
+
+    JwtAuthenticationResponse response = refreshTokenService.refreshToken(request(legacyToken));
+
+    RefreshTokenValue rotatedToken = RefreshTokenValue.parse(response.getRefreshToken())
+        .orElseThrow();
+    Assertions.assertEquals(familyId, rotatedToken.familyId());
+    Assertions.assertArrayEquals(rotatedToken.digest(), rotatedHash.getValue());
+  }
+
+  @Test
+  public void refreshToken_UnknownFamily_ExceptionThrown() {
+    when(refreshTokenRepository.rotate(eq(presentedToken.familyId()), any(byte[].class),
+        any(byte[].class))).thenReturn(Optional.empty());
+    when(refreshTokenRepository.existsByFamilyId(presentedToken.familyId())).thenReturn(false);
 
     Assertions.assertThrows(NoSuchElementException.class,
-        () -> refreshTokenService.refreshToken(request));
+        () -> refreshTokenService.refreshToken(request(presentedToken.encode())));
+    verify(refreshTokenRepository, never()).deleteByFamilyId(any(UUID.class));
+  }
+
+  @Test
+  public void refreshToken_RotatedTokenReplayed_FamilyRevoked() {
+    when(refreshTokenRepository.rotate(eq(presentedToken.familyId()), any(byte[].class),
+        any(byte[].class))).thenReturn(Optional.empty());
+    when(refreshTokenRepository.existsByFamilyId(presentedToken.familyId())).thenReturn(true);
+
+    Assertions.assertThrows(TokenReusedException.class,
+        () -> refreshTokenService.refreshToken(request(presentedToken.encode())));
+    verify(refreshTokenRepository).deleteByFamilyId(presentedToken.familyId());
   }
 
   @Test
   public void refreshToken_TokenExpired_ExceptionThrown() {
-    RefreshTokenRequest request = new RefreshTokenRequest();
-    request.setRefreshToken("550e8400-e29b-41d4-a716-446655440000");
     RefreshToken refreshToken = new RefreshToken();
-    refreshToken.setToken("550e8400-e29b-41d4-a716-446655440000");
+    refreshToken.setFamilyId(presentedToken.familyId());
     refreshToken.setCreatedDate(LocalDateTime.now().minusSeconds(7201));
     Timeout timeout = mock(Timeout.class);
 
     when(tokenConfig.timeout()).thenReturn(timeout);
     when(timeout.refresh()).thenReturn(7200L);
-    when(refreshTokenRepository.findByToken(anyString())).thenReturn(Optional.of(refreshToken));
+    when(refreshTokenRepository.rotate(eq(presentedToken.familyId()), any(byte[].class),
+        any(byte[].class))).thenReturn(Optional.of(refreshToken));
 
     Assertions.assertThrows(TokenExpiredException.class,
-        () -> refreshTokenService.refreshToken(request));
+        () -> refreshTokenService.refreshToken(request(presentedToken.encode())));
+    verify(refreshTokenRepository).delete(refreshToken);
   }
 
   @Test
-  public void refreshToken_ValidRequest_ReturnsJwtAuthenticationResponse() {
-    RefreshTokenRequest request = new RefreshTokenRequest();
-    request.setRefreshToken("550e8400-e29b-41d4-a716-446655440000");
+  public void refreshToken_ValidRequest_ReturnsRotatedToken() {
     RefreshToken refreshToken = new RefreshToken();
     User user = new User();
-    refreshToken.setToken("550e8400-e29b-41d4-a716-446655440000");
+    refreshToken.setFamilyId(presentedToken.familyId());
     refreshToken.setUser(user);
     refreshToken.setCreatedDate(LocalDateTime.now().minusSeconds(100));
     Timeout timeout = mock(Timeout.class);
+    ArgumentCaptor<byte[]> rotatedHash = ArgumentCaptor.forClass(byte[].class);
 
     when(tokenConfig.timeout()).thenReturn(timeout);
     when(timeout.refresh()).thenReturn(7200L);
     when(timeout.access()).thenReturn(3600L);
-    when(refreshTokenRepository.findByToken(anyString())).thenReturn(Optional.of(refreshToken));
+    when(refreshTokenRepository.rotate(eq(presentedToken.familyId()),
+        eq(presentedToken.digest()), rotatedHash.capture())).thenReturn(Optional.of(refreshToken));
     when(jwtService.generateToken(user)).thenReturn(
         "eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiJhZG1pbiIsImV4cCI6MTYyMjUwNj");
 
-    JwtAuthenticationResponse response = refreshTokenService.refreshToken(request);
+    JwtAuthenticationResponse response =
+        refreshTokenService.refreshToken(request(presentedToken.encode()));
 
-    Assertions.assertNotNull(response);
+    RefreshTokenValue rotatedToken = RefreshTokenValue.parse(response.getRefreshToken())
+        .orElseThrow();
     Assertions.assertEquals("eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiJhZG1pbiIsImV4cCI6MTYyMjUwNj",
         response.getAccessToken());
-    Assertions.assertEquals("550e8400-e29b-41d4-a716-446655440000", response.getRefreshToken());
+    Assertions.assertNotEquals(presentedToken.encode(), response.getRefreshToken());
+    Assertions.assertEquals(presentedToken.familyId(), rotatedToken.familyId());
+    Assertions.assertArrayEquals(rotatedToken.digest(), rotatedHash.getValue());
   }
 }
@@ -0,0 +1,53 @@
+package com.ventionteams.medfast.service.auth;
+
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks revoked token filter functionality with unit tests.
+ */
+public class RevokedTokenFilterTests {
+
+  @Test
+  public void mightContain_PutTokenId_ReturnsTrue() {
+    RevokedTokenFilter filter = new RevokedTokenFilter(1000, 0.01, Duration.ofHours(1));
+    String tokenId = UUID.randomUUID().toString();
+
+    filter.put(tokenId);
+
+    Assertions.assertTrue(filter.mightContain(tokenId));
+  }
+
+  @Test
+  public void mightContain_UnknownTokenIds_FalsePositiveRateWithinBounds() {
+    RevokedTokenFilter filter = new RevokedTokenFilter(1000, 0.01, Duration.ofHours(1));
+    for (int i = 0; i < 1000; i++) {
+      filter.put(UUID.randomUUID().toString());
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (filter.mightContain(UUID.randomUUID().toString())) {
+        falsePositives++;
+      }
+    }
+
+    Assertions.assertTrue(falsePositives < 300);
+    Assertions.assertTrue(filter.expectedFalsePositiveRate() < 0.03);
+  }
+
+  @Test
+  public void mightContain_TwoWindowsPassed_TokenIdAgedOut() throws InterruptedException {
+    RevokedTokenFilter filter = new RevokedTokenFilter(1000, 0.01, Duration.ofMillis(50));
+    String tokenId = UUID.randomUUID().toString();
+
+    filter.put(tokenId);
+    Thread.sleep(60);
+    Assertions.assertTrue(filter.mightContain(tokenId));
+    Thread.sleep(60);
+
+    Assertions.assertFalse(filter.mightContain(tokenId));
+  }
+}
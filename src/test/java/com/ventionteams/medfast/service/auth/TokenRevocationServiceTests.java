@@ -0,0 +1,158 @@
+package com.ventionteams.medfast.service.auth;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ventionteams.medfast.config.properties.TokenConfig;
+import com.ventionteams.medfast.config.properties.TokenConfig.Timeout;
+import com.ventionteams.medfast.repository.RevokedTokenRepository;
+import com.ventionteams.medfast.repository.UserRepository;
+import com.ventionteams.medfast.repository.projection.TokenEpoch;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Checks token revocation service functionality with unit tests.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationServiceTests {
+
+  @Mock
+  private RevokedTokenRepository revokedTokenRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private CacheManager cacheManager;
+
+  @Mock
+  private TokenConfig tokenConfig;
+
+  @Spy
+  private RevokedTokenFilter revokedTokenFilter =
+      new RevokedTokenFilter(1000, 0.01, Duration.ofHours(1));
+
+  @InjectMocks
+  private TokenRevocationService tokenRevocationService;
+
+  private void mockRevokedTokensCache() {
+    when(cacheManager.getCache(TokenRevocationService.REVOKED_TOKENS_CACHE))
+        .thenReturn(new CaffeineCache(TokenRevocationService.REVOKED_TOKENS_CACHE,
+            Caffeine.newBuilder().build()));
+  }
+
+  private void mockAccessTimeout() {
+    Timeout timeout = mock(Timeout.class);
+    when(tokenConfig.timeout()).thenReturn(timeout);
+    when(timeout.access()).thenReturn(3600L);
+  }
+
+  @Test
+  public void revoke_ValidToken_TokenPersistedAndRevokedLocally() {
+    Instant expiresAt = Instant.now().plusSeconds(3600);
+
+    mockRevokedTokensCache();
+
+    tokenRevocationService.revoke("tokenId", expiresAt);
+
+    verify(revokedTokenRepository).insertIfAbsent("tokenId",
+        LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+    Assertions.assertTrue(tokenRevocationService.isRevoked("tokenId"));
+  }
+
+  @Test
+  public void isRevoked_UnknownToken_RevocationStoreNotProbed() {
+    Assertions.assertFalse(tokenRevocationService.isRevoked("tokenId"));
+
+    verify(cacheManager, never()).getCache(TokenRevocationService.REVOKED_TOKENS_CACHE);
+  }
+
+  @Test
+  public void isRevoked_FilterFalsePositive_ReturnsFalse() {
+    mockRevokedTokensCache();
+    when(revokedTokenFilter.mightContain("tokenId")).thenReturn(true);
+
+    Assertions.assertFalse(tokenRevocationService.isRevoked("tokenId"));
+    verify(revokedTokenFilter).recordFalsePositive();
+  }
+
+  @Test
+  public void isRevoked_TokenWithoutId_ReturnsFalse() {
+    Assertions.assertFalse(tokenRevocationService.isRevoked(null));
+  }
+
+  @Test
+  public void isIssuedBeforeEpoch_TokenIssuedBeforeEpoch_ReturnsTrue() {
+    tokenRevocationService.markNotBefore(1L, 1000L);
+
+    Assertions.assertTrue(tokenRevocationService.isIssuedBeforeEpoch(1L, 999L));
+    Assertions.assertFalse(tokenRevocationService.isIssuedBeforeEpoch(1L, 1001L));
+    Assertions.assertFalse(tokenRevocationService.isIssuedBeforeEpoch(2L, 999L));
+  }
+
+  @Test
+  public void isIssuedBeforeEpoch_TokenIssuedInEpochMillisecond_ReturnsFalse() {
+    tokenRevocationService.markNotBefore(1L, 1000L);
+
+    Assertions.assertFalse(tokenRevocationService.isIssuedBeforeEpoch(1L, 1000L));
+  }
+
+  @Test
+  public void markNotBefore_OlderEpoch_NewerEpochKept() {
+    tokenRevocationService.markNotBefore(1L, 1000L);
+    tokenRevocationService.markNotBefore(1L, 500L);
+
+    Assertions.assertTrue(tokenRevocationService.isIssuedBeforeEpoch(1L, 999L));
+  }
+
+  @Test
+  public void reload_ActiveRevocations_RevocationsAppliedLocally() {
+    long notBefore = Instant.now().toEpochMilli();
+
+    mockRevokedTokensCache();
+    mockAccessTimeout();
+    when(revokedTokenRepository.findActiveTokenIds(any(LocalDateTime.class)))
+        .thenReturn(List.of("first", "second"));
+    when(userRepository.findTokenEpochsAfter(anyLong()))
+        .thenReturn(List.of(new TokenEpoch(1L, notBefore)));
+
+    tokenRevocationService.reload();
+
+    Assertions.assertTrue(tokenRevocationService.isRevoked("first"));
+    Assertions.assertTrue(tokenRevocationService.isRevoked("second"));
+    Assertions.assertFalse(tokenRevocationService.isRevoked("third"));
+    Assertions.assertTrue(tokenRevocationService.isIssuedBeforeEpoch(1L, notBefore - 1));
+  }
+
+  @Test
+  public void pruneEpochs_EpochOlderThanAccessTimeout_EpochDropped() {
+    long now = Instant.now().toEpochMilli();
+
+    mockAccessTimeout();
+    tokenRevocationService.markNotBefore(1L, now - 7_200_000);
+    tokenRevocationService.markNotBefore(2L, now);
+
+    tokenRevocationService.pruneEpochs();
+
+    Assertions.assertFalse(tokenRevocationService.isIssuedBeforeEpoch(1L, now - 7_200_001));
+    Assertions.assertTrue(tokenRevocationService.isIssuedBeforeEpoch(2L, now - 1));
+  }
+}
@@ -19,7 +19,6 @@ import com.ventionteams.medfast.exception.auth.TokenNotFoundException;
 import com.ventionteams.medfast.repository.OneTimePasswordRepository;
 import com.ventionteams.medfast.service.EmailService;
 import com.ventionteams.medfast.service.UserService;
-import jakarta.mail.MessagingException;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Random;
@@ -121,7 +120,7 @@ public class OneTimePasswordServiceTests {
   }
 
   @Test
-  public void sendResetPasswordEmail_CorrectEmail_ThrowsException() throws MessagingException {
+  public void sendResetPasswordEmail_CorrectEmail_ThrowsException() {
     String email = "test@example.com";
     User user = User.builder().email(email).build();
     OneTimePassword mockOtp = new OneTimePassword();
@@ -0,0 +1,124 @@
+package com.ventionteams.medfast.sheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ventionteams.medfast.config.properties.EmailOutboxConfig;
+import com.ventionteams.medfast.entity.EmailOutbox;
+import com.ventionteams.medfast.repository.EmailOutboxRepository;
+import com.ventionteams.medfast.service.EmailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+
+/**
+ * Tests for EmailOutboxScheduler.
+ */
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxSchedulerTest {
+
+  @Mock
+  private EmailOutboxRepository emailOutboxRepository;
+
+  @Mock
+  private EmailService emailService;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final EmailOutboxConfig.Retry retry =
+      new EmailOutboxConfig.Retry(3, Duration.ofSeconds(30), Duration.ofMinutes(1));
+
+  private EmailOutboxScheduler emailOutboxScheduler;
+
+  @BeforeEach
+  void setUp() {
+    EmailOutboxConfig config = new EmailOutboxConfig(Duration.ofSeconds(1), 10, 2, 10,
+        Duration.ofMinutes(5), retry,
+        new EmailOutboxConfig.DeadLetters(Duration.ofDays(30), Duration.ofHours(1)));
+    emailOutboxScheduler = new EmailOutboxScheduler(emailOutboxRepository, emailService, config,
+        meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    emailOutboxScheduler.shutdown();
+  }
+
+  @Test
+  void deliver_EmailSent_RowDeleted() throws MessagingException {
+    EmailOutbox email = email(0);
+
+    emailOutboxScheduler.deliver(email);
+
+    verify(emailService).deliver(email);
+    verify(emailOutboxRepository).deleteDelivered(1L);
+    assertEquals(1, meterRegistry.get("email.outbox.delivered").counter().count());
+  }
+
+  @Test
+  void deliver_RelayFails_Rescheduled() throws MessagingException {
+    EmailOutbox email = email(0);
+    doThrow(new MailSendException("Relay unavailable")).when(emailService).deliver(email);
+
+    emailOutboxScheduler.deliver(email);
+
+    verify(emailOutboxRepository).reschedule(eq(1L), eq(1), any(LocalDateTime.class),
+        eq("Relay unavailable"));
+    verify(emailOutboxRepository, never()).deleteDelivered(any());
+    assertEquals(1, meterRegistry.get("email.outbox.retried").counter().count());
+  }
+
+  @Test
+  void deliver_AttemptsExhausted_DeadLettered() throws MessagingException {
+    EmailOutbox email = email(2);
+    doThrow(new MessagingException("Rejected")).when(emailService).deliver(email);
+
+    emailOutboxScheduler.deliver(email);
+
+    verify(emailOutboxRepository).markDead(1L, 3, "Rejected");
+    verify(emailOutboxRepository, never()).reschedule(any(), anyInt(), any(), anyString());
+    assertEquals(1, meterRegistry.get("email.outbox.dead").counter().count());
+  }
+
+  @Test
+  void purgeDeadLetters_FullBatches_PurgedUntilShortBatch() {
+    when(emailOutboxRepository.deleteDeadBefore(any(LocalDateTime.class), eq(10)))
+        .thenReturn(10, 10, 3);
+
+    emailOutboxScheduler.purgeDeadLetters();
+
+    verify(emailOutboxRepository, times(3)).deleteDeadBefore(any(LocalDateTime.class), eq(10));
+    assertEquals(23, meterRegistry.get("email.outbox.dead.purged").counter().count());
+  }
+
+  @Test
+  void backoff_AttemptsGrow_DoubledUpToMax() {
+    assertEquals(Duration.ofSeconds(30), EmailOutboxScheduler.backoff(retry, 1));
+    assertEquals(Duration.ofMinutes(1), EmailOutboxScheduler.backoff(retry, 2));
+    assertEquals(Duration.ofMinutes(1), EmailOutboxScheduler.backoff(retry, 40));
+  }
+
+  private static EmailOutbox email(int attempts) {
+    EmailOutbox email = new EmailOutbox();
+    email.setId(1L);
+    email.setRecipient("user@example.com");
+    email.setAttempts(attempts);
+    return email;
+  }
+}
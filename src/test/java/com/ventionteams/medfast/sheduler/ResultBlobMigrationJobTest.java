@@ -0,0 +1,105 @@
+package com.ventionteams.medfast.sheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ventionteams.medfast.config.properties.ResultStoreConfig;
+import com.ventionteams.medfast.entity.TestResult;
+import com.ventionteams.medfast.repository.TestResultRepository;
+import com.ventionteams.medfast.storage.ResultBlobStore;
+import com.ventionteams.medfast.storage.StoredBlob;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tests for ResultBlobMigrationJob.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ResultBlobMigrationJobTest {
+
+  @Mock
+  private TestResultRepository testResultRepository;
+
+  @Mock
+  private ResultBlobStore resultBlobStore;
+
+  private ResultBlobMigrationJob resultBlobMigrationJob;
+
+  @BeforeEach
+  void setUp() {
+    ResultStoreConfig config = new ResultStoreConfig(Path.of("results"),
+        new ResultStoreConfig.Migration(true, 2));
+    resultBlobMigrationJob = new ResultBlobMigrationJob(testResultRepository, resultBlobStore,
+        config, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+  }
+
+  @Test
+  void migrate_FullBatch_NextBatchReadAfterLastId() {
+    when(testResultRepository.findInlineIds(0L, PageRequest.of(0, 2)))
+        .thenReturn(List.of(3L, 5L));
+    when(testResultRepository.findInlineIds(5L, PageRequest.of(0, 2)))
+        .thenReturn(List.of(8L));
+    when(testResultRepository.findById(3L)).thenReturn(Optional.of(inline(3L, new byte[] {1})));
+    when(testResultRepository.findById(5L)).thenReturn(Optional.of(inline(5L, new byte[] {2})));
+    when(testResultRepository.findById(8L)).thenReturn(Optional.of(inline(8L, new byte[] {1})));
+    when(resultBlobStore.put(any(byte[].class), eq("application/pdf")))
+        .thenReturn(new StoredBlob("a".repeat(64), 1, "application/pdf"));
+    when(testResultRepository.moveToStore(any(Long.class), eq("a".repeat(64)), eq(1L),
+        eq("application/pdf")))
+        .thenReturn(1);
+
+    int moved = resultBlobMigrationJob.migrate();
+
+    assertEquals(3, moved);
+    verify(testResultRepository).moveToStore(8L, "a".repeat(64), 1L, "application/pdf");
+  }
+
+  @Test
+  void migrate_ResultAlreadyMoved_Skipped() {
+    TestResult moved = inline(3L, null);
+    moved.setDigest("b".repeat(64));
+    when(testResultRepository.findInlineIds(0L, PageRequest.of(0, 2)))
+        .thenReturn(List.of(3L));
+    when(testResultRepository.findById(3L)).thenReturn(Optional.of(moved));
+
+    assertEquals(0, resultBlobMigrationJob.migrate());
+    verify(resultBlobStore, never()).put(any(byte[].class), any(String.class));
+  }
+
+  @Test
+  void migrateOnStartup_Enabled_MigratedOffTheStartupThread() {
+    Thread startup = Thread.currentThread();
+    when(testResultRepository.findInlineIds(0L, PageRequest.of(0, 2)))
+        .thenAnswer(invocation -> {
+          assertNotSame(startup, Thread.currentThread());
+          return List.of();
+        });
+
+    resultBlobMigrationJob.migrateOnStartup();
+
+    verify(testResultRepository, timeout(1000)).findInlineIds(0L, PageRequest.of(0, 2));
+  }
+
+  private static TestResult inline(Long id, byte[] pdf) {
+    TestResult testResult = new TestResult();
+    testResult.setTestAppointmentId(id);
+    testResult.setPdf(pdf);
+    return testResult;
+  }
+}
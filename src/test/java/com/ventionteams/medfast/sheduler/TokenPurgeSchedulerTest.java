@@ -0,0 +1,107 @@
+package com.ventionteams.medfast.sheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ventionteams.medfast.config.properties.HousekeepingConfig;
+import com.ventionteams.medfast.config.properties.TokenConfig;
+import com.ventionteams.medfast.config.properties.VerificationConfig;
+import com.ventionteams.medfast.repository.OneTimePasswordRepository;
+import com.ventionteams.medfast.repository.RefreshTokenRepository;
+import com.ventionteams.medfast.repository.RevokedTokenRepository;
+import com.ventionteams.medfast.repository.VerificationTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests for TokenPurgeScheduler.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TokenPurgeSchedulerTest {
+
+  @Mock
+  private RefreshTokenRepository refreshTokenRepository;
+
+  @Mock
+  private VerificationTokenRepository verificationTokenRepository;
+
+  @Mock
+  private OneTimePasswordRepository oneTimePasswordRepository;
+
+  @Mock
+  private RevokedTokenRepository revokedTokenRepository;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private TokenPurgeScheduler tokenPurgeScheduler;
+
+  @BeforeEach
+  void setUp() {
+    TokenConfig tokenConfig = new TokenConfig(new TokenConfig.Timeout(3600, 7200, 60),
+        null, null, null, null, null);
+    VerificationConfig verificationConfig =
+        new VerificationConfig(new VerificationConfig.Code(600));
+    HousekeepingConfig housekeepingConfig = new HousekeepingConfig(
+        new HousekeepingConfig.TokenPurge(Duration.ofMinutes(10), 100, 3, Duration.ZERO));
+
+    tokenPurgeScheduler = new TokenPurgeScheduler(refreshTokenRepository,
+        verificationTokenRepository, oneTimePasswordRepository, revokedTokenRepository,
+        tokenConfig, verificationConfig, housekeepingConfig, meterRegistry);
+  }
+
+  @Test
+  void purgeExpiredTokens_FullBatches_PurgedUntilBatchLimit() {
+    when(refreshTokenRepository.deleteCreatedBefore(any(LocalDateTime.class), eq(100)))
+        .thenReturn(100);
+    when(verificationTokenRepository.deleteCreatedBefore(any(LocalDateTime.class), eq(100)))
+        .thenReturn(100, 40);
+    when(oneTimePasswordRepository.deleteCreatedBefore(any(LocalDateTime.class), eq(100)))
+        .thenReturn(0);
+    when(revokedTokenRepository.deleteExpiredBefore(any(LocalDateTime.class), eq(100)))
+        .thenReturn(5);
+
+    tokenPurgeScheduler.purgeExpiredTokens();
+
+    verify(refreshTokenRepository, times(3)).deleteCreatedBefore(any(LocalDateTime.class),
+        anyInt());
+    verify(verificationTokenRepository, times(2)).deleteCreatedBefore(any(LocalDateTime.class),
+        anyInt());
+    assertEquals(300, purgedRows("refresh_tokens"));
+    assertEquals(140, purgedRows("verification_tokens"));
+    assertEquals(0, purgedRows("one_time_passwords"));
+    assertEquals(5, purgedRows("revoked_tokens"));
+  }
+
+  @Test
+  void schedulePurge_Scheduled_PurgedOffTheSchedulerThread() {
+    Thread scheduler = Thread.currentThread();
+    when(refreshTokenRepository.deleteCreatedBefore(any(LocalDateTime.class), eq(100)))
+        .thenAnswer(invocation -> {
+          assertNotSame(scheduler, Thread.currentThread());
+          return 0;
+        });
+
+    tokenPurgeScheduler.schedulePurge();
+
+    verify(revokedTokenRepository, timeout(1000)).deleteExpiredBefore(any(LocalDateTime.class),
+        eq(100));
+    verify(refreshTokenRepository).deleteCreatedBefore(any(LocalDateTime.class), eq(100));
+  }
+
+  private double purgedRows(String table) {
+    return meterRegistry.get("token.purge.rows").tag("table", table).counter().count();
+  }
+}
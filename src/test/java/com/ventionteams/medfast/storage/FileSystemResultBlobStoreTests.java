@@ -0,0 +1,83 @@
+package com.ventionteams.medfast.storage;
+
+import com.ventionteams.medfast.config.properties.ResultStoreConfig;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+/**
+ * Checks the filesystem result store with unit tests.
+ */
+public class FileSystemResultBlobStoreTests {
+
+  // DEVNOTE: SHA-256 of "result"
+  private static final String DIGEST =
+      "f6a214f7a5fcda0c2cee9660b7fc29f5649e3c68aad48e20e950137c98913a68";
+
+  @TempDir
+  Path root;
+
+  private FileSystemResultBlobStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = new FileSystemResultBlobStore(new ResultStoreConfig(root,
+        new ResultStoreConfig.Migration(false, 100)));
+  }
+
+  @Test
+  void put_NewContent_WrittenToShardedPath() throws IOException {
+    StoredBlob blob = store.put(bytes("result"), "application/pdf");
+
+    Path path = store.path(blob.digest());
+    Assertions.assertThat(blob.digest()).isEqualTo(DIGEST);
+    Assertions.assertThat(blob.size()).isEqualTo(6);
+    Assertions.assertThat(blob.contentType()).isEqualTo("application/pdf");
+    Assertions.assertThat(root.relativize(path)).isEqualTo(Path.of("f6", "a2", DIGEST));
+    Assertions.assertThat(Files.readAllBytes(path)).isEqualTo(bytes("result"));
+  }
+
+  @Test
+  void put_SameContentTwice_StoredOnceWithoutTempFiles() throws IOException {
+    StoredBlob first = store.put(bytes("result"), "application/pdf");
+    StoredBlob second = store.put(bytes("result"), "application/pdf");
+
+    Assertions.assertThat(second.digest()).isEqualTo(first.digest());
+    try (Stream<Path> files = Files.walk(root)) {
+      Assertions.assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+    }
+  }
+
+  @Test
+  void find_StoredDigest_ReturnsContent() throws IOException {
+    StoredBlob blob = store.put(bytes("result"), "application/pdf");
+
+    Optional<Resource> resource = store.find(blob.digest());
+
+    Assertions.assertThat(resource).isPresent();
+    Assertions.assertThat(resource.get().getContentAsByteArray()).isEqualTo(bytes("result"));
+  }
+
+  @Test
+  void find_UnknownDigest_ReturnsEmpty() {
+    Assertions.assertThat(store.find("0".repeat(64))).isEmpty();
+  }
+
+  @Test
+  void find_NotADigest_ExceptionThrown() {
+    Assertions.assertThatThrownBy(() -> store.find("../../etc/passwd"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static byte[] bytes(String content) {
+    return content.getBytes(StandardCharsets.UTF_8);
+  }
+}